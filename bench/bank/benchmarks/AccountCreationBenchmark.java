@@ -0,0 +1,75 @@
+package bank.benchmarks;
+
+import bank.application.commands.CreateAccountCommand;
+import bank.application.services.DefaultAccountService;
+import bank.domain.entities.Account;
+import bank.domain.entities.AccountType;
+import bank.infrastructure.persistence.InMemoryAccountRepository;
+import bank.infrastructure.services.SequenceGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Account opening from 64 threads. With storage = file every block costs one forced write of the
+// high-water mark, so blockSize 1 shows the per-account fsync the blocks avoid. nextSequence isolates
+// the generator; createAccount adds building, saving and publishing the account.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Threads(64)
+public class AccountCreationBenchmark {
+    @Param({"memory", "file"})
+    public String storage;
+
+    @Param({"1", "1024"})
+    public int blockSize;
+
+    private Path directory;
+    private SequenceGenerator generator;
+    private DefaultAccountService service;
+    private CreateAccountCommand command;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("sequence-bench");
+        generator = storage.equals("file")
+                ? SequenceGenerator.open(directory.resolve("sequences.hwm"), blockSize)
+                : SequenceGenerator.inMemory(blockSize);
+        service = new DefaultAccountService(new InMemoryAccountRepository(), generator, BenchmarkFixtures.USD);
+        command = CreateAccountCommand.of("Holder", 100.00, BenchmarkFixtures.USD.getCurrencyCode(), "CHECKING");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        System.out.println("blocks allocated: " + generator.getBlocksAllocated());
+        generator.close();
+    }
+
+    @Benchmark
+    public long nextSequence() {
+        return generator.next(AccountType.SAVINGS);
+    }
+
+    @Benchmark
+    public Account createAccount() {
+        return service.createAccount(command);
+    }
+}
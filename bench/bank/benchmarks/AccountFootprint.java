@@ -0,0 +1,58 @@
+package bank.benchmarks;
+
+import bank.application.services.DefaultAccountService;
+import bank.infrastructure.persistence.InMemoryAccountRepository;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+
+// Heap bytes per account, measured as the retained-heap delta around opening N accounts through the
+// service into an in-memory repository (repository index included). Not a JMH benchmark: it needs a
+// quiet heap, so run it on its own with a stop-the-world collector, e.g.
+//     ant -Dfootprint.accounts=1000000 bench-footprint
+// Counts are capped by the account numbering scheme.
+public final class AccountFootprint {
+    private AccountFootprint() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int[] counts = args.length == 0 ? new int[] {1_000_000} : new int[args.length];
+        for (int i = 0; i < args.length; i++) {
+            counts[i] = Integer.parseInt(args[i]);
+        }
+        for (int count : counts) {
+            InMemoryAccountRepository repository = new InMemoryAccountRepository();
+            DefaultAccountService service = BenchmarkFixtures.service(repository);
+            long before = retainedHeap();
+            BenchmarkFixtures.openAccounts(service, count, 100.00);
+            long after = retainedHeap();
+            Reference.reachabilityFence(repository);
+            // holder names are per-account data too but vary with the workload, so report them apart
+            long names = estimateNames(count);
+            System.out.printf("%,d accounts: %.1f bytes/account (%.1f excluding holder names)%n",
+                    count, (after - before) / (double) count, (after - before - names) / (double) count);
+        }
+    }
+
+    private static long retainedHeap() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    // "Holder n" strings as created by BenchmarkFixtures: String header + fields plus a Latin-1 byte[]
+    private static long estimateNames(int count) {
+        long total = 0;
+        for (int i = 0; i < count; i++) {
+            int length = 7 + Integer.toString(i).length();
+            total += 24 + align(16 + length);
+        }
+        return total;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
@@ -0,0 +1,46 @@
+package bank.benchmarks;
+
+import bank.domain.valueobjects.AccountNumber;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccountNumberBenchmark {
+    private String savingsText = "SAV012345";
+    private String checkingText = "CHK987654";
+    private int sequence = 4242;
+
+    @Benchmark
+    public AccountNumber parseSavings() {
+        return AccountNumber.of(savingsText);
+    }
+
+    @Benchmark
+    public AccountNumber parseChecking() {
+        return AccountNumber.of(checkingText);
+    }
+
+    @Benchmark
+    public AccountNumber fromSequence() {
+        return AccountNumber.savings(sequence);
+    }
+
+    @Benchmark
+    public int hash() {
+        return AccountNumber.of(savingsText).hashCode();
+    }
+}
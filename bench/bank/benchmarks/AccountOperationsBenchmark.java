@@ -0,0 +1,73 @@
+package bank.benchmarks;
+
+import bank.domain.entities.Account;
+import bank.domain.entities.CheckingAccount;
+import bank.domain.entities.SavingsAccount;
+import bank.domain.results.OperationResult;
+import bank.domain.valueobjects.AccountNumber;
+import bank.domain.valueobjects.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+// Deposit and withdraw alternate so balances stay stable; events are cleared as the service would
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccountOperationsBenchmark {
+    private SavingsAccount savings;
+    private CheckingAccount checking;
+    private Money amount;
+
+    @Setup
+    public void setUp() {
+        savings = new SavingsAccount(AccountNumber.savings(1), "Bench Saver",
+                Money.of(10_000.00, BenchmarkFixtures.USD), new BigDecimal("0.02"),
+                Money.of(50.00, BenchmarkFixtures.USD));
+        checking = new CheckingAccount(AccountNumber.checking(1), "Bench Spender",
+                Money.of(10_000.00, BenchmarkFixtures.USD), Money.of(100.00, BenchmarkFixtures.USD));
+        amount = Money.of(12.34, BenchmarkFixtures.USD);
+    }
+
+    @Benchmark
+    public OperationResult savingsDeposit() {
+        return settle(savings, savings.deposit(amount));
+    }
+
+    @Benchmark
+    public OperationResult savingsWithdraw() {
+        OperationResult result = savings.withdraw(amount);
+        savings.deposit(amount);
+        return settle(savings, result);
+    }
+
+    @Benchmark
+    public OperationResult checkingDeposit() {
+        return settle(checking, checking.deposit(amount));
+    }
+
+    @Benchmark
+    public OperationResult checkingWithdraw() {
+        OperationResult result = checking.withdraw(amount);
+        checking.deposit(amount);
+        return settle(checking, result);
+    }
+
+    private static OperationResult settle(Account account, OperationResult result) {
+        account.clearDomainEvents();
+        return result;
+    }
+}
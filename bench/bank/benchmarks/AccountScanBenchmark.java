@@ -0,0 +1,74 @@
+package bank.benchmarks;
+
+import bank.domain.entities.Account;
+import bank.domain.valueobjects.AccountNumber;
+import bank.infrastructure.persistence.AccountPage;
+import bank.infrastructure.persistence.InMemoryAccountRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Full scans summing every balance. Run with -prof gc to compare allocation per scan; findAll copies
+// every reference up front while stream and pages stay within a page worth of memory.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class AccountScanBenchmark {
+    @Param({"1000000"})
+    public int accounts;
+
+    @Param({"1000"})
+    public int pageSize;
+
+    private InMemoryAccountRepository repository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = new InMemoryAccountRepository();
+        BenchmarkFixtures.openAccounts(BenchmarkFixtures.service(repository), accounts, 100.00);
+    }
+
+    @Benchmark
+    public long findAll() {
+        long total = 0;
+        for (Account account : repository.findAll()) {
+            total += account.getBalance().getMinorUnits();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long stream() {
+        return repository.stream().mapToLong(account -> account.getBalance().getMinorUnits()).sum();
+    }
+
+    @Benchmark
+    public long pages() {
+        long total = 0;
+        AccountNumber after = null;
+        while (true) {
+            AccountPage page = repository.findPage(after, pageSize);
+            for (Account account : page.accounts()) {
+                total += account.getBalance().getMinorUnits();
+            }
+            if (!page.hasNext()) {
+                return total;
+            }
+            after = page.next().get();
+        }
+    }
+}
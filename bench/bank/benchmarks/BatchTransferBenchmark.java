@@ -0,0 +1,71 @@
+package bank.benchmarks;
+
+import bank.application.commands.TransferFundsCommand;
+import bank.application.services.DefaultAccountService;
+import bank.domain.valueobjects.AccountNumber;
+import bank.domain.valueobjects.Money;
+import bank.infrastructure.persistence.InMemoryAccountRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Settles the same batch of transfers one command at a time and through the batch API; both report
+// per-transfer cost
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchTransferBenchmark {
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"1000"})
+    public int accounts;
+
+    private DefaultAccountService service;
+    private List<TransferFundsCommand> batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = BenchmarkFixtures.service(new InMemoryAccountRepository());
+        AccountNumber[] numbers = BenchmarkFixtures.openAccounts(service, accounts, 1_000_000.00);
+        Money amount = Money.of(1.00, BenchmarkFixtures.USD);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            int source = random.nextInt(numbers.length);
+            int destination = (source + 1 + random.nextInt(numbers.length - 1)) % numbers.length;
+            batch.add(new TransferFundsCommand(numbers[source], numbers[destination], amount, "bench-" + i));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void singleCommands() {
+        for (TransferFundsCommand command : batch) {
+            service.transferFunds(command);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public Object batched() {
+        return service.transferFunds(batch);
+    }
+}
@@ -0,0 +1,33 @@
+package bank.benchmarks;
+
+import bank.application.commands.CreateAccountCommand;
+import bank.application.services.AccountService;
+import bank.application.services.DefaultAccountService;
+import bank.domain.valueobjects.AccountNumber;
+import bank.infrastructure.persistence.AccountRepository;
+import bank.infrastructure.services.SequenceGenerator;
+
+import java.util.Currency;
+
+final class BenchmarkFixtures {
+    static final Currency USD = Currency.getInstance("USD");
+
+    private BenchmarkFixtures() {
+    }
+
+    static DefaultAccountService service(AccountRepository repository) {
+        return new DefaultAccountService(repository, new SequenceGenerator(), USD);
+    }
+
+    // Opens count accounts alternating checking/savings and returns their numbers in creation order
+    static AccountNumber[] openAccounts(AccountService service, int count, double initialDeposit) {
+        AccountNumber[] numbers = new AccountNumber[count];
+        for (int i = 0; i < count; i++) {
+            String type = i % 2 == 0 ? "CHECKING" : "SAVINGS";
+            numbers[i] = service.createAccount(
+                CreateAccountCommand.of("Holder " + i, initialDeposit, USD.getCurrencyCode(), type)
+            ).getAccountNumber();
+        }
+        return numbers;
+    }
+}
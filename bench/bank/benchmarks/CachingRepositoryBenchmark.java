@@ -0,0 +1,120 @@
+package bank.benchmarks;
+
+import bank.application.services.DefaultAccountService;
+import bank.domain.entities.Account;
+import bank.domain.results.OperationResult;
+import bank.domain.valueobjects.AccountNumber;
+import bank.domain.valueobjects.Money;
+import bank.infrastructure.persistence.AccountRepository;
+import bank.infrastructure.persistence.CachingAccountRepository;
+import bank.infrastructure.persistence.OffHeapAccountRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// A file-mapped book with and without a CachingAccountRepository holding 1% of it, under Zipf-skewed
+// lookups and deposits (theta 0.99, ranks shuffled over the book). The mapped store materializes an
+// Account per lookup, which the cache saves for the hot set.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CachingRepositoryBenchmark {
+    private static final int KEY_SAMPLES = 1 << 20;
+
+    @Param({"1000000"})
+    public int accounts;
+
+    @Param({"none", "through", "behind"})
+    public String cache;
+
+    private Path directory;
+    private AccountRepository repository;
+    private DefaultAccountService service;
+    private AccountNumber[] keys;
+    private AtomicInteger cursor;
+    private Money amount;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("caching-bench");
+        AccountRepository store = OffHeapAccountRepository.mapped(directory);
+        repository = switch (cache) {
+            case "through" -> CachingAccountRepository.writeThrough(store, accounts / 100);
+            case "behind" -> CachingAccountRepository.writeBehind(store, accounts / 100,
+                    Duration.ofMillis(100), 65_536);
+            default -> store;
+        };
+        service = BenchmarkFixtures.service(repository);
+        AccountNumber[] numbers = BenchmarkFixtures.openAccounts(service, accounts, 100.00);
+        keys = zipfSample(numbers, 0.99, new SplittableRandom(42));
+        cursor = new AtomicInteger();
+        amount = Money.of(1.00, BenchmarkFixtures.USD);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (repository instanceof CachingAccountRepository caching) {
+            System.out.println(caching.metrics());
+        }
+        ((AutoCloseable) repository).close();
+    }
+
+    @Benchmark
+    public Optional<Account> find() {
+        return repository.findByNumber(nextKey());
+    }
+
+    @Benchmark
+    public OperationResult deposit() {
+        return service.deposit(nextKey(), amount);
+    }
+
+    private AccountNumber nextKey() {
+        return keys[cursor.getAndIncrement() & (KEY_SAMPLES - 1)];
+    }
+
+    // Rank r is drawn with probability proportional to 1 / r^theta, then mapped through a shuffle
+    private static AccountNumber[] zipfSample(AccountNumber[] numbers, double theta, SplittableRandom random) {
+        double[] cumulative = new double[numbers.length];
+        double sum = 0;
+        for (int i = 0; i < numbers.length; i++) {
+            sum += 1.0 / Math.pow(i + 1, theta);
+            cumulative[i] = sum;
+        }
+        AccountNumber[] shuffled = numbers.clone();
+        for (int i = shuffled.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            AccountNumber swap = shuffled[i];
+            shuffled[i] = shuffled[j];
+            shuffled[j] = swap;
+        }
+        AccountNumber[] sample = new AccountNumber[KEY_SAMPLES];
+        for (int i = 0; i < sample.length; i++) {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+            sample[i] = shuffled[Math.min(numbers.length - 1, rank < 0 ? -rank - 1 : rank)];
+        }
+        return sample;
+    }
+}
@@ -0,0 +1,96 @@
+package bank.benchmarks;
+
+import bank.domain.events.DomainEvent;
+import bank.domain.events.FundsDepositedEvent;
+import bank.domain.valueobjects.AccountNumber;
+import bank.domain.valueobjects.Money;
+import bank.infrastructure.messaging.EventSubscriber;
+import bank.infrastructure.messaging.RingBufferEventOutbox;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Events per second through the outbox to `subscribers` consumer threads, in publish calls of BATCH
+// events, what one transfer raises. Once the ring fills, publish waits for the slowest subscriber, so
+// the steady-state score is what the consumers sustain, not just the cost of the publish lock.
+// Subscribers only touch each event; the contended variant publishes from 4 threads.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventOutboxBenchmark {
+    private static final int BATCH = 3;
+
+    @Param({"1", "3"})
+    public int subscribers;
+
+    @Param({"1024", "65536"})
+    public int capacity;
+
+    private RingBufferEventOutbox outbox;
+    private List<DomainEvent> events;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        outbox = new RingBufferEventOutbox(capacity);
+        for (int i = 0; i < subscribers; i++) {
+            outbox.subscribe("bench-" + i, new Touch());
+        }
+        outbox.start();
+        Money amount = Money.ofMinor(100, BenchmarkFixtures.USD);
+        events = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            events.add(new FundsDepositedEvent(AccountNumber.checking(i + 1), amount, amount, amount));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        outbox.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void publish() {
+        outbox.publish(events);
+    }
+
+    @Benchmark
+    @Threads(4)
+    @OperationsPerInvocation(BATCH)
+    public void publishContended() {
+        outbox.publish(events);
+    }
+
+    // Reads each event so delivery cannot be optimized away; the total is published on the last one
+    private static final class Touch implements EventSubscriber {
+        private long sum;
+        private volatile long seen;
+
+        @Override
+        public void onEvent(DomainEvent event, boolean endOfBatch) {
+            sum += event.getSequence();
+            if (endOfBatch) {
+                seen = sum;
+            }
+        }
+    }
+}
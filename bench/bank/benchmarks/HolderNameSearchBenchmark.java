@@ -0,0 +1,75 @@
+package bank.benchmarks;
+
+import bank.application.services.DefaultAccountService;
+import bank.domain.entities.Account;
+import bank.infrastructure.persistence.InMemoryAccountRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Holder name lookups against an indexed in-memory book ("Holder <i>" names). exact hits one name,
+// narrowPrefix drops the last digit of a name (about ten names), widePrefix asks for the first page of
+// "holder 1", which matches a tenth of the book. Queries are typed in a different case than stored.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx16g")
+public class HolderNameSearchBenchmark {
+    private static final int QUERY_SAMPLES = 1 << 16;
+    private static final int LIMIT = 20;
+
+    @Param({"1000000", "10000000"})
+    public int accounts;
+
+    private DefaultAccountService service;
+    private String[] names;
+    private AtomicInteger cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = BenchmarkFixtures.service(new InMemoryAccountRepository());
+        BenchmarkFixtures.openAccounts(service, accounts, 100.00);
+        SplittableRandom random = new SplittableRandom(42);
+        names = new String[QUERY_SAMPLES];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = "HOLDER " + random.nextInt(accounts);
+        }
+        cursor = new AtomicInteger();
+    }
+
+    @Benchmark
+    public List<Account> exact() {
+        return service.findAccountsByHolderName(nextName(), LIMIT);
+    }
+
+    @Benchmark
+    public List<Account> narrowPrefix() {
+        String name = nextName();
+        return service.findAccountsByHolderNamePrefix(name.substring(0, name.length() - 1), LIMIT);
+    }
+
+    @Benchmark
+    public List<Account> widePrefix() {
+        return service.findAccountsByHolderNamePrefix("holder 1", LIMIT);
+    }
+
+    private String nextName() {
+        return names[cursor.getAndIncrement() & (QUERY_SAMPLES - 1)];
+    }
+}
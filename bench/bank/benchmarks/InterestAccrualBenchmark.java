@@ -0,0 +1,65 @@
+package bank.benchmarks;
+
+import bank.application.services.DefaultAccountService;
+import bank.application.services.InterestAccrualEngine;
+import bank.application.services.InterestRunSummary;
+import bank.domain.events.DomainEventPublisher;
+import bank.infrastructure.concurrency.StripedLockTable;
+import bank.infrastructure.persistence.InMemoryAccountRepository;
+import bank.infrastructure.services.SequenceGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// One full interest run per invocation; compare scores across parallelism to check scaling.
+// Run with -p accounts=10000000 and a larger heap (-jvmArgs -Xmx16g) for the full-size figure.
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class InterestAccrualBenchmark {
+    @Param({"1000000"})
+    public int accounts;
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    private ForkJoinPool pool;
+    private InterestAccrualEngine engine;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InMemoryAccountRepository repository = new InMemoryAccountRepository();
+        StripedLockTable locks = new StripedLockTable();
+        DefaultAccountService service = new DefaultAccountService(repository, new SequenceGenerator(),
+                BenchmarkFixtures.USD, locks, DomainEventPublisher.NONE);
+        BenchmarkFixtures.openAccounts(service, accounts, 1_000.00);
+        pool = new ForkJoinPool(parallelism);
+        engine = new InterestAccrualEngine(repository, locks, DomainEventPublisher.NONE, pool);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public InterestRunSummary applyInterest() {
+        return engine.run();
+    }
+}
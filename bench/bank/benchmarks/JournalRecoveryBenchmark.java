@@ -0,0 +1,80 @@
+package bank.benchmarks;
+
+import bank.application.services.DefaultAccountService;
+import bank.domain.valueobjects.AccountNumber;
+import bank.domain.valueobjects.Money;
+import bank.infrastructure.persistence.JournalAccountRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Startup time of a journaled book: reopening replays the whole journal, or with a snapshot loads the
+// snapshot and replays only the records after it. The journal holds one opening record per account plus
+// tailRecords deposits written after the snapshot, if any.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class JournalRecoveryBenchmark {
+    @Param({"1000000", "10000000"})
+    public int accounts;
+
+    @Param({"false", "true"})
+    public boolean snapshot;
+
+    @Param({"100000"})
+    public int tailRecords;
+
+    private Path directory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("journal-recovery");
+        try (JournalAccountRepository repository = JournalAccountRepository.open(directory)) {
+            DefaultAccountService service = BenchmarkFixtures.service(repository);
+            AccountNumber[] numbers = BenchmarkFixtures.openAccounts(service, accounts, 100.00);
+            if (snapshot) {
+                repository.snapshot();
+            }
+            Money amount = Money.ofMinor(1, BenchmarkFixtures.USD);
+            for (int i = 0; i < tailRecords; i++) {
+                service.deposit(numbers[i % numbers.length], amount);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public int reopen() {
+        try (JournalAccountRepository repository = JournalAccountRepository.open(directory)) {
+            return repository.count();
+        }
+    }
+}
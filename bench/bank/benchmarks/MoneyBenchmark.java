@@ -0,0 +1,70 @@
+package bank.benchmarks;
+
+import bank.domain.valueobjects.Money;
+import bank.domain.valueobjects.MoneyAccumulator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+    private Money left;
+    private Money right;
+    private MoneyAccumulator accumulator;
+    private BigDecimal decimal;
+
+    @Setup
+    public void setUp() {
+        left = Money.of(1234.56, BenchmarkFixtures.USD);
+        right = Money.of(78.90, BenchmarkFixtures.USD);
+        accumulator = new MoneyAccumulator(left);
+        decimal = new BigDecimal("1234.565");
+    }
+
+    @Benchmark
+    public Money add() {
+        return left.add(right);
+    }
+
+    @Benchmark
+    public Money subtract() {
+        return left.subtract(right);
+    }
+
+    @Benchmark
+    public boolean compare() {
+        return left.isGreaterThan(right);
+    }
+
+    @Benchmark
+    public long accumulate() {
+        accumulator.add(right);
+        accumulator.subtract(right);
+        return accumulator.getMinorUnits();
+    }
+
+    @Benchmark
+    public Money fromBigDecimal() {
+        return Money.of(decimal, BenchmarkFixtures.USD);
+    }
+
+    @Benchmark
+    public BigDecimal toBigDecimal() {
+        return left.getAmount();
+    }
+}
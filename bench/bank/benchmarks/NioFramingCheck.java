@@ -0,0 +1,173 @@
+package bank.benchmarks;
+
+import bank.application.services.DefaultAccountService;
+import bank.application.services.TransferDeduplicator;
+import bank.domain.entities.AccountType;
+import bank.domain.events.DomainEventPublisher;
+import bank.domain.results.TransferSuccess;
+import bank.domain.valueobjects.AccountNumber;
+import bank.domain.valueobjects.Money;
+import bank.infrastructure.concurrency.StripedLockTable;
+import bank.infrastructure.persistence.InMemoryAccountRepository;
+import bank.infrastructure.services.SequenceGenerator;
+import bank.presentation.network.BankClient;
+import bank.presentation.network.BankProtocol;
+import bank.presentation.network.BankServer;
+import bank.presentation.network.NioBankServer;
+
+import java.io.DataInputStream;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Framing checks against a NioBankServer with one event loop, and against BankServer for short frames.
+// Not a JMH benchmark; exits non-zero on failure:
+//     ant bench-checks
+//   bad length      a client sends well-formed withdrawals followed by a frame length the server cannot
+//                   accept, all in one write; it must be dropped without any of those withdrawals
+//                   running, and a second client must then get exactly its own responses
+//   long rejections a pipelined run of transfers reusing a long reference is rejected with reasons
+//                   that echo it; every response must still fit in a frame and the loop must survive
+//   short frames    frames of zero to four bytes, then a FIND, sent to both servers; each short frame
+//                   must get BAD_REQUEST in order and the FIND must still be answered on that connection
+public final class NioFramingCheck {
+    private static final int WITHDRAWALS = 3;
+    private static final int REJECTED_TRANSFERS = 128;
+    private static final int REFERENCE_LENGTH = 990;
+
+    private NioFramingCheck() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        badLength();
+        longRejections();
+        shortFrames();
+        System.out.println("NioFramingCheck passed");
+    }
+
+    private static void badLength() throws Exception {
+        var service = BenchmarkFixtures.service(new InMemoryAccountRepository());
+        try (NioBankServer server = NioBankServer.start(service, BenchmarkFixtures.USD, 0, 1);
+             BankClient good = BankClient.connect(new InetSocketAddress("127.0.0.1", server.port()), BenchmarkFixtures.USD)) {
+            Money opening = Money.ofMinor(100_000, BenchmarkFixtures.USD);
+            AccountNumber account = good.createAccount("Framing Check", AccountType.CHECKING, opening).join();
+
+            try (Socket bad = new Socket("127.0.0.1", server.port())) {
+                ByteBuffer frames = ByteBuffer.allocate(WITHDRAWALS * 32 + Integer.BYTES);
+                for (int i = 0; i < WITHDRAWALS; i++) {
+                    frames.putInt(Integer.BYTES + 1 + 2 * Long.BYTES).putInt(1_000 + i).put(BankProtocol.WITHDRAW)
+                            .putLong(account.toLong()).putLong(100);
+                }
+                frames.putInt(BankProtocol.MAX_FRAME_SIZE + 1);
+                bad.getOutputStream().write(frames.array(), 0, frames.position());
+                InputStream in = bad.getInputStream();
+                // the server closes without answering; anything read here is a response it should not send
+                int read;
+                try {
+                    read = in.read();
+                } catch (SocketException e) {
+                    read = -1;
+                }
+                check(read < 0, "dropped connection still got a response");
+            }
+
+            for (int i = 0; i < 2; i++) {
+                var found = good.findAccount(account).orTimeout(5, TimeUnit.SECONDS).join();
+                check(found.isPresent(), "account missing");
+                check(found.get().balance().equals(opening),
+                        "dropped client's withdrawals ran: balance " + found.get().balance());
+            }
+            check(server.getRequestCount() == 3, "unexpected request count " + server.getRequestCount());
+        }
+    }
+
+    private static void longRejections() throws Exception {
+        var service = new DefaultAccountService(new InMemoryAccountRepository(), new SequenceGenerator(),
+                BenchmarkFixtures.USD, new StripedLockTable(), DomainEventPublisher.NONE,
+                new TransferDeduplicator(1_000, Duration.ofMinutes(1)));
+        try (NioBankServer server = NioBankServer.start(service, BenchmarkFixtures.USD, 0, 1);
+             BankClient client = BankClient.connect(new InetSocketAddress("127.0.0.1", server.port()), BenchmarkFixtures.USD)) {
+            Money opening = Money.ofMinor(100_000, BenchmarkFixtures.USD);
+            AccountNumber source = client.createAccount("Source", AccountType.CHECKING, opening).join();
+            AccountNumber destination = client.createAccount("Destination", AccountType.CHECKING, opening).join();
+            String reference = "r".repeat(REFERENCE_LENGTH);
+            var first = client.transfer(source, destination, Money.ofMinor(100, BenchmarkFixtures.USD), reference)
+                    .orTimeout(5, TimeUnit.SECONDS).join();
+            check(first instanceof TransferSuccess, "first transfer failed: " + first);
+
+            try (Socket raw = new Socket("127.0.0.1", server.port())) {
+                // same reference, different amount: each one is rejected with a reason quoting the reference
+                int frameLength = Integer.BYTES + 1 + 3 * Long.BYTES + Short.BYTES + REFERENCE_LENGTH;
+                ByteBuffer frames = ByteBuffer.allocate(REJECTED_TRANSFERS * (Integer.BYTES + frameLength));
+                for (int i = 0; i < REJECTED_TRANSFERS; i++) {
+                    frames.putInt(frameLength).putInt(i).put(BankProtocol.TRANSFER)
+                            .putLong(source.toLong()).putLong(destination.toLong()).putLong(200);
+                    BankProtocol.writeString(frames, reference);
+                }
+                raw.setSoTimeout(5_000);
+                raw.getOutputStream().write(frames.array(), 0, frames.position());
+                DataInputStream in = new DataInputStream(raw.getInputStream());
+                for (int i = 0; i < REJECTED_TRANSFERS; i++) {
+                    int length = in.readInt();
+                    check(length <= BankProtocol.MAX_FRAME_SIZE, "response frame of " + length + " bytes");
+                    byte[] body = new byte[length];
+                    in.readFully(body);
+                    ByteBuffer response = ByteBuffer.wrap(body);
+                    check(response.getInt() == i, "response out of order");
+                    check(response.get() == BankProtocol.REJECTED, "duplicate reference was not rejected");
+                }
+            }
+            var found = client.findAccount(source).orTimeout(5, TimeUnit.SECONDS).join();
+            check(found.isPresent(), "event loop did not survive the rejections");
+            check(server.getConnectionFailures() == 0, "connections failed: " + server.getConnectionFailures());
+        }
+    }
+
+    private static void shortFrames() throws Exception {
+        var service = BenchmarkFixtures.service(new InMemoryAccountRepository());
+        try (NioBankServer nio = NioBankServer.start(service, BenchmarkFixtures.USD, 0, 1);
+             BankServer blocking = BankServer.start(service, BenchmarkFixtures.USD, 0)) {
+            shortFrames(nio.port());
+            check(nio.getConnectionFailures() == 0, "short frames failed connections: " + nio.getConnectionFailures());
+            shortFrames(blocking.port());
+        }
+    }
+
+    private static void shortFrames(int port) throws Exception {
+        try (Socket raw = new Socket("127.0.0.1", port)) {
+            ByteBuffer frames = ByteBuffer.allocate(128);
+            for (int length = 0; length < BankProtocol.MIN_REQUEST_SIZE; length++) {
+                frames.putInt(length);
+                for (int i = 0; i < length; i++) {
+                    frames.put((byte) 0);
+                }
+            }
+            frames.putInt(Integer.BYTES + 1 + Long.BYTES).putInt(7).put(BankProtocol.FIND).putLong(0);
+            raw.setSoTimeout(5_000);
+            raw.getOutputStream().write(frames.array(), 0, frames.position());
+            DataInputStream in = new DataInputStream(raw.getInputStream());
+            for (int length = 0; length <= BankProtocol.MIN_REQUEST_SIZE; length++) {
+                byte[] body = new byte[in.readInt()];
+                in.readFully(body);
+                ByteBuffer response = ByteBuffer.wrap(body);
+                if (length < BankProtocol.MIN_REQUEST_SIZE) {
+                    check(response.getInt() == 0, "short frame answered under the wrong id");
+                    check(response.get() == BankProtocol.BAD_REQUEST, "frame of " + length + " bytes not rejected");
+                } else {
+                    check(response.getInt() == 7, "find after short frames out of order");
+                    check(response.get() == BankProtocol.NOT_FOUND, "find after short frames not answered");
+                }
+            }
+        }
+    }
+
+    private static void check(boolean condition, String failure) {
+        if (!condition) {
+            throw new AssertionError(failure);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package bank.benchmarks;
+
+import bank.application.services.DefaultAccountService;
+import bank.domain.entities.Account;
+import bank.domain.results.OperationResult;
+import bank.domain.valueobjects.AccountNumber;
+import bank.domain.valueobjects.Money;
+import bank.infrastructure.persistence.AccountRepository;
+import bank.infrastructure.persistence.InMemoryAccountRepository;
+import bank.infrastructure.persistence.OffHeapAccountRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Same book on the heap and off it. Run with -prof gc to compare allocation and GC time; the off-heap
+// store builds a short-lived Account per lookup but leaves almost nothing for the collector to trace.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class OffHeapRepositoryBenchmark {
+    @Param({"1000000"})
+    public int accounts;
+
+    @Param({"heap", "offheap"})
+    public String store;
+
+    private AccountRepository repository;
+    private DefaultAccountService service;
+    private AccountNumber[] numbers;
+    private Money amount;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = store.equals("offheap") ? OffHeapAccountRepository.inMemory() : new InMemoryAccountRepository();
+        service = BenchmarkFixtures.service(repository);
+        numbers = BenchmarkFixtures.openAccounts(service, accounts, 100.00);
+        amount = Money.of(1.00, BenchmarkFixtures.USD);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (repository instanceof OffHeapAccountRepository offHeap) {
+            offHeap.close();
+        }
+    }
+
+    @Benchmark
+    public Optional<Account> find() {
+        return repository.findByNumber(numbers[ThreadLocalRandom.current().nextInt(numbers.length)]);
+    }
+
+    @Benchmark
+    public OperationResult deposit() {
+        return service.deposit(numbers[ThreadLocalRandom.current().nextInt(numbers.length)], amount);
+    }
+}
@@ -0,0 +1,96 @@
+package bank.benchmarks;
+
+import bank.application.commands.TransferFundsCommand;
+import bank.application.services.AccountService;
+import bank.application.services.OptimisticAccountService;
+import bank.domain.results.OperationResult;
+import bank.domain.valueobjects.AccountNumber;
+import bank.domain.valueobjects.Money;
+import bank.infrastructure.persistence.InMemoryAccountRepository;
+import bank.infrastructure.services.SequenceGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Pessimistic (striped locks) against optimistic (versioned compare-and-save) concurrency, with every
+// core updating accounts drawn uniformly from the first hotAccounts of the book: 1 puts all writers on
+// one account, 100000 makes collisions rare. The optimistic service prints its conflict rate per trial.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+public class OptimisticConcurrencyBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Bank {
+        @Param({"100000"})
+        public int accounts;
+
+        @Param({"1", "16", "1024", "100000"})
+        public int hotAccounts;
+
+        @Param({"pessimistic", "optimistic"})
+        public String concurrency;
+
+        AccountService service;
+        AccountNumber[] numbers;
+        Money amount;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            InMemoryAccountRepository repository = new InMemoryAccountRepository();
+            service = concurrency.equals("optimistic")
+                    ? new OptimisticAccountService(repository, new SequenceGenerator(), BenchmarkFixtures.USD)
+                    : BenchmarkFixtures.service(repository);
+            numbers = BenchmarkFixtures.openAccounts(service, accounts, 1_000_000.00);
+            amount = Money.of(1.00, BenchmarkFixtures.USD);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            if (service instanceof OptimisticAccountService optimistic) {
+                System.out.println(optimistic.metrics());
+            }
+        }
+
+        AccountNumber hotAccount() {
+            return numbers[ThreadLocalRandom.current().nextInt(Math.min(hotAccounts, numbers.length))];
+        }
+
+        TransferFundsCommand hotTransfer() {
+            int range = Math.max(2, Math.min(hotAccounts, numbers.length));
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int source = random.nextInt(range);
+            int destination = (source + 1 + random.nextInt(range - 1)) % range;
+            return new TransferFundsCommand(numbers[source], numbers[destination], amount, "bench");
+        }
+    }
+
+    @Benchmark
+    public OperationResult deposit(Bank bank) {
+        return bank.service.deposit(bank.hotAccount(), bank.amount);
+    }
+
+    @Benchmark
+    public OperationResult[] transfer(Bank bank) {
+        // the batch form reports an abandoned transfer as a result instead of throwing
+        return bank.service.transferFunds(List.of(bank.hotTransfer()));
+    }
+}
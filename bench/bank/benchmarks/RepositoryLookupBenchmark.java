@@ -0,0 +1,52 @@
+package bank.benchmarks;
+
+import bank.domain.entities.Account;
+import bank.domain.valueobjects.AccountNumber;
+import bank.infrastructure.persistence.InMemoryAccountRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RepositoryLookupBenchmark {
+    @Param({"1000", "1000000"})
+    public int accounts;
+
+    private InMemoryAccountRepository repository;
+    private AccountNumber[] numbers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = new InMemoryAccountRepository();
+        numbers = BenchmarkFixtures.openAccounts(BenchmarkFixtures.service(repository), accounts, 100.00);
+    }
+
+    @Benchmark
+    public Optional<Account> findExisting() {
+        return repository.findByNumber(numbers[ThreadLocalRandom.current().nextInt(numbers.length)]);
+    }
+
+    @Benchmark
+    public Optional<Account> findParsed() {
+        String text = numbers[ThreadLocalRandom.current().nextInt(numbers.length)].getValue();
+        return repository.findByNumber(AccountNumber.of(text));
+    }
+}
@@ -0,0 +1,191 @@
+package bank.benchmarks;
+
+import bank.domain.entities.AccountType;
+import bank.domain.results.DepositSuccess;
+import bank.domain.results.OperationResult;
+import bank.domain.results.TransferSuccess;
+import bank.domain.results.WithdrawalSuccess;
+import bank.domain.valueobjects.AccountNumber;
+import bank.domain.valueobjects.Money;
+import bank.infrastructure.metrics.LatencyHistogram;
+import bank.infrastructure.persistence.InMemoryAccountRepository;
+import bank.presentation.network.BankClient;
+import bank.presentation.network.BankServer;
+import bank.presentation.network.NioBankServer;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Closed-loop load test for the network front ends: N connections, each driven by its own virtual thread
+// that keeps load.pipeline requests outstanding and sends a new one as each answer arrives. Latency is
+// measured per request after a warm-up. Mixes (load.mix):
+//   mixed           40% find, 25% deposit, 25% withdraw, 10% transfer over all accounts
+//   authorizations  small withdrawals against checking accounts, drawing on the overdraft once spent
+// Not a JMH benchmark, run it with e.g.
+//     ant -Dload.connections=10000 -Dload.seconds=20 bench-load
+//     ant -Dload.frontend=nio -Dload.connections=64 -Dload.pipeline=32 -Dload.mix=authorizations bench-load
+// load.frontend picks the in-process server (threads = BankServer, nio = NioBankServer). The in-process
+// server needs two descriptors per connection; pass -Dload.server=host:port to drive a separately
+// started server instead.
+public final class ServerLoadTest {
+    private ServerLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int accounts = args.length > 2 ? Integer.parseInt(args[2]) : 100_000;
+        String frontend = System.getProperty("load.frontend", "threads");
+        int pipeline = Integer.getInteger("load.pipeline", 1);
+        boolean authorizations = System.getProperty("load.mix", "mixed").equals("authorizations");
+        long warmupNanos = TimeUnit.SECONDS.toNanos(Math.max(1, seconds / 5));
+
+        String target = System.getProperty("load.server");
+        AutoCloseable server = null;
+        InetSocketAddress address;
+        if (target == null) {
+            var service = BenchmarkFixtures.service(new InMemoryAccountRepository());
+            int port;
+            if (frontend.equals("nio")) {
+                NioBankServer nio = NioBankServer.start(service, BenchmarkFixtures.USD, 0,
+                        Runtime.getRuntime().availableProcessors());
+                server = nio;
+                port = nio.port();
+            } else {
+                BankServer threads = BankServer.start(service, BenchmarkFixtures.USD, 0);
+                server = threads;
+                port = threads.port();
+            }
+            address = new InetSocketAddress("127.0.0.1", port);
+        } else {
+            int colon = target.lastIndexOf(':');
+            address = new InetSocketAddress(target.substring(0, colon), Integer.parseInt(target.substring(colon + 1)));
+            frontend = target;
+        }
+
+        AccountNumber[] numbers = openAccounts(address, accounts);
+        List<BankClient> clients = new ArrayList<>(connections);
+        long connectStarted = System.nanoTime();
+        for (int i = 0; i < connections; i++) {
+            clients.add(BankClient.connect(address, BenchmarkFixtures.USD));
+        }
+        System.out.printf("%s: %,d accounts, %,d connections opened in %d ms, pipeline %d, %s mix%n", frontend,
+                accounts, connections, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - connectStarted), pipeline,
+                authorizations ? "authorizations" : "mixed");
+
+        Workload workload = new Workload(numbers, authorizations, new LatencyHistogram(), new LongAdder(), new LongAdder());
+        CountDownLatch done = new CountDownLatch(connections);
+        long measureFrom = System.nanoTime() + warmupNanos;
+        long deadline = measureFrom + TimeUnit.SECONDS.toNanos(seconds);
+        for (BankClient client : clients) {
+            Thread.ofVirtual().start(() -> {
+                try {
+                    workload.drive(client, pipeline, measureFrom, deadline);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+
+        long operations = workload.latency.count();
+        System.out.printf("%,d requests in %d s: %,.0f ops/s, %,d rejected, %,d failed%n",
+                operations, seconds, operations / (double) seconds, workload.rejected.sum(), workload.failed.sum());
+        System.out.println("latency (us): " + workload.latency.summary(TimeUnit.MICROSECONDS));
+        if (server instanceof NioBankServer nio) {
+            System.out.printf("requests per handler batch: %.1f%n", nio.getRequestCount() / (double) nio.getBatchCount());
+        }
+
+        for (BankClient client : clients) {
+            client.close();
+        }
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    private record Workload(AccountNumber[] numbers, boolean authorizations, LatencyHistogram latency,
+                            LongAdder rejected, LongAdder failed) {
+
+        private void drive(BankClient client, int pipeline, long measureFrom, long deadline) {
+            ArrayDeque<CompletableFuture<?>> inFlight = new ArrayDeque<>(pipeline);
+            ArrayDeque<Long> sentAt = new ArrayDeque<>(pipeline);
+            try {
+                while (true) {
+                    long now = System.nanoTime();
+                    if (now < deadline) {
+                        while (inFlight.size() < pipeline) {
+                            inFlight.add(next(client));
+                            sentAt.add(now);
+                        }
+                    }
+                    CompletableFuture<?> oldest = inFlight.poll();
+                    if (oldest == null) {
+                        return;
+                    }
+                    Object result = oldest.join();
+                    long sent = sentAt.poll();
+                    if (sent >= measureFrom && sent < deadline) {
+                        latency.record(System.nanoTime() - sent);
+                        if (result instanceof OperationResult operation && !succeeded(operation)) {
+                            rejected.increment();
+                        }
+                    }
+                }
+            } catch (RuntimeException e) {
+                failed.increment();
+            }
+        }
+
+        private CompletableFuture<?> next(BankClient client) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            Money amount = Money.ofMinor(100, BenchmarkFixtures.USD);
+            if (authorizations) {
+                // even indexes are checking accounts, see openAccounts
+                return client.withdraw(numbers[random.nextInt((numbers.length + 1) / 2) * 2], amount);
+            }
+            int index = random.nextInt(numbers.length);
+            AccountNumber account = numbers[index];
+            int pick = random.nextInt(100);
+            if (pick < 40) {
+                return client.findAccount(account);
+            } else if (pick < 65) {
+                return client.deposit(account, amount);
+            } else if (pick < 90) {
+                return client.withdraw(account, amount);
+            }
+            // any account but the source
+            AccountNumber destination = numbers[(index + 1 + random.nextInt(numbers.length - 1)) % numbers.length];
+            // unique references: the standalone servers deduplicate transfers by reference
+            return client.transfer(account, destination, amount, "load-" + Long.toHexString(random.nextLong()));
+        }
+    }
+
+    private static boolean succeeded(OperationResult result) {
+        return result instanceof DepositSuccess || result instanceof WithdrawalSuccess || result instanceof TransferSuccess;
+    }
+
+    // Opened over one pipelined connection so setup does not depend on where the server runs
+    private static AccountNumber[] openAccounts(InetSocketAddress address, int count) throws Exception {
+        try (BankClient client = BankClient.connect(address, BenchmarkFixtures.USD)) {
+            Money initialDeposit = Money.ofMinor(1_000_000, BenchmarkFixtures.USD);
+            List<CompletableFuture<AccountNumber>> opened = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                AccountType type = i % 2 == 0 ? AccountType.CHECKING : AccountType.SAVINGS;
+                opened.add(client.createAccount("Holder " + i, type, initialDeposit));
+            }
+            AccountNumber[] numbers = new AccountNumber[count];
+            for (int i = 0; i < count; i++) {
+                numbers[i] = opened.get(i).join();
+            }
+            return numbers;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package bank.benchmarks;
+
+import bank.application.commands.TransferFundsCommand;
+import bank.application.services.AccountService;
+import bank.application.services.ShardedAccountService;
+import bank.domain.results.OperationResult;
+import bank.domain.valueobjects.AccountNumber;
+import bank.domain.valueobjects.Money;
+import bank.infrastructure.persistence.InMemoryAccountRepository;
+import bank.infrastructure.services.SequenceGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Scaling of the single-writer ShardedAccountService from 1 to 32 shards against the lock-based service
+// (shards = 0), on random transfers from every core. With n shards a random transfer crosses shards with
+// probability 1 - 1/n and costs three hand-offs instead of one. The batch form keeps BATCH transfers in
+// flight per caller, so the shards stay busy even when there are fewer callers than shards.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShardedTransferBenchmark {
+    private static final int BATCH = 64;
+
+    @State(Scope.Benchmark)
+    public static class Bank {
+        @Param({"100000"})
+        public int accounts;
+
+        @Param({"0", "1", "2", "4", "8", "16", "32"})
+        public int shards;
+
+        AccountService service;
+        AccountNumber[] numbers;
+        Money amount;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            InMemoryAccountRepository repository = new InMemoryAccountRepository();
+            service = shards == 0
+                    ? BenchmarkFixtures.service(repository)
+                    : new ShardedAccountService(repository, new SequenceGenerator(), BenchmarkFixtures.USD, shards);
+            numbers = BenchmarkFixtures.openAccounts(service, accounts, 1_000_000.00);
+            amount = Money.of(1.00, BenchmarkFixtures.USD);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            if (service instanceof ShardedAccountService sharded) {
+                System.out.println(sharded.metrics());
+                sharded.close();
+            }
+        }
+
+        TransferFundsCommand randomTransfer() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int source = random.nextInt(numbers.length);
+            int destination = (source + 1 + random.nextInt(numbers.length - 1)) % numbers.length;
+            return new TransferFundsCommand(numbers[source], numbers[destination], amount, "bench");
+        }
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void transfer(Bank bank) {
+        bank.service.transferFunds(bank.randomTransfer());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    @OperationsPerInvocation(BATCH)
+    public OperationResult[] transferBatch(Bank bank) {
+        List<TransferFundsCommand> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            batch.add(bank.randomTransfer());
+        }
+        return bank.service.transferFunds(batch);
+    }
+}
@@ -0,0 +1,130 @@
+package bank.benchmarks;
+
+import bank.application.commands.CreateAccountCommand;
+import bank.application.services.DefaultAccountService;
+import bank.domain.entities.Account;
+import bank.domain.valueobjects.AccountNumber;
+import bank.domain.valueobjects.Money;
+import bank.infrastructure.persistence.JournalAccountRepository;
+import bank.infrastructure.services.SequenceGenerator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+// Snapshots taken while writers create, deposit into and delete accounts must recover to exactly the
+// state the writers left: no account lost, none brought back, every balance equal. Each round runs the
+// writers and a snapshot loop together, stops them, reopens the journal directory and compares. Not a
+// JMH benchmark; exits non-zero on failure:
+//     ant bench-checks
+public final class SnapshotRecoveryCheck {
+    private static final int ROUNDS = 5;
+    private static final int WRITERS = 4;
+    private static final long ROUND_MILLIS = 1_000;
+
+    private SnapshotRecoveryCheck() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        long snapshots = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            Path directory = Files.createTempDirectory("snapshot-check");
+            try {
+                snapshots += round(directory);
+            } finally {
+                delete(directory);
+            }
+        }
+        System.out.printf("SnapshotRecoveryCheck passed: %d rounds, %d snapshots%n", ROUNDS, snapshots);
+    }
+
+    private static long round(Path directory) throws Exception {
+        Map<AccountNumber, Long> expected;
+        long snapshots = 0;
+        // durable saves wait for an fsync, which widens any gap between journaling a write and applying it
+        try (JournalAccountRepository repository = JournalAccountRepository.openDurable(directory,
+                JournalAccountRepository.DEFAULT_SEGMENT_SIZE, 64, Duration.ofMillis(1))) {
+            DefaultAccountService service = new DefaultAccountService(repository, new SequenceGenerator(),
+                    BenchmarkFixtures.USD);
+            AtomicBoolean running = new AtomicBoolean(true);
+            List<Thread> writers = new ArrayList<>();
+            for (int i = 0; i < WRITERS; i++) {
+                writers.add(Thread.ofPlatform().start(() -> write(service, repository, running)));
+            }
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ROUND_MILLIS);
+            while (System.nanoTime() < deadline) {
+                repository.snapshot();
+                snapshots++;
+            }
+            running.set(false);
+            for (Thread writer : writers) {
+                writer.join();
+            }
+            expected = balances(repository);
+        }
+        try (JournalAccountRepository recovered = JournalAccountRepository.open(directory)) {
+            Map<AccountNumber, Long> actual = balances(recovered);
+            if (!actual.equals(expected)) {
+                throw new AssertionError(describe(expected, actual));
+            }
+        }
+        return snapshots;
+    }
+
+    private static void write(DefaultAccountService service, JournalAccountRepository repository, AtomicBoolean running) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<AccountNumber> own = new ArrayList<>();
+        Money amount = Money.ofMinor(100, BenchmarkFixtures.USD);
+        while (running.get()) {
+            Account account = service.createAccount(CreateAccountCommand.of("Snapshot Check", 10.00,
+                    BenchmarkFixtures.USD.getCurrencyCode(), "CHECKING"));
+            own.add(account.getAccountNumber());
+            service.deposit(own.get(random.nextInt(own.size())), amount);
+            if (random.nextInt(3) == 0) {
+                repository.delete(own.remove(random.nextInt(own.size())));
+            }
+        }
+    }
+
+    private static Map<AccountNumber, Long> balances(JournalAccountRepository repository) {
+        Map<AccountNumber, Long> balances = new TreeMap<>();
+        repository.stream().forEach(account ->
+                balances.put(account.getAccountNumber(), account.getBalance().getMinorUnits()));
+        return balances;
+    }
+
+    private static String describe(Map<AccountNumber, Long> expected, Map<AccountNumber, Long> actual) {
+        List<String> differences = new ArrayList<>();
+        for (Map.Entry<AccountNumber, Long> entry : expected.entrySet()) {
+            Long recovered = actual.get(entry.getKey());
+            if (!entry.getValue().equals(recovered)) {
+                differences.add(entry.getKey() + " expected " + entry.getValue() + " recovered " + recovered);
+            }
+        }
+        for (AccountNumber accountNumber : actual.keySet()) {
+            if (!expected.containsKey(accountNumber)) {
+                differences.add(accountNumber + " was deleted but recovered");
+            }
+        }
+        return "Recovered state differs in " + differences.size() + " accounts, e.g. "
+                + differences.subList(0, Math.min(5, differences.size()));
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package bank.benchmarks;
+
+import bank.application.commands.CreateAccountCommand;
+import bank.application.commands.TransferFundsCommand;
+import bank.application.services.DefaultAccountService;
+import bank.application.statistics.BankStatistics;
+import bank.domain.entities.Account;
+import bank.domain.entities.AccountType;
+import bank.domain.valueobjects.AccountNumber;
+import bank.domain.valueobjects.Money;
+import bank.infrastructure.concurrency.StripedLockTable;
+import bank.infrastructure.messaging.RingBufferEventOutbox;
+import bank.infrastructure.persistence.InMemoryAccountRepository;
+import bank.infrastructure.services.SequenceGenerator;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// The event-maintained statistics must agree with a full scan of the book once the outbox has drained:
+// account counts by type, and per currency the count, total, minimum and maximum balance. Writers open,
+// deposit into, withdraw from, transfer between and close accounts concurrently. Not a JMH benchmark;
+// exits non-zero on failure:
+//     ant bench-checks
+public final class StatisticsConsistencyCheck {
+    private static final int WRITERS = 4;
+    private static final long RUN_MILLIS = 1_000;
+
+    private StatisticsConsistencyCheck() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        InMemoryAccountRepository repository = new InMemoryAccountRepository();
+        BankStatistics statistics = new BankStatistics();
+        RingBufferEventOutbox outbox = new RingBufferEventOutbox(4096);
+        outbox.subscribe("statistics", statistics);
+        outbox.start();
+        DefaultAccountService service = new DefaultAccountService(repository, new SequenceGenerator(),
+                BenchmarkFixtures.USD, new StripedLockTable(), outbox);
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Thread> writers = new ArrayList<>();
+        for (int i = 0; i < WRITERS; i++) {
+            writers.add(Thread.ofPlatform().start(() -> write(service, running)));
+        }
+        Thread.sleep(RUN_MILLIS);
+        running.set(false);
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        outbox.close();
+        if (outbox.getSubscriberFailures() != 0) {
+            throw new AssertionError("statistics subscriber failed " + outbox.getSubscriberFailures() + " times");
+        }
+
+        BankStatistics.Snapshot snapshot = statistics.snapshot();
+        Map<AccountType, Long> byType = new EnumMap<>(AccountType.class);
+        for (AccountType type : AccountType.values()) {
+            byType.put(type, 0L);
+        }
+        long total = 0;
+        long minimum = Long.MAX_VALUE;
+        long maximum = Long.MIN_VALUE;
+        for (Account account : repository.findAll()) {
+            byType.merge(account.getAccountType(), 1L, Long::sum);
+            long balance = account.getBalance().getMinorUnits();
+            total += balance;
+            minimum = Math.min(minimum, balance);
+            maximum = Math.max(maximum, balance);
+        }
+        check(snapshot.accountsByType().equals(byType), "accounts by type " + snapshot.accountsByType() + ", scan " + byType);
+        BankStatistics.CurrencySnapshot usd = snapshot.currencies().get(BenchmarkFixtures.USD);
+        long count = repository.count();
+        check(usd.accounts() == count, "accounts " + usd.accounts() + ", scan " + count);
+        check(usd.totalBalance().getMinorUnits() == total, "total " + usd.totalBalance() + ", scan " + total);
+        if (count > 0) {
+            check(usd.minimumBalance().getMinorUnits() == minimum, "minimum " + usd.minimumBalance() + ", scan " + minimum);
+            check(usd.maximumBalance().getMinorUnits() == maximum, "maximum " + usd.maximumBalance() + ", scan " + maximum);
+        }
+        System.out.printf("StatisticsConsistencyCheck passed: %d accounts, %d events%n", count, outbox.getPublishedCount());
+    }
+
+    private static void write(DefaultAccountService service, AtomicBoolean running) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<AccountNumber> own = new ArrayList<>();
+        while (running.get()) {
+            int operation = random.nextInt(10);
+            if (own.size() < 2 || operation == 0) {
+                String type = random.nextBoolean() ? "CHECKING" : "SAVINGS";
+                own.add(service.createAccount(CreateAccountCommand.of("Statistics Check", 100.00,
+                        BenchmarkFixtures.USD.getCurrencyCode(), type)).getAccountNumber());
+                continue;
+            }
+            AccountNumber account = own.get(random.nextInt(own.size()));
+            Money amount = Money.ofMinor(1 + random.nextInt(5_000), BenchmarkFixtures.USD);
+            try {
+                switch (operation) {
+                    case 1, 2, 3 -> service.deposit(account, amount);
+                    case 4, 5 -> service.withdraw(account, amount);
+                    case 6, 7, 8 -> service.transferFunds(new TransferFundsCommand(account,
+                            own.get(random.nextInt(own.size())), amount, null));
+                    default -> {
+                        // empty the account and close it; another writer's deposit may land in between
+                        Money balance = service.findAccount(account).orElseThrow().getBalance();
+                        if (balance.isPositive()) {
+                            service.withdraw(account, balance);
+                        }
+                        if (service.closeAccount(account)) {
+                            own.remove(account);
+                        }
+                    }
+                }
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                // a refused operation: same-account transfer, overdrawn, or not empty at close
+            }
+        }
+    }
+
+    private static void check(boolean condition, String failure) {
+        if (!condition) {
+            throw new AssertionError(failure);
+        }
+    }
+}
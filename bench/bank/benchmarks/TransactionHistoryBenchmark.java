@@ -0,0 +1,86 @@
+package bank.benchmarks;
+
+import bank.application.history.TransactionHistory;
+import bank.domain.events.FundsDepositedEvent;
+import bank.domain.valueobjects.AccountNumber;
+import bank.domain.valueobjects.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Statement queries against a history of movementsPerAccount deposits on each account: the latest 50,
+// and the first 50 of an open time range, which binary searches from the oldest chunk. record appends
+// one more deposit.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class TransactionHistoryBenchmark {
+    private static final int STATEMENT_SIZE = 50;
+
+    @Param({"100000"})
+    public int accounts;
+
+    @Param({"10", "1000"})
+    public int movementsPerAccount;
+
+    private TransactionHistory history;
+    private AccountNumber[] numbers;
+    private Money amount;
+    private SplittableRandom random;
+    private long[] balances;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        history = new TransactionHistory();
+        numbers = new AccountNumber[accounts];
+        balances = new long[accounts];
+        amount = Money.of(1.00, BenchmarkFixtures.USD);
+        for (int i = 0; i < accounts; i++) {
+            numbers[i] = AccountNumber.checking(i + 1);
+        }
+        for (int movement = 0; movement < movementsPerAccount; movement++) {
+            for (int i = 0; i < accounts; i++) {
+                deposit(i);
+            }
+        }
+        random = new SplittableRandom(42);
+    }
+
+    @Benchmark
+    public List<TransactionHistory.Movement> latest() {
+        return history.latest(numbers[random.nextInt(accounts)], STATEMENT_SIZE);
+    }
+
+    @Benchmark
+    public List<TransactionHistory.Movement> range() {
+        return history.between(numbers[random.nextInt(accounts)], 0L, Long.MAX_VALUE, STATEMENT_SIZE);
+    }
+
+    @Benchmark
+    public void record() {
+        deposit(random.nextInt(accounts));
+    }
+
+    private void deposit(int i) {
+        long before = balances[i];
+        balances[i] += amount.getMinorUnits();
+        history.onEvent(new FundsDepositedEvent(numbers[i], amount,
+                Money.ofMinor(before, BenchmarkFixtures.USD), Money.ofMinor(balances[i], BenchmarkFixtures.USD)), true);
+    }
+}
@@ -0,0 +1,95 @@
+package bank.benchmarks;
+
+import bank.application.commands.TransferFundsCommand;
+import bank.application.services.DefaultAccountService;
+import bank.domain.valueobjects.AccountNumber;
+import bank.domain.valueobjects.Money;
+import bank.infrastructure.persistence.InMemoryAccountRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Thread sweep: @Threads cannot be a @Param, so each count is its own method. Read the scores across
+// 1, 2, 4, 8 and 16 threads and all cores; throughput that stops rising before the core count does
+// points at contention in the locks or the repository rather than at the transfer path itself.
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransferBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Bank {
+        @Param({"1000"})
+        public int accounts;
+
+        DefaultAccountService service;
+        AccountNumber[] numbers;
+        Money amount;
+
+        // Transfers are random and symmetric, so balances random-walk around the large opening deposit
+        @Setup(Level.Trial)
+        public void setUp() {
+            service = BenchmarkFixtures.service(new InMemoryAccountRepository());
+            numbers = BenchmarkFixtures.openAccounts(service, accounts, 1_000_000.00);
+            amount = Money.of(1.00, BenchmarkFixtures.USD);
+        }
+
+        TransferFundsCommand randomTransfer() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int source = random.nextInt(numbers.length);
+            int destination = (source + 1 + random.nextInt(numbers.length - 1)) % numbers.length;
+            return new TransferFundsCommand(numbers[source], numbers[destination], amount, "bench");
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void transferSingleThread(Bank bank) {
+        bank.service.transferFunds(bank.randomTransfer());
+    }
+
+    @Benchmark
+    @Threads(2)
+    public void transferTwoThreads(Bank bank) {
+        bank.service.transferFunds(bank.randomTransfer());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void transferFourThreads(Bank bank) {
+        bank.service.transferFunds(bank.randomTransfer());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void transferEightThreads(Bank bank) {
+        bank.service.transferFunds(bank.randomTransfer());
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void transferSixteenThreads(Bank bank) {
+        bank.service.transferFunds(bank.randomTransfer());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void transferAllThreads(Bank bank) {
+        bank.service.transferFunds(bank.randomTransfer());
+    }
+}
@@ -0,0 +1,162 @@
+package bank.benchmarks;
+
+import bank.application.commands.TransferFundsCommand;
+import bank.application.services.AccountService;
+import bank.application.services.OptimisticAccountService;
+import bank.application.services.ShardedAccountService;
+import bank.domain.valueobjects.AccountNumber;
+import bank.domain.valueobjects.Money;
+import bank.infrastructure.persistence.AccountRepository;
+import bank.infrastructure.persistence.InMemoryAccountRepository;
+import bank.infrastructure.services.SequenceGenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+// Concurrent transfers between a few hot accounts must neither create nor destroy money, and must not
+// deadlock when two threads move money in opposite directions between the same pair. Each service runs
+// writer threads mixing single transfers and small batches, then the book's total is compared with the
+// opening total. The sharded service is also closed while writers are still running: transfers it
+// already accepted must settle, and later ones must be refused rather than hang. Not a JMH benchmark;
+// exits non-zero on failure:
+//     ant bench-checks
+public final class TransferConservationCheck {
+    private static final int ACCOUNTS = 16;
+    private static final int WRITERS = 8;
+    private static final int BATCH_SIZE = 8;
+    private static final long RUN_MILLIS = 1_000;
+    private static final long STALL_MILLIS = 30_000;
+    private static final int CLOSE_ROUNDS = 100;
+    private static final long CLOSE_AFTER_MILLIS = 20;
+    private static final long CLOSE_STALL_MILLIS = 5_000;
+
+    private TransferConservationCheck() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        check("default", BenchmarkFixtures::service);
+        check("sharded", repository -> new ShardedAccountService(repository, new SequenceGenerator(), BenchmarkFixtures.USD, 4));
+        check("optimistic", repository -> new OptimisticAccountService(repository, new SequenceGenerator(), BenchmarkFixtures.USD));
+        for (int round = 0; round < CLOSE_ROUNDS; round++) {
+            checkCloseUnderLoad();
+        }
+        System.out.println("TransferConservationCheck passed");
+    }
+
+    private static void check(String name, Function<AccountRepository, AccountService> factory) throws Exception {
+        AccountRepository repository = new InMemoryAccountRepository();
+        AccountService service = factory.apply(repository);
+        try {
+            AccountNumber[] numbers = BenchmarkFixtures.openAccounts(service, ACCOUNTS, 1_000.00);
+            long opening = total(repository);
+            AtomicBoolean running = new AtomicBoolean(true);
+            LongAdder transfers = new LongAdder();
+            List<Thread> writers = new ArrayList<>();
+            for (int i = 0; i < WRITERS; i++) {
+                writers.add(Thread.ofPlatform().start(() -> transfer(service, numbers, running, transfers)));
+            }
+            Thread.sleep(RUN_MILLIS);
+            running.set(false);
+            for (Thread writer : writers) {
+                writer.join(STALL_MILLIS);
+                if (writer.isAlive()) {
+                    throw new AssertionError(name + ": writer stalled, likely a lock-order deadlock");
+                }
+            }
+            long closing = total(repository);
+            if (closing != opening) {
+                throw new AssertionError(name + ": total moved from " + opening + " to " + closing
+                        + " after " + transfers.sum() + " transfers");
+            }
+            if (transfers.sum() == 0) {
+                throw new AssertionError(name + ": no transfer ran");
+            }
+            System.out.printf("%s: %d transfers, total conserved%n", name, transfers.sum());
+        } finally {
+            if (service instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static void checkCloseUnderLoad() throws Exception {
+        AccountRepository repository = new InMemoryAccountRepository();
+        ShardedAccountService service = new ShardedAccountService(repository, new SequenceGenerator(), BenchmarkFixtures.USD, 4);
+        AccountNumber[] numbers = BenchmarkFixtures.openAccounts(service, ACCOUNTS, 1_000.00);
+        long opening = total(repository);
+        AtomicBoolean stopping = new AtomicBoolean();
+        List<Thread> writers = new ArrayList<>();
+        for (int i = 0; i < WRITERS; i++) {
+            // daemons, so a writer stuck on a lost transfer cannot keep a failed check running
+            writers.add(Thread.ofPlatform().daemon().start(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (true) {
+                    try {
+                        if (random.nextBoolean()) {
+                            service.transferFunds(command(numbers, random));
+                        } else {
+                            service.transferFunds(List.of(command(numbers, random), command(numbers, random)));
+                        }
+                    } catch (IllegalStateException e) {
+                        // a refusal, or the service closed under this writer
+                        if (stopping.get()) {
+                            return;
+                        }
+                    }
+                }
+            }));
+        }
+        Thread.sleep(CLOSE_AFTER_MILLIS);
+        stopping.set(true);
+        service.close();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(CLOSE_STALL_MILLIS);
+        for (Thread writer : writers) {
+            writer.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            if (writer.isAlive()) {
+                throw new AssertionError("close: writer stalled on a transfer that never settled");
+            }
+        }
+        long closing = total(repository);
+        if (closing != opening) {
+            throw new AssertionError("close: total moved from " + opening + " to " + closing);
+        }
+    }
+
+    private static void transfer(AccountService service, AccountNumber[] numbers, AtomicBoolean running,
+                                 LongAdder transfers) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (running.get()) {
+            if (random.nextBoolean()) {
+                try {
+                    service.transferFunds(command(numbers, random));
+                } catch (IllegalStateException e) {
+                    // refused, e.g. past the overdraft limit; moves nothing
+                }
+                transfers.increment();
+            } else {
+                List<TransferFundsCommand> batch = new ArrayList<>(BATCH_SIZE);
+                for (int i = 0; i < BATCH_SIZE; i++) {
+                    batch.add(command(numbers, random));
+                }
+                service.transferFunds(batch);
+                transfers.add(BATCH_SIZE);
+            }
+        }
+    }
+
+    private static TransferFundsCommand command(AccountNumber[] numbers, ThreadLocalRandom random) {
+        int source = random.nextInt(numbers.length);
+        int destination = (source + 1 + random.nextInt(numbers.length - 1)) % numbers.length;
+        Money amount = Money.ofMinor(1 + random.nextInt(50_000), BenchmarkFixtures.USD);
+        return new TransferFundsCommand(numbers[source], numbers[destination], amount, null);
+    }
+
+    private static long total(AccountRepository repository) {
+        return repository.stream().mapToLong(account -> account.getBalance().getMinorUnits()).sum();
+    }
+}
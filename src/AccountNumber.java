@@ -1,44 +1,142 @@
 package bank.domain.valueobjects;
 
-import java.util.Objects;
-import java.util.regex.Pattern;
+// Packed into one long, with CHK = 0 and SAV = 1. Sequences below 1,000,000 keep the original packing,
+// the type prefix times 1,000,000 plus the sequence, so numbers already stored in journals, mapped books
+// and client requests stay valid. Wider sequences, up to 12 digits, pack above that range as
+// WIDE_BASE + prefix * 10^12 + sequence. Within a type numeric order follows the sequence. The text
+// form is the prefix and the sequence padded to at least six digits, built only when asked for, and
+// hashing or comparing never touches a String.
+public final class AccountNumber implements Comparable<AccountNumber> {
+    private static final int MIN_SEQUENCE_DIGITS = 6;
+    private static final int MAX_SEQUENCE_DIGITS = 12;
+    private static final long NARROW_LIMIT = 1_000_000L;
+    private static final long SEQUENCE_LIMIT = 1_000_000_000_000L;
+    private static final long WIDE_BASE = 2 * NARROW_LIMIT;
+    private static final long CHECKING = 0L;
+    private static final long SAVINGS = 1L;
 
-public final class AccountNumber {
-    private static final Pattern PATTERN = Pattern.compile("^(SAV|CHK)\\d{6}$");
-    private final String value;
+    public static final long MAX_SEQUENCE = SEQUENCE_LIMIT - 1;
 
-    private AccountNumber(String value) {
-        if (!PATTERN.matcher(value).matches()) {
-            throw new IllegalArgumentException("Invalid account number format: " + value);
-        }
-        this.value = value;
+    private final long packed;
+    private final int hash;
+
+    private AccountNumber(long packed) {
+        this.packed = packed;
+        this.hash = mix(packed);
     }
 
+    // Hand-written parser for the "(SAV|CHK)d{6,12}" format. Only the canonical text form is accepted:
+    // a sequence longer than six digits cannot start with a zero, so every number has one spelling.
     public static AccountNumber of(String value) {
-        return new AccountNumber(value);
+        if (value == null || value.length() < 3 + MIN_SEQUENCE_DIGITS || value.length() > 3 + MAX_SEQUENCE_DIGITS) {
+            throw invalid(value);
+        }
+        if (value.length() > 3 + MIN_SEQUENCE_DIGITS && value.charAt(3) == '0') {
+            throw invalid(value);
+        }
+        long prefix;
+        if (value.startsWith("SAV")) {
+            prefix = SAVINGS;
+        } else if (value.startsWith("CHK")) {
+            prefix = CHECKING;
+        } else {
+            throw invalid(value);
+        }
+        long sequence = 0;
+        for (int i = 3; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                throw invalid(value);
+            }
+            sequence = sequence * 10 + (c - '0');
+        }
+        return new AccountNumber(pack(prefix, sequence));
     }
 
-    public static AccountNumber savings(int sequence) {
-        return new AccountNumber(String.format("SAV%06d", sequence));
+    public static AccountNumber savings(long sequence) {
+        return new AccountNumber(pack(SAVINGS, checkSequence(sequence)));
     }
 
-    public static AccountNumber checking(int sequence) {
-        return new AccountNumber(String.format("CHK%06d", sequence));
+    public static AccountNumber checking(long sequence) {
+        return new AccountNumber(pack(CHECKING, checkSequence(sequence)));
     }
 
-    public String getValue() { return value; }
+    public static AccountNumber fromLong(long packed) {
+        boolean narrow = packed >= 0 && packed < WIDE_BASE;
+        boolean wide = packed >= WIDE_BASE && packed < WIDE_BASE + (SAVINGS + 1) * SEQUENCE_LIMIT
+                && (packed - WIDE_BASE) % SEQUENCE_LIMIT >= NARROW_LIMIT;
+        if (!narrow && !wide) {
+            throw new IllegalArgumentException("Invalid packed account number: " + packed);
+        }
+        return new AccountNumber(packed);
+    }
+
+    public long toLong() { return packed; }
+    public boolean isSavings() { return prefix() == SAVINGS; }
+
+    public long getSequence() {
+        return packed < WIDE_BASE ? packed % NARROW_LIMIT : (packed - WIDE_BASE) % SEQUENCE_LIMIT;
+    }
+
+    public String getValue() {
+        long sequence = getSequence();
+        int digits = MIN_SEQUENCE_DIGITS;
+        for (long bound = NARROW_LIMIT; digits < MAX_SEQUENCE_DIGITS && sequence >= bound; bound *= 10) {
+            digits++;
+        }
+        char[] text = new char[3 + digits];
+        String prefix = isSavings() ? "SAV" : "CHK";
+        prefix.getChars(0, 3, text, 0);
+        for (int i = text.length - 1; i >= 3; i--) {
+            text[i] = (char) ('0' + sequence % 10);
+            sequence /= 10;
+        }
+        return new String(text);
+    }
+
+    @Override
+    public int compareTo(AccountNumber other) {
+        return Long.compare(packed, other.packed);
+    }
 
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof AccountNumber)) return false;
         AccountNumber that = (AccountNumber) o;
-        return Objects.equals(value, that.value);
+        return packed == that.packed;
     }
 
     @Override
-    public int hashCode() { return Objects.hash(value); }
+    public int hashCode() { return hash; }
 
     @Override
-    public String toString() { return value; }
-}
\ No newline at end of file
+    public String toString() { return getValue(); }
+
+    // Sequential numbers differ only in low bits; spread them so striped and hashed tables see all bits
+    static int mix(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static long pack(long prefix, long sequence) {
+        return sequence < NARROW_LIMIT
+                ? prefix * NARROW_LIMIT + sequence
+                : WIDE_BASE + prefix * SEQUENCE_LIMIT + sequence;
+    }
+
+    private long prefix() {
+        return packed < WIDE_BASE ? packed / NARROW_LIMIT : (packed - WIDE_BASE) / SEQUENCE_LIMIT;
+    }
+
+    private static long checkSequence(long sequence) {
+        if (sequence < 0 || sequence > MAX_SEQUENCE) {
+            throw new IllegalArgumentException("Account sequence out of range: " + sequence);
+        }
+        return sequence;
+    }
+
+    private static IllegalArgumentException invalid(String value) {
+        return new IllegalArgumentException("Invalid account number format: " + value);
+    }
+}
@@ -0,0 +1,18 @@
+package bank.application.commands;
+
+import bank.domain.valueobjects.AccountNumber;
+import bank.domain.valueobjects.Money;
+
+public record WithdrawFundsCommand(
+    AccountNumber accountNumber,
+    Money amount
+) {
+    public WithdrawFundsCommand {
+        if (accountNumber == null) {
+            throw new IllegalArgumentException("Account number is required");
+        }
+        if (amount == null || !amount.isPositive()) {
+            throw new IllegalArgumentException("Withdrawal amount must be positive");
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package bank.application.history;
+
+import bank.domain.entities.Account;
+import bank.domain.events.DomainEvent;
+import bank.domain.events.FundsDepositedEvent;
+import bank.domain.events.FundsWithdrawnEvent;
+import bank.domain.valueobjects.AccountNumber;
+import bank.domain.valueobjects.Money;
+import bank.infrastructure.concurrency.LongObjectHashMap;
+import bank.infrastructure.messaging.EventSubscriber;
+import bank.infrastructure.persistence.JournalAccountRepository;
+import bank.infrastructure.persistence.JournalCodec;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+// Per-account history of balance movements, built from domain events on the outbox thread.
+//
+// Each account keeps its movements in time order in columnar chunks: an int millisecond offset from the
+// chunk's base time, the signed amount and the balance after it in minor units, and the packed
+// counterparty account, 28 bytes per movement. A chunk grows from a few entries up to CHUNK_CAPACITY,
+// so quiet accounts stay small, and a full chunk is never touched again. Chunks are ordered by time, so a
+// range query binary searches the chunks and then the offsets, and the latest N walk back from the end.
+//
+// The services name the other account on both sides of a transfer, so each movement arrives with its
+// counterparty and nothing is matched after the fact. Updates assume the single outbox writer; readers
+// lock the account's history. A history created empty knows nothing before its subscriber started;
+// rebuild fills one from a journal first.
+public class TransactionHistory implements EventSubscriber {
+    private static final int FIRST_CHUNK_CAPACITY = 4;
+    private static final int CHUNK_CAPACITY = 256;
+    private static final long NO_COUNTERPARTY = -1L;
+
+    private final LongObjectHashMap<AccountHistory> accounts;
+    private final LongAdder movements;
+
+    public TransactionHistory() {
+        this.accounts = new LongObjectHashMap<>();
+        this.movements = new LongAdder();
+    }
+
+    // Every movement in the journal, oldest first; subscribe the result before the service starts
+    public static TransactionHistory rebuild(JournalAccountRepository repository) {
+        TransactionHistory history = new TransactionHistory();
+        repository.replay(history.new Rebuilder());
+        return history;
+    }
+
+    @Override
+    public void onEvent(DomainEvent event, boolean endOfBatch) {
+        if (event instanceof FundsDepositedEvent deposited) {
+            record(deposited.getAccountNumber(), deposited.getAmount().getCurrency(), deposited.getOccurredAtMillis(),
+                    deposited.getAmount().getMinorUnits(), deposited.getNewBalance().getMinorUnits(),
+                    deposited.getCounterparty());
+        } else if (event instanceof FundsWithdrawnEvent withdrawn) {
+            record(withdrawn.getAccountNumber(), withdrawn.getAmount().getCurrency(), withdrawn.getOccurredAtMillis(),
+                    -withdrawn.getAmount().getMinorUnits(), withdrawn.getNewBalance().getMinorUnits(),
+                    withdrawn.getCounterparty());
+        }
+    }
+
+    // Newest first
+    public List<Movement> latest(AccountNumber accountNumber, int limit) {
+        checkLimit(limit);
+        AccountHistory history = accounts.get(accountNumber.toLong());
+        return history == null ? List.of() : history.latest(limit);
+    }
+
+    // Movements at or after fromMillis and before toMillis, oldest first, at most limit of them
+    public List<Movement> between(AccountNumber accountNumber, long fromMillis, long toMillis, int limit) {
+        checkLimit(limit);
+        if (fromMillis > toMillis) {
+            throw new IllegalArgumentException("Range start is after its end");
+        }
+        AccountHistory history = accounts.get(accountNumber.toLong());
+        return history == null ? List.of() : history.between(fromMillis, toMillis, limit);
+    }
+
+    public long movementCount() {
+        return movements.sum();
+    }
+
+    private void record(AccountNumber accountNumber, Currency currency, long occurredAtMillis, long amount,
+                        long balanceAfter, AccountNumber counterparty) {
+        AccountHistory history = accounts.get(accountNumber.toLong());
+        if (history == null) {
+            history = new AccountHistory(currency);
+            accounts.put(accountNumber.toLong(), history);
+        }
+        history.append(occurredAtMillis, amount, balanceAfter, counterparty == null ? NO_COUNTERPARTY : counterparty.toLong());
+        movements.increment();
+    }
+
+    private static void checkLimit(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+    }
+
+    public enum Kind { DEPOSIT, WITHDRAWAL, TRANSFER_IN, TRANSFER_OUT }
+
+    public record Movement(long occurredAtMillis, Kind kind, Money amount, Money balanceAfter, AccountNumber counterparty) {
+    }
+
+    private static final class Chunk {
+        private final long baseMillis;
+        private int[] offsets;
+        private long[] amounts;
+        private long[] balances;
+        private long[] counterparties;
+        private int size;
+
+        private Chunk(long baseMillis, int capacity) {
+            this.baseMillis = baseMillis;
+            this.offsets = new int[capacity];
+            this.amounts = new long[capacity];
+            this.balances = new long[capacity];
+            this.counterparties = new long[capacity];
+        }
+
+        private long millisAt(int i) {
+            return baseMillis + offsets[i];
+        }
+
+        private boolean accepts(long millis) {
+            return size < CHUNK_CAPACITY && millis - baseMillis <= Integer.MAX_VALUE;
+        }
+
+        private void grow() {
+            int capacity = Math.min(CHUNK_CAPACITY, offsets.length * 2);
+            offsets = Arrays.copyOf(offsets, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+            balances = Arrays.copyOf(balances, capacity);
+            counterparties = Arrays.copyOf(counterparties, capacity);
+        }
+
+        // First index whose time is at or after millis, or size
+        private int firstAtOrAfter(long millis) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (millisAt(middle) < millis) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+
+    // Guarded by its own monitor; only the outbox thread appends
+    private static final class AccountHistory {
+        private final Currency currency;
+        private final List<Chunk> chunks = new ArrayList<>(1);
+        private long lastMillis = Long.MIN_VALUE;
+
+        private AccountHistory(Currency currency) {
+            this.currency = currency;
+        }
+
+        private synchronized void append(long occurredAtMillis, long amount, long balanceAfter, long counterparty) {
+            // a clock step backwards must not break the time order the queries rely on
+            long millis = Math.max(occurredAtMillis, lastMillis);
+            Chunk chunk = chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+            if (chunk == null || !chunk.accepts(millis)) {
+                chunk = new Chunk(millis, FIRST_CHUNK_CAPACITY);
+                chunks.add(chunk);
+            } else if (chunk.size == chunk.offsets.length) {
+                chunk.grow();
+            }
+            int i = chunk.size++;
+            chunk.offsets[i] = (int) (millis - chunk.baseMillis);
+            chunk.amounts[i] = amount;
+            chunk.balances[i] = balanceAfter;
+            chunk.counterparties[i] = counterparty;
+            lastMillis = millis;
+        }
+
+        private synchronized List<Movement> latest(int limit) {
+            List<Movement> movements = new ArrayList<>(Math.min(limit, 64));
+            for (int c = chunks.size() - 1; c >= 0 && movements.size() < limit; c--) {
+                Chunk chunk = chunks.get(c);
+                for (int i = chunk.size - 1; i >= 0 && movements.size() < limit; i--) {
+                    movements.add(movement(chunk, i));
+                }
+            }
+            return movements;
+        }
+
+        private synchronized List<Movement> between(long fromMillis, long toMillis, int limit) {
+            List<Movement> movements = new ArrayList<>(Math.min(limit, 64));
+            // last chunk starting before fromMillis; earlier ones end before it
+            int low = 0;
+            int high = chunks.size() - 1;
+            int first = 0;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (chunks.get(middle).baseMillis < fromMillis) {
+                    first = middle;
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            for (int c = first; c < chunks.size() && movements.size() < limit; c++) {
+                Chunk chunk = chunks.get(c);
+                for (int i = c == first ? chunk.firstAtOrAfter(fromMillis) : 0; i < chunk.size; i++) {
+                    if (chunk.millisAt(i) >= toMillis) {
+                        return movements;
+                    }
+                    movements.add(movement(chunk, i));
+                    if (movements.size() == limit) {
+                        break;
+                    }
+                }
+            }
+            return movements;
+        }
+
+        private Movement movement(Chunk chunk, int i) {
+            long amount = chunk.amounts[i];
+            long counterparty = chunk.counterparties[i];
+            Kind kind = counterparty == NO_COUNTERPARTY
+                    ? (amount > 0 ? Kind.DEPOSIT : Kind.WITHDRAWAL)
+                    : (amount > 0 ? Kind.TRANSFER_IN : Kind.TRANSFER_OUT);
+            return new Movement(chunk.millisAt(i), kind, Money.ofMinor(Math.abs(amount), currency),
+                    Money.ofMinor(chunk.balances[i], currency),
+                    counterparty == NO_COUNTERPARTY ? null : AccountNumber.fromLong(counterparty));
+        }
+    }
+
+    // Accounts' currencies come from their opening entries, which precede any movement in the journal
+    private final class Rebuilder implements JournalCodec.Visitor {
+        private final LongObjectHashMap<Currency> currencies = new LongObjectHashMap<>();
+
+        @Override
+        public void accountOpened(long timestamp, Account account) {
+            currencies.put(account.getAccountNumber().toLong(), account.getBalance().getCurrency());
+        }
+
+        @Override
+        public void fundsDeposited(long timestamp, AccountNumber accountNumber, long amount, long newBalance) {
+            fundsDeposited(timestamp, accountNumber, amount, newBalance, null);
+        }
+
+        @Override
+        public void fundsDeposited(long timestamp, AccountNumber accountNumber, long amount, long newBalance,
+                                   AccountNumber source) {
+            replayed(accountNumber, timestamp, amount, newBalance, source);
+        }
+
+        @Override
+        public void fundsWithdrawn(long timestamp, AccountNumber accountNumber, long amount, long newBalance) {
+            fundsWithdrawn(timestamp, accountNumber, amount, newBalance, null);
+        }
+
+        @Override
+        public void fundsWithdrawn(long timestamp, AccountNumber accountNumber, long amount, long newBalance,
+                                   AccountNumber destination) {
+            replayed(accountNumber, timestamp, -amount, newBalance, destination);
+        }
+
+        private void replayed(AccountNumber accountNumber, long timestamp, long amount, long newBalance,
+                              AccountNumber counterparty) {
+            Currency currency = currencies.get(accountNumber.toLong());
+            if (currency != null) {
+                record(accountNumber, currency, timestamp, amount, newBalance, counterparty);
+            }
+        }
+    }
+}
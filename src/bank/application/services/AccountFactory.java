@@ -0,0 +1,58 @@
+package bank.application.services;
+
+import bank.application.commands.CreateAccountCommand;
+import bank.domain.entities.Account;
+import bank.domain.entities.AccountType;
+import bank.domain.entities.CheckingAccount;
+import bank.domain.entities.SavingsAccount;
+import bank.domain.products.ProductCatalog;
+import bank.domain.valueobjects.AccountNumber;
+import bank.infrastructure.services.SequenceGenerator;
+
+import java.util.Currency;
+
+// Numbers and builds new accounts on the catalog's standard products, for every service implementation
+final class AccountFactory {
+    private final SequenceGenerator sequenceGenerator;
+    private final Currency defaultCurrency;
+    private final ProductCatalog productCatalog;
+
+    AccountFactory(SequenceGenerator sequenceGenerator, Currency defaultCurrency) {
+        this.sequenceGenerator = sequenceGenerator;
+        this.defaultCurrency = defaultCurrency;
+        this.productCatalog = ProductCatalog.global();
+    }
+
+    Account open(CreateAccountCommand command) {
+        AccountType type = accountType(command.accountType());
+        return buildAccount(type, sequenceGenerator.nextAccountNumber(type), command);
+    }
+
+    // Compared in place, so no upper-cased copy is made per account
+    private static AccountType accountType(String accountType) {
+        if ("SAVINGS".equalsIgnoreCase(accountType)) {
+            return AccountType.SAVINGS;
+        }
+        if ("CHECKING".equalsIgnoreCase(accountType)) {
+            return AccountType.CHECKING;
+        }
+        throw new IllegalArgumentException("Unknown account type: " + accountType);
+    }
+
+    private Account buildAccount(AccountType type, AccountNumber accountNumber, CreateAccountCommand command) {
+        return switch (type) {
+            case SAVINGS -> new SavingsAccount(
+                accountNumber,
+                command.accountHolderName(),
+                command.initialDeposit(),
+                productCatalog.standard(AccountType.SAVINGS, defaultCurrency)
+            );
+            case CHECKING -> new CheckingAccount(
+                accountNumber,
+                command.accountHolderName(),
+                command.initialDeposit(),
+                productCatalog.standard(AccountType.CHECKING, defaultCurrency)
+            );
+        };
+    }
+}
@@ -2,18 +2,35 @@ package bank.application.services;
 
 import bank.application.commands.CreateAccountCommand;
 import bank.application.commands.TransferFundsCommand;
+import bank.application.commands.WithdrawFundsCommand;
 import bank.domain.entities.Account;
 import bank.domain.results.OperationResult;
 import bank.domain.valueobjects.AccountNumber;
 import bank.domain.valueobjects.Money;
+import bank.infrastructure.persistence.AccountPage;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface AccountService {
     Account createAccount(CreateAccountCommand command);
     Optional<Account> findAccount(AccountNumber accountNumber);
+    AccountPage listAccounts(AccountNumber after, int pageSize);
+    // Case-insensitive holder name lookups, at most limit accounts in name then number order
+    List<Account> findAccountsByHolderName(String holderName, int limit);
+    List<Account> findAccountsByHolderNamePrefix(String prefix, int limit);
     OperationResult deposit(AccountNumber accountNumber, Money amount);
     OperationResult withdraw(AccountNumber accountNumber, Money amount);
+    OperationResult[] withdraw(List<WithdrawFundsCommand> commands);
     void transferFunds(TransferFundsCommand command);
-    void applyInterest(AccountNumber accountNumber);
+    OperationResult[] transferFunds(List<TransferFundsCommand> commands);
+    void transferFunds(Stream<TransferFundsCommand> commands, int batchSize, Consumer<OperationResult> results);
+    // Closes an account whose balance is zero, throwing IllegalStateException otherwise; false when there
+    // is no such account
+    boolean closeAccount(AccountNumber accountNumber);
+    // The interest credited, zero when the account earns none; empty when there is no such account
+    Optional<Money> applyInterest(AccountNumber accountNumber);
+    InterestRunSummary applyInterestToAllSavings();
 }
\ No newline at end of file
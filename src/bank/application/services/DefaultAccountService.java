@@ -2,39 +2,95 @@ package bank.application.services;
 
 import bank.application.commands.CreateAccountCommand;
 import bank.application.commands.TransferFundsCommand;
+import bank.application.commands.WithdrawFundsCommand;
 import bank.domain.entities.*;
+import bank.domain.events.DomainEventPublisher;
 import bank.domain.events.FundsTransferredEvent;
+import bank.domain.events.TransferRefusedEvent;
 import bank.domain.results.OperationResult;
 import bank.domain.results.DepositSuccess;
+import bank.domain.results.TransferFailed;
+import bank.domain.results.TransferResult;
+import bank.domain.results.TransferSuccess;
+import bank.domain.results.WithdrawalResult;
 import bank.domain.results.WithdrawalSuccess;
 import bank.domain.valueobjects.AccountNumber;
 import bank.domain.valueobjects.Money;
+import bank.infrastructure.concurrency.StripedLockTable;
+import bank.infrastructure.persistence.AccountPage;
 import bank.infrastructure.persistence.AccountRepository;
 import bank.infrastructure.services.SequenceGenerator;
 
-import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Currency;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+// Writes made under stripe locks are appended and dispatched while the locks are held, so the next
+// writer of the same account sees them and events keep their per-account order; the wait for the
+// write to become durable happens after the locks are released, so one fsync never holds up writers
+// of other accounts that share the stripes.
 public class DefaultAccountService implements AccountService {
     private final AccountRepository accountRepository;
-    private final SequenceGenerator sequenceGenerator;
+    private final AccountFactory accountFactory;
     private final Currency defaultCurrency;
+    private final StripedLockTable accountLocks;
+    private final DomainEventPublisher eventPublisher;
+    private final InterestAccrualEngine interestEngine;
+    private final TransferDeduplicator transferDeduplicator;
 
     public DefaultAccountService(AccountRepository accountRepository, 
                                SequenceGenerator sequenceGenerator,
                                Currency defaultCurrency) {
+        this(accountRepository, sequenceGenerator, defaultCurrency, new StripedLockTable(), DomainEventPublisher.NONE);
+    }
+
+    public DefaultAccountService(AccountRepository accountRepository, 
+                               SequenceGenerator sequenceGenerator,
+                               Currency defaultCurrency,
+                               DomainEventPublisher eventPublisher) {
+        this(accountRepository, sequenceGenerator, defaultCurrency, new StripedLockTable(), eventPublisher);
+    }
+
+    public DefaultAccountService(AccountRepository accountRepository, 
+                               SequenceGenerator sequenceGenerator,
+                               Currency defaultCurrency,
+                               StripedLockTable accountLocks,
+                               DomainEventPublisher eventPublisher) {
+        this(accountRepository, sequenceGenerator, defaultCurrency, accountLocks, eventPublisher, TransferDeduplicator.NONE);
+    }
+
+    public DefaultAccountService(AccountRepository accountRepository, 
+                               SequenceGenerator sequenceGenerator,
+                               Currency defaultCurrency,
+                               StripedLockTable accountLocks,
+                               DomainEventPublisher eventPublisher,
+                               TransferDeduplicator transferDeduplicator) {
         this.accountRepository = accountRepository;
-        this.sequenceGenerator = sequenceGenerator;
+        this.accountFactory = new AccountFactory(sequenceGenerator, defaultCurrency);
         this.defaultCurrency = defaultCurrency;
+        this.accountLocks = accountLocks;
+        this.eventPublisher = eventPublisher;
+        this.transferDeduplicator = transferDeduplicator;
+        this.interestEngine = new InterestAccrualEngine(accountRepository, accountLocks, eventPublisher,
+                ForkJoinPool.commonPool());
     }
 
     @Override
     public Account createAccount(CreateAccountCommand command) {
-        AccountNumber accountNumber = generateAccountNumber(command.accountType());
-        Account account = buildAccount(accountNumber, command);
-        
+        Account account = accountFactory.open(command);
+
         accountRepository.save(account);
+        dispatchEvents(account);
         return account;
     }
 
@@ -43,100 +99,338 @@ public class DefaultAccountService implements AccountService {
         return accountRepository.findByNumber(accountNumber);
     }
 
+    @Override
+    public AccountPage listAccounts(AccountNumber after, int pageSize) {
+        return accountRepository.findPage(after, pageSize);
+    }
+
+    @Override
+    public List<Account> findAccountsByHolderName(String holderName, int limit) {
+        return accountRepository.findByHolderName(holderName, limit);
+    }
+
+    @Override
+    public List<Account> findAccountsByHolderNamePrefix(String prefix, int limit) {
+        return accountRepository.findByHolderNamePrefix(prefix, limit);
+    }
+
     @Override
     public OperationResult deposit(AccountNumber accountNumber, Money amount) {
-        return accountRepository.findByNumber(accountNumber)
-                .map(account -> {
-                    OperationResult result = account.deposit(amount);
-                    if (result instanceof DepositSuccess) {
-                        accountRepository.save(account);
-                    }
-                    return result;
-                })
-                .orElse(new bank.domain.results.DepositFailed("Account not found"));
+        OperationResult result;
+        AccountRepository.Commit commit = AccountRepository.Commit.DONE;
+        try (StripedLockTable.Guard _ = accountLocks.lock(accountNumber)) {
+            Account account = accountRepository.findByNumber(accountNumber).orElse(null);
+            if (account == null) {
+                return new bank.domain.results.DepositFailed("Account not found");
+            }
+            result = account.deposit(amount);
+            if (result instanceof DepositSuccess) {
+                commit = accountRepository.appendAll(List.of(account));
+                dispatchEvents(account);
+            }
+        }
+        commit.await();
+        return result;
     }
 
     @Override
     public OperationResult withdraw(AccountNumber accountNumber, Money amount) {
-        return accountRepository.findByNumber(accountNumber)
-                .map(account -> {
-                    OperationResult result = account.withdraw(amount);
-                    if (result instanceof WithdrawalSuccess) {
-                        accountRepository.save(account);
-                    }
-                    return result;
-                })
-                .orElse(new bank.domain.results.WithdrawalFailed("Account not found"));
+        OperationResult result;
+        AccountRepository.Commit commit = AccountRepository.Commit.DONE;
+        try (StripedLockTable.Guard _ = accountLocks.lock(accountNumber)) {
+            Account account = accountRepository.findByNumber(accountNumber).orElse(null);
+            if (account == null) {
+                return new bank.domain.results.WithdrawalFailed("Account not found");
+            }
+            result = account.withdraw(amount);
+            if (result instanceof WithdrawalSuccess) {
+                commit = accountRepository.appendAll(List.of(account));
+                dispatchEvents(account);
+            }
+        }
+        commit.await();
+        return result;
     }
 
+    // Authorization path: the batch's stripes are locked once, each account is looked up once and the
+    // accounts that changed are persisted with a single repository write. Commands run in submission
+    // order and failures are reported per command.
+    @Override
+    public OperationResult[] withdraw(List<WithdrawFundsCommand> commands) {
+        OperationResult[] results = new OperationResult[commands.size()];
+        Set<AccountNumber> accountNumbers = new HashSet<>();
+        for (WithdrawFundsCommand command : commands) {
+            accountNumbers.add(command.accountNumber());
+        }
+
+        Set<Account> touched = new LinkedHashSet<>();
+        AccountRepository.Commit commit = AccountRepository.Commit.DONE;
+        try (StripedLockTable.Guard _ = accountLocks.lockAll(accountNumbers)) {
+            Map<AccountNumber, Account> accounts = findAll(accountNumbers);
+            for (int i = 0; i < results.length; i++) {
+                WithdrawFundsCommand command = commands.get(i);
+                Account account = accounts.get(command.accountNumber());
+                if (account == null) {
+                    results[i] = WithdrawalResult.failed("Account not found");
+                    continue;
+                }
+                try {
+                    results[i] = account.withdraw(command.amount());
+                } catch (IllegalArgumentException e) {
+                    results[i] = WithdrawalResult.failed(e.getMessage());
+                }
+                if (results[i] instanceof WithdrawalSuccess) {
+                    touched.add(account);
+                }
+            }
+            if (!touched.isEmpty()) {
+                commit = accountRepository.appendAll(touched);
+                touched.forEach(this::dispatchEvents);
+            }
+        }
+        commit.await();
+        return results;
+    }
+
+    // A replay of a remembered command returns quietly if the original succeeded and throws its
+    // failure otherwise, without taking any lock.
     @Override
     public void transferFunds(TransferFundsCommand command) {
-        Account source = accountRepository.findByNumber(command.sourceAccountNumber())
-                .orElseThrow(() -> new IllegalArgumentException("Source account not found"));
-        
-        Account destination = accountRepository.findByNumber(command.destinationAccountNumber())
-                .orElseThrow(() -> new IllegalArgumentException("Destination account not found"));
-
-        // Atomic transfer operation
-        OperationResult withdrawal = source.withdraw(command.amount());
-        if (withdrawal instanceof WithdrawalSuccess) {
-            OperationResult deposit = destination.deposit(command.amount());
-            if (deposit instanceof DepositSuccess) {
-                accountRepository.save(source);
-                accountRepository.save(destination);
-                
-                // Record transfer event - now public method
-                source.registerEvent(new FundsTransferredEvent(
-                    command.sourceAccountNumber(),
-                    command.destinationAccountNumber(),
-                    command.amount(),
-                    command.reference()
-                ));
-            } else {
-                throw new IllegalStateException("Transfer failed during deposit");
+        OperationResult replayed = transferDeduplicator.find(command);
+        if (replayed != null) {
+            throwIfFailed(replayed);
+            return;
+        }
+        // Atomic transfer operation: both accounts are held for the whole withdraw/deposit pair
+        OperationResult result;
+        AccountRepository.Commit commit = AccountRepository.Commit.DONE;
+        try (StripedLockTable.Guard _ = accountLocks.lock(command.sourceAccountNumber(), command.destinationAccountNumber())) {
+            // a concurrent duplicate may have completed while this one waited for the locks
+            replayed = transferDeduplicator.find(command);
+            if (replayed != null) {
+                throwIfFailed(replayed);
+                return;
+            }
+            Account source = accountRepository.findByNumber(command.sourceAccountNumber())
+                    .orElseThrow(() -> new IllegalArgumentException("Source account not found"));
+
+            Account destination = accountRepository.findByNumber(command.destinationAccountNumber())
+                    .orElseThrow(() -> new IllegalArgumentException("Destination account not found"));
+
+            result = executeTransfer(source, destination, command);
+            if (result instanceof TransferSuccess) {
+                // one journal record for both sides, which also lets a replay see the whole transfer
+                commit = accountRepository.appendAll(List.of(source, destination));
+                transferDeduplicator.remember(command, result);
+                dispatchEvents(source);
+                dispatchEvents(destination);
+            } else if (transferDeduplicator.remembers(command)) {
+                source.registerEvent(refusal(command, result));
+                commit = accountRepository.appendAll(List.of(source));
+                transferDeduplicator.remember(command, result);
+                dispatchEvents(source);
+            }
+        }
+        commit.await();
+        throwIfFailed(result);
+    }
+
+    // Settlement path: all stripes are locked once, every account is looked up once, commands run
+    // in submission order and the touched accounts are persisted with a single repository write.
+    // Failures are reported per command instead of being thrown. Remembered commands are answered
+    // before any lock is taken; the batch's own outcomes are remembered once its record is saved.
+    @Override
+    public OperationResult[] transferFunds(List<TransferFundsCommand> commands) {
+        OperationResult[] results = new OperationResult[commands.size()];
+        Set<AccountNumber> accountNumbers = new HashSet<>();
+        for (int i = 0; i < results.length; i++) {
+            TransferFundsCommand command = commands.get(i);
+            results[i] = transferDeduplicator.find(command);
+            if (results[i] == null) {
+                accountNumbers.add(command.sourceAccountNumber());
+                accountNumbers.add(command.destinationAccountNumber());
             }
-        } else {
+        }
+        if (accountNumbers.isEmpty()) {
+            return results;
+        }
+
+        Set<Account> touched = new LinkedHashSet<>();
+        TransferDeduplicator.Batch remembered = transferDeduplicator.batch();
+        AccountRepository.Commit commit = AccountRepository.Commit.DONE;
+        try (StripedLockTable.Guard _ = accountLocks.lockAll(accountNumbers)) {
+            Map<AccountNumber, Account> accounts = findAll(accountNumbers);
+            for (int i = 0; i < results.length; i++) {
+                if (results[i] != null) {
+                    continue;
+                }
+                TransferFundsCommand command = commands.get(i);
+                // also catches a duplicate earlier in this batch or one that completed while we waited
+                OperationResult replayed = remembered.find(command);
+                Account source = accounts.get(command.sourceAccountNumber());
+                Account destination = accounts.get(command.destinationAccountNumber());
+                if (replayed != null) {
+                    results[i] = replayed;
+                } else if (source == null) {
+                    results[i] = TransferResult.failed("Source account not found");
+                } else if (destination == null) {
+                    results[i] = TransferResult.failed("Destination account not found");
+                } else {
+                    results[i] = executeTransfer(source, destination, command);
+                    remembered.remember(command, results[i]);
+                    if (results[i] instanceof TransferSuccess) {
+                        touched.add(source);
+                        touched.add(destination);
+                    } else if (transferDeduplicator.remembers(command)) {
+                        source.registerEvent(refusal(command, results[i]));
+                        touched.add(source);
+                    }
+                }
+            }
+            if (!touched.isEmpty()) {
+                commit = accountRepository.appendAll(touched);
+            }
+            remembered.commit();
+            touched.forEach(this::dispatchEvents);
+        }
+        commit.await();
+        return results;
+    }
+
+    @Override
+    public void transferFunds(Stream<TransferFundsCommand> commands, int batchSize, Consumer<OperationResult> results) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        Iterator<TransferFundsCommand> iterator = commands.iterator();
+        List<TransferFundsCommand> batch = new ArrayList<>(batchSize);
+        while (iterator.hasNext()) {
+            batch.add(iterator.next());
+            if (batch.size() == batchSize || !iterator.hasNext()) {
+                for (OperationResult result : transferFunds(batch)) {
+                    results.accept(result);
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    static void throwIfFailed(OperationResult result) {
+        if (result instanceof TransferFailed failed) {
+            throw new IllegalStateException(failed.getReason());
+        }
+        if (!(result instanceof TransferSuccess)) {
             throw new IllegalStateException("Transfer failed during withdrawal");
         }
     }
 
+    private static TransferRefusedEvent refusal(TransferFundsCommand command, OperationResult result) {
+        return new TransferRefusedEvent(command.sourceAccountNumber(), command.destinationAccountNumber(),
+                command.amount(), command.reference(), result);
+    }
+
+    // Caller holds the accounts' locks; missing accounts are left out
+    private Map<AccountNumber, Account> findAll(Set<AccountNumber> accountNumbers) {
+        Map<AccountNumber, Account> accounts = new HashMap<>();
+        for (AccountNumber accountNumber : accountNumbers) {
+            accountRepository.findByNumber(accountNumber).ifPresent(account -> accounts.put(accountNumber, account));
+        }
+        return accounts;
+    }
+
+    // Caller has exclusive access to both accounts. A deposit that fails after a successful withdrawal
+    // is compensated so the transfer is all-or-nothing: the balance is restored and the events this
+    // attempt raised are dropped, while those of earlier operations in the same batch are kept.
+    static OperationResult executeTransfer(Account source, Account destination, TransferFundsCommand command) {
+        Money amount = command.amount();
+        int sourceEvents = source.getDomainEvents().size();
+        int destinationEvents = destination.getDomainEvents().size();
+        OperationResult withdrawal;
+        try {
+            withdrawal = source.withdraw(amount, command.destinationAccountNumber());
+        } catch (IllegalArgumentException e) {
+            return TransferResult.failed(e.getMessage());
+        }
+        if (!(withdrawal instanceof WithdrawalSuccess withdrawn)) {
+            return withdrawal;
+        }
+
+        OperationResult deposit;
+        try {
+            deposit = destination.deposit(amount, command.sourceAccountNumber());
+        } catch (IllegalArgumentException e) {
+            deposit = TransferResult.failed(e.getMessage());
+        }
+        if (!(deposit instanceof DepositSuccess deposited)) {
+            source.deposit(amount);
+            source.discardDomainEventsAfter(sourceEvents);
+            destination.discardDomainEventsAfter(destinationEvents);
+            return TransferResult.failed("Transfer failed during deposit");
+        }
+
+        source.registerEvent(new FundsTransferredEvent(
+            command.sourceAccountNumber(),
+            command.destinationAccountNumber(),
+            amount,
+            command.reference()
+        ));
+        return TransferResult.success(withdrawn.getNewBalance(), deposited.getNewBalance());
+    }
+
+    @Override
+    public boolean closeAccount(AccountNumber accountNumber) {
+        AccountRepository.Commit commit;
+        try (StripedLockTable.Guard _ = accountLocks.lock(accountNumber)) {
+            Account account = accountRepository.findByNumber(accountNumber).orElse(null);
+            if (account == null) {
+                return false;
+            }
+            account.close();
+            commit = accountRepository.appendDelete(accountNumber);
+            dispatchEvents(account);
+        }
+        commit.await();
+        return true;
+    }
+
     @Override
-    public void applyInterest(AccountNumber accountNumber) {
-        accountRepository.findByNumber(accountNumber)
-                .filter(account -> account instanceof SavingsAccount)
-                .map(account -> (SavingsAccount) account)
-                .ifPresent(savingsAccount -> {
-                    Money interest = savingsAccount.calculateInterest();
-                    savingsAccount.deposit(interest);
-                    accountRepository.save(savingsAccount);
-                });
-    }
-
-    private AccountNumber generateAccountNumber(String accountType) {
-        int sequence = sequenceGenerator.nextSequence(accountType);
-        return accountType.equalsIgnoreCase("SAVINGS") 
-                ? AccountNumber.savings(sequence)
-                : AccountNumber.checking(sequence);
-    }
-
-    private Account buildAccount(AccountNumber accountNumber, CreateAccountCommand command) {
-        if ("SAVINGS".equalsIgnoreCase(command.accountType())) {
-            return new SavingsAccount(
-                accountNumber,
-                command.accountHolderName(),
-                command.initialDeposit(),
-                new BigDecimal("0.02"),
-                Money.of(50.00, defaultCurrency)
-            );
-        } else if ("CHECKING".equalsIgnoreCase(command.accountType())) {
-            return new CheckingAccount(
-                accountNumber,
-                command.accountHolderName(),
-                command.initialDeposit(),
-                Money.of(100.00, defaultCurrency)
-            );
-        } else {
-            throw new IllegalArgumentException("Unknown account type: " + command.accountType());
-        }
-    }
-}
\ No newline at end of file
+    public Optional<Money> applyInterest(AccountNumber accountNumber) {
+        Optional<Money> interest;
+        AccountRepository.Commit commit = AccountRepository.Commit.DONE;
+        try (StripedLockTable.Guard _ = accountLocks.lock(accountNumber)) {
+            Account account = accountRepository.findByNumber(accountNumber).orElse(null);
+            interest = Optional.ofNullable(account).map(DefaultAccountService::creditInterest);
+            if (interest.filter(Money::isPositive).isPresent()) {
+                commit = accountRepository.appendAll(List.of(account));
+                dispatchEvents(account);
+            }
+        }
+        commit.await();
+        return interest;
+    }
+
+    // Caller has exclusive access to the account and persists it when the interest is positive.
+    // Zero when it is not a savings account or earns nothing.
+    private static Money creditInterest(Account account) {
+        if (!(account instanceof SavingsAccount savingsAccount)) {
+            return Money.zero(account.getBalance().getCurrency());
+        }
+        Money interest = savingsAccount.calculateInterest();
+        if (!interest.isPositive()) {
+            return Money.zero(interest.getCurrency());
+        }
+        savingsAccount.deposit(interest);
+        return interest;
+    }
+
+    @Override
+    public InterestRunSummary applyInterestToAllSavings() {
+        return interestEngine.run();
+    }
+
+    // Hands the saved account's events to subscribers and releases them from the account
+    private void dispatchEvents(Account account) {
+        eventPublisher.publish(account.getDomainEvents());
+        account.clearDomainEvents();
+    }
+}
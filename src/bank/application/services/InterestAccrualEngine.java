@@ -0,0 +1,153 @@
+package bank.application.services;
+
+import bank.domain.entities.Account;
+import bank.domain.entities.SavingsAccount;
+import bank.domain.events.DomainEventPublisher;
+import bank.domain.valueobjects.AccountNumber;
+import bank.domain.valueobjects.Money;
+import bank.infrastructure.concurrency.StripedLockTable;
+import bank.infrastructure.persistence.AccountRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Collector;
+
+// Bulk interest run over every savings account.
+//
+// A parallel scan of the repository (run inside the engine's pool) buckets savings account numbers by
+// lock stripe, then a fork-join task splits the stripe range until each leaf owns a single stripe. A leaf
+// takes its stripe lock for at most CHUNK_SIZE accounts at a time, re-reads each account under the lock,
+// credits it and appends the chunk with one appendAll, waiting for durability only after unlocking, so
+// workers never contend with each other and regular traffic on a stripe waits for at most one chunk.
+// Buckets hold packed numbers rather than accounts, so repositories that materialize accounts on
+// lookup never have them all live at once. Interest is totalled per currency.
+public class InterestAccrualEngine {
+    private static final int CHUNK_SIZE = 256;
+
+    private final AccountRepository accountRepository;
+    private final StripedLockTable accountLocks;
+    private final DomainEventPublisher eventPublisher;
+    private final ForkJoinPool pool;
+
+    public InterestAccrualEngine(AccountRepository accountRepository, StripedLockTable accountLocks,
+                                 DomainEventPublisher eventPublisher, ForkJoinPool pool) {
+        this.accountRepository = accountRepository;
+        this.accountLocks = accountLocks;
+        this.eventPublisher = eventPublisher;
+        this.pool = pool;
+    }
+
+    public InterestRunSummary run() {
+        long started = System.nanoTime();
+        StripeBuckets buckets = pool.submit(() -> accountRepository.stream()
+                .parallel()
+                .filter(account -> account instanceof SavingsAccount)
+                .collect(Collector.of(() -> new StripeBuckets(accountLocks.stripeCount()),
+                        (into, account) -> into.add(accountLocks.stripeOf(account.getAccountNumber()),
+                                account.getAccountNumber().toLong()),
+                        StripeBuckets::merge)))
+                .join();
+        InterestTotals totals = new InterestTotals();
+        pool.invoke(new Accrual(buckets, totals, 0, accountLocks.stripeCount()));
+        return totals.summary(Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    private void accrue(int stripe, long[] accountNumbers, int count, InterestTotals totals) {
+        List<Account> chunk = new ArrayList<>(Math.min(CHUNK_SIZE, count));
+        for (int from = 0; from < count; from += CHUNK_SIZE) {
+            int to = Math.min(from + CHUNK_SIZE, count);
+            chunk.clear();
+            AccountRepository.Commit commit = AccountRepository.Commit.DONE;
+            try (StripedLockTable.Guard _ = accountLocks.lockStripe(stripe)) {
+                for (int i = from; i < to; i++) {
+                    Account current = accountRepository.findByNumber(AccountNumber.fromLong(accountNumbers[i])).orElse(null);
+                    if (!(current instanceof SavingsAccount account)) {
+                        // closed since the run started
+                        continue;
+                    }
+                    Money interest = account.calculateInterest();
+                    if (!interest.isPositive()) {
+                        continue;
+                    }
+                    account.deposit(interest);
+                    totals.add(interest);
+                    chunk.add(account);
+                }
+                if (!chunk.isEmpty()) {
+                    commit = accountRepository.appendAll(chunk);
+                    for (Account account : chunk) {
+                        eventPublisher.publish(account.getDomainEvents());
+                        account.clearDomainEvents();
+                    }
+                }
+            }
+            commit.await();
+        }
+    }
+
+    // Growable per-stripe arrays of packed account numbers, also used to bucket accounts by shard
+    static final class StripeBuckets {
+        final long[][] numbers;
+        final int[] sizes;
+
+        StripeBuckets(int stripes) {
+            this.numbers = new long[stripes][];
+            this.sizes = new int[stripes];
+        }
+
+        void add(int stripe, long accountNumber) {
+            long[] bucket = numbers[stripe];
+            if (bucket == null) {
+                bucket = numbers[stripe] = new long[16];
+            } else if (sizes[stripe] == bucket.length) {
+                bucket = numbers[stripe] = Arrays.copyOf(bucket, bucket.length * 2);
+            }
+            bucket[sizes[stripe]++] = accountNumber;
+        }
+
+        StripeBuckets merge(StripeBuckets other) {
+            for (int stripe = 0; stripe < numbers.length; stripe++) {
+                for (int i = 0; i < other.sizes[stripe]; i++) {
+                    add(stripe, other.numbers[stripe][i]);
+                }
+            }
+            return this;
+        }
+    }
+
+    // Serializable only because ForkJoinTask is; tasks never leave the pool
+    @SuppressWarnings("serial")
+    private final class Accrual extends RecursiveAction {
+        private final StripeBuckets buckets;
+        private final InterestTotals totals;
+        private final int from;
+        private final int to;
+
+        private Accrual(StripeBuckets buckets, InterestTotals totals, int from, int to) {
+            this.buckets = buckets;
+            this.totals = totals;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                long[] numbers = buckets.numbers[from];
+                if (numbers != null) {
+                    accrue(from, numbers, buckets.sizes[from], totals);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            Accrual left = new Accrual(buckets, totals, from, middle);
+            left.fork();
+            new Accrual(buckets, totals, middle, to).compute();
+            left.join();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package bank.application.services;
+
+import bank.domain.valueobjects.Money;
+
+import java.time.Duration;
+import java.util.Currency;
+import java.util.Map;
+
+// Interest is reported per currency: a book may hold accounts in several, and their minor units do
+// not add up
+public record InterestRunSummary(
+    long accountsProcessed,
+    Map<Currency, Money> interestByCurrency,
+    Duration elapsed
+) {
+    public InterestRunSummary {
+        interestByCurrency = Map.copyOf(interestByCurrency);
+    }
+
+    // Zero when no account in the currency was credited
+    public Money interestIn(Currency currency) {
+        return interestByCurrency.getOrDefault(currency, Money.zero(currency));
+    }
+}
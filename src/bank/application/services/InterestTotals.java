@@ -0,0 +1,30 @@
+package bank.application.services;
+
+import bank.domain.valueobjects.Money;
+
+import java.time.Duration;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Running totals of an interest run, added to by every worker: accounts credited, and interest in
+// minor units kept apart per currency
+final class InterestTotals {
+    private final LongAdder credited = new LongAdder();
+    private final Map<Currency, LongAdder> interestMinorUnits = new ConcurrentHashMap<>();
+
+    void add(Money interest) {
+        credited.increment();
+        interestMinorUnits.computeIfAbsent(interest.getCurrency(), currency -> new LongAdder())
+                .add(interest.getMinorUnits());
+    }
+
+    InterestRunSummary summary(Duration elapsed) {
+        Map<Currency, Money> interest = new HashMap<>();
+        interestMinorUnits.forEach((currency, minorUnits) ->
+                interest.put(currency, Money.ofMinor(minorUnits.sum(), currency)));
+        return new InterestRunSummary(credited.sum(), interest, elapsed);
+    }
+}
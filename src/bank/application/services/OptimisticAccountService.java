@@ -0,0 +1,353 @@
+package bank.application.services;
+
+import bank.application.commands.CreateAccountCommand;
+import bank.application.commands.TransferFundsCommand;
+import bank.application.commands.WithdrawFundsCommand;
+import bank.domain.entities.Account;
+import bank.domain.entities.SavingsAccount;
+import bank.domain.events.DomainEventPublisher;
+import bank.domain.results.DepositFailed;
+import bank.domain.results.OperationResult;
+import bank.domain.results.TransferResult;
+import bank.domain.results.TransferSuccess;
+import bank.domain.results.WithdrawalFailed;
+import bank.domain.results.WithdrawalResult;
+import bank.domain.valueobjects.AccountNumber;
+import bank.domain.valueobjects.Money;
+import bank.infrastructure.persistence.AccountPage;
+import bank.infrastructure.persistence.AccountRepository;
+import bank.infrastructure.services.SequenceGenerator;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// Lock-free execution mode for books where writers rarely meet on one account.
+//
+// Every update reads the stored accounts, applies the operation to private copies and commits them with
+// the repository's versioned compare-and-save. If another writer committed first the copies are
+// discarded and the operation starts again from a fresh read, up to MAX_ATTEMPTS times; after that it
+// fails instead of waiting. Operations that change nothing (a refused withdrawal, say) never write.
+// Conflicts and abandoned operations are counted so contention shows up in metrics() rather than as
+// latency. Batches commit command by command, so one hot account cannot make a whole batch retry.
+//
+// Needs a repository with versioned saves (InMemoryAccountRepository) and refuses any other. Transfers
+// are not deduplicated in this mode.
+public class OptimisticAccountService implements AccountService {
+    public static final int MAX_ATTEMPTS = 16;
+
+    private final AccountRepository accountRepository;
+    private final AccountFactory accountFactory;
+    private final Currency defaultCurrency;
+    private final DomainEventPublisher eventPublisher;
+    private final ForkJoinPool pool;
+    private final LongAdder commits;
+    private final LongAdder conflicts;
+    private final LongAdder abandoned;
+
+    public OptimisticAccountService(AccountRepository accountRepository,
+                                    SequenceGenerator sequenceGenerator,
+                                    Currency defaultCurrency) {
+        this(accountRepository, sequenceGenerator, defaultCurrency, DomainEventPublisher.NONE);
+    }
+
+    public OptimisticAccountService(AccountRepository accountRepository,
+                                    SequenceGenerator sequenceGenerator,
+                                    Currency defaultCurrency,
+                                    DomainEventPublisher eventPublisher) {
+        if (!accountRepository.supportsVersionedSaves()) {
+            throw new IllegalArgumentException(accountRepository.getClass().getSimpleName()
+                    + " does not support versioned saves");
+        }
+        this.accountRepository = accountRepository;
+        this.accountFactory = new AccountFactory(sequenceGenerator, defaultCurrency);
+        this.defaultCurrency = defaultCurrency;
+        this.eventPublisher = eventPublisher;
+        this.pool = ForkJoinPool.commonPool();
+        this.commits = new LongAdder();
+        this.conflicts = new LongAdder();
+        this.abandoned = new LongAdder();
+    }
+
+    @Override
+    public Account createAccount(CreateAccountCommand command) {
+        Account account = accountFactory.open(command);
+        accountRepository.save(account);
+        dispatchEvents(account);
+        return account;
+    }
+
+    @Override
+    public Optional<Account> findAccount(AccountNumber accountNumber) {
+        return accountRepository.findByNumber(accountNumber);
+    }
+
+    @Override
+    public AccountPage listAccounts(AccountNumber after, int pageSize) {
+        return accountRepository.findPage(after, pageSize);
+    }
+
+    @Override
+    public List<Account> findAccountsByHolderName(String holderName, int limit) {
+        return accountRepository.findByHolderName(holderName, limit);
+    }
+
+    @Override
+    public List<Account> findAccountsByHolderNamePrefix(String prefix, int limit) {
+        return accountRepository.findByHolderNamePrefix(prefix, limit);
+    }
+
+    @Override
+    public OperationResult deposit(AccountNumber accountNumber, Money amount) {
+        OperationResult result = update(accountNumber, account -> account.deposit(amount));
+        if (result == null) {
+            return new DepositFailed(accountRepository.findByNumber(accountNumber).isEmpty()
+                    ? "Account not found" : "Too much contention on the account");
+        }
+        return result;
+    }
+
+    @Override
+    public OperationResult withdraw(AccountNumber accountNumber, Money amount) {
+        OperationResult result = update(accountNumber, account -> account.withdraw(amount));
+        if (result == null) {
+            return new WithdrawalFailed(accountRepository.findByNumber(accountNumber).isEmpty()
+                    ? "Account not found" : "Too much contention on the account");
+        }
+        return result;
+    }
+
+    @Override
+    public OperationResult[] withdraw(List<WithdrawFundsCommand> commands) {
+        OperationResult[] results = new OperationResult[commands.size()];
+        for (int i = 0; i < results.length; i++) {
+            WithdrawFundsCommand command = commands.get(i);
+            try {
+                results[i] = withdraw(command.accountNumber(), command.amount());
+            } catch (IllegalArgumentException e) {
+                results[i] = WithdrawalResult.failed(e.getMessage());
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public void transferFunds(TransferFundsCommand command) {
+        DefaultAccountService.throwIfFailed(transfer(command, true));
+    }
+
+    @Override
+    public OperationResult[] transferFunds(List<TransferFundsCommand> commands) {
+        OperationResult[] results = new OperationResult[commands.size()];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = transfer(commands.get(i), false);
+        }
+        return results;
+    }
+
+    @Override
+    public void transferFunds(Stream<TransferFundsCommand> commands, int batchSize, Consumer<OperationResult> results) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        Iterator<TransferFundsCommand> iterator = commands.iterator();
+        List<TransferFundsCommand> batch = new ArrayList<>(batchSize);
+        while (iterator.hasNext()) {
+            batch.add(iterator.next());
+            if (batch.size() == batchSize || !iterator.hasNext()) {
+                for (OperationResult result : transferFunds(batch)) {
+                    results.accept(result);
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    // A deposit that commits between the read and the delete bumps the version, so the close retries
+    // and then refuses the non-empty account
+    @Override
+    public boolean closeAccount(AccountNumber accountNumber) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            Account stored = accountRepository.findByNumber(accountNumber).orElse(null);
+            if (stored == null) {
+                return false;
+            }
+            Account working = stored.copy();
+            working.close();
+            if (accountRepository.compareAndDelete(working)) {
+                commits.increment();
+                dispatchEvents(working);
+                return true;
+            }
+            conflicts.increment();
+            backOff(attempt);
+        }
+        abandoned.increment();
+        throw new IllegalStateException("Close abandoned after " + MAX_ATTEMPTS + " conflicting attempts");
+    }
+
+    @Override
+    public Optional<Money> applyInterest(AccountNumber accountNumber) {
+        Money interest = accrue(accountNumber);
+        if (interest == null && accountRepository.findByNumber(accountNumber).isPresent()) {
+            throw new IllegalStateException("Interest abandoned after " + MAX_ATTEMPTS + " conflicting attempts");
+        }
+        return Optional.ofNullable(interest);
+    }
+
+    // Every savings account is credited as its own optimistic update, in parallel; accounts abandoned
+    // under contention are left out of the summary
+    @Override
+    public InterestRunSummary applyInterestToAllSavings() {
+        long started = System.nanoTime();
+        InterestTotals totals = new InterestTotals();
+        pool.submit(() -> accountRepository.stream()
+                .parallel()
+                .filter(account -> account instanceof SavingsAccount)
+                .forEach(account -> {
+                    Money interest = accrue(account.getAccountNumber());
+                    if (interest != null && interest.isPositive()) {
+                        totals.add(interest);
+                    }
+                }))
+                .join();
+        return totals.summary(Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    public Metrics metrics() {
+        return new Metrics(commits.sum(), conflicts.sum(), abandoned.sum());
+    }
+
+    // Returns the operation's result, or null if the account is missing or every attempt conflicted
+    private OperationResult update(AccountNumber accountNumber, Function<Account, OperationResult> operation) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            Account stored = accountRepository.findByNumber(accountNumber).orElse(null);
+            if (stored == null) {
+                return null;
+            }
+            Account working = stored.copy();
+            OperationResult result = operation.apply(working);
+            if (commit(List.of(working))) {
+                return result;
+            }
+            backOff(attempt);
+        }
+        abandoned.increment();
+        return null;
+    }
+
+    // Returns the interest credited (zero for a checking account), or null if the account is missing or
+    // every attempt conflicted
+    private Money accrue(AccountNumber accountNumber) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            Account stored = accountRepository.findByNumber(accountNumber).orElse(null);
+            if (stored == null) {
+                return null;
+            }
+            if (!(stored.copy() instanceof SavingsAccount working)) {
+                return Money.zero(defaultCurrency);
+            }
+            Money interest = working.calculateInterest();
+            if (!interest.isPositive()) {
+                return Money.zero(interest.getCurrency());
+            }
+            working.deposit(interest);
+            if (commit(List.of(working))) {
+                return interest;
+            }
+            backOff(attempt);
+        }
+        abandoned.increment();
+        return null;
+    }
+
+    // Missing accounts throw when asked to, as the lock-based single transfer does; otherwise every
+    // failure is a result
+    private OperationResult transfer(TransferFundsCommand command, boolean throwIfMissing) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            Account source = accountRepository.findByNumber(command.sourceAccountNumber()).orElse(null);
+            Account destination = accountRepository.findByNumber(command.destinationAccountNumber()).orElse(null);
+            String missing = source == null ? "Source account not found"
+                    : destination == null ? "Destination account not found" : null;
+            if (missing != null) {
+                if (throwIfMissing) {
+                    throw new IllegalArgumentException(missing);
+                }
+                return TransferResult.failed(missing);
+            }
+            Account workingSource = source.copy();
+            Account workingDestination = destination.copy();
+            OperationResult result = DefaultAccountService.executeTransfer(workingSource, workingDestination, command);
+            if (!(result instanceof TransferSuccess)) {
+                // refused or compensated: the copies are dropped and nothing is written
+                return result;
+            }
+            if (commit(List.of(workingSource, workingDestination))) {
+                return result;
+            }
+            backOff(attempt);
+        }
+        abandoned.increment();
+        return TransferResult.failed("Transfer abandoned after " + MAX_ATTEMPTS + " conflicting attempts");
+    }
+
+    // Copies without events changed nothing and are not written. Returns false only on a version conflict.
+    private boolean commit(List<Account> working) {
+        List<Account> changed = new ArrayList<>(working.size());
+        for (Account account : working) {
+            if (!account.getDomainEvents().isEmpty()) {
+                changed.add(account);
+            }
+        }
+        if (changed.isEmpty()) {
+            return true;
+        }
+        if (!accountRepository.compareAndSaveAll(changed)) {
+            conflicts.increment();
+            return false;
+        }
+        commits.increment();
+        changed.forEach(this::dispatchEvents);
+        return true;
+    }
+
+    // Spins for the first few conflicts, then yields so the winner can finish
+    private static void backOff(int attempt) {
+        if (attempt < 4) {
+            Thread.onSpinWait();
+        } else {
+            Thread.yield();
+        }
+    }
+
+    // Hands the committed account's events to subscribers and releases them from the account
+    private void dispatchEvents(Account account) {
+        eventPublisher.publish(account.getDomainEvents());
+        account.clearDomainEvents();
+    }
+
+    public record Metrics(
+        long commits,
+        long conflicts,
+        long abandoned
+    ) {
+        public double conflictRate() {
+            long attempts = commits + conflicts;
+            return attempts == 0 ? 0.0 : (double) conflicts / attempts;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("commits=%d conflicts=%d conflictRate=%.2f%% abandoned=%d",
+                    commits, conflicts, conflictRate() * 100, abandoned);
+        }
+    }
+}
@@ -0,0 +1,705 @@
+package bank.application.services;
+
+import bank.application.commands.CreateAccountCommand;
+import bank.application.commands.TransferFundsCommand;
+import bank.application.commands.WithdrawFundsCommand;
+import bank.domain.entities.Account;
+import bank.domain.entities.SavingsAccount;
+import bank.domain.events.DomainEventPublisher;
+import bank.domain.events.FundsTransferredEvent;
+import bank.domain.results.DepositFailed;
+import bank.domain.results.DepositSuccess;
+import bank.domain.results.OperationResult;
+import bank.domain.results.TransferFailed;
+import bank.domain.results.TransferResult;
+import bank.domain.results.TransferSuccess;
+import bank.domain.results.WithdrawalFailed;
+import bank.domain.results.WithdrawalResult;
+import bank.domain.results.WithdrawalSuccess;
+import bank.domain.valueobjects.AccountNumber;
+import bank.domain.valueobjects.Money;
+import bank.infrastructure.persistence.AccountPage;
+import bank.infrastructure.persistence.AccountRepository;
+import bank.infrastructure.persistence.JournalAccountRepository;
+import bank.infrastructure.services.SequenceGenerator;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+
+// Lock-free execution mode: accounts are partitioned by number across shard threads and every
+// operation runs on the thread that owns its account, so no account is ever touched by two threads.
+//
+// Each shard drains a multi-producer mailbox of tasks and parks when it is empty; callers wait for their
+// task's result. A transfer between two accounts of one shard runs as a single task and persists both
+// sides with one saveAll. A transfer across shards is a message protocol: the source shard reserves the
+// amount by withdrawing and saving it, the destination shard credits it, and the source shard then
+// confirms (publishing the transfer event) or, if the credit was refused, refunds the reservation. The
+// balances plus the amounts still in flight are therefore always conserved. Lookups and pages read the
+// repository directly, as they do in the lock-based service.
+//
+// The journal is refused: a cross-shard transfer spans two journal records, so a crash between them
+// would lose the reservation. Transfers are not deduplicated in this mode.
+public class ShardedAccountService implements AccountService, AutoCloseable {
+    private static final int INTEREST_CHUNK_SIZE = 256;
+    private static final long CLOSE_PARK_NANOS = 50_000L;
+    private static final String SOURCE_NOT_FOUND = "Source account not found";
+    private static final String DESTINATION_NOT_FOUND = "Destination account not found";
+
+    private final AccountRepository accountRepository;
+    private final AccountFactory accountFactory;
+    private final Currency defaultCurrency;
+    private final DomainEventPublisher eventPublisher;
+    private final Shard[] shards;
+    private final LongAdder localTransfers;
+    private final LongAdder crossShardTransfers;
+    private final LongAdder refundedTransfers;
+    private final AtomicLong transfersInFlight;
+    private volatile boolean closed;
+
+    public ShardedAccountService(AccountRepository accountRepository,
+                                 SequenceGenerator sequenceGenerator,
+                                 Currency defaultCurrency,
+                                 int shardCount) {
+        this(accountRepository, sequenceGenerator, defaultCurrency, DomainEventPublisher.NONE, shardCount);
+    }
+
+    public ShardedAccountService(AccountRepository accountRepository,
+                                 SequenceGenerator sequenceGenerator,
+                                 Currency defaultCurrency,
+                                 DomainEventPublisher eventPublisher,
+                                 int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be positive");
+        }
+        if (accountRepository instanceof JournalAccountRepository) {
+            throw new IllegalArgumentException("Sharded mode cannot run on the journal: cross-shard transfers span two records");
+        }
+        this.accountRepository = accountRepository;
+        this.accountFactory = new AccountFactory(sequenceGenerator, defaultCurrency);
+        this.defaultCurrency = defaultCurrency;
+        this.eventPublisher = eventPublisher;
+        this.localTransfers = new LongAdder();
+        this.crossShardTransfers = new LongAdder();
+        this.refundedTransfers = new LongAdder();
+        this.transfersInFlight = new AtomicLong();
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i);
+        }
+        for (Shard shard : shards) {
+            shard.thread.start();
+        }
+    }
+
+    @Override
+    public Account createAccount(CreateAccountCommand command) {
+        Account account = accountFactory.open(command);
+        return call(account.getAccountNumber(), () -> {
+            accountRepository.save(account);
+            dispatchEvents(account);
+            return account;
+        });
+    }
+
+    @Override
+    public Optional<Account> findAccount(AccountNumber accountNumber) {
+        return accountRepository.findByNumber(accountNumber);
+    }
+
+    @Override
+    public AccountPage listAccounts(AccountNumber after, int pageSize) {
+        return accountRepository.findPage(after, pageSize);
+    }
+
+    @Override
+    public List<Account> findAccountsByHolderName(String holderName, int limit) {
+        return accountRepository.findByHolderName(holderName, limit);
+    }
+
+    @Override
+    public List<Account> findAccountsByHolderNamePrefix(String prefix, int limit) {
+        return accountRepository.findByHolderNamePrefix(prefix, limit);
+    }
+
+    @Override
+    public OperationResult deposit(AccountNumber accountNumber, Money amount) {
+        return call(accountNumber, () -> accountRepository.findByNumber(accountNumber)
+                .map(account -> {
+                    OperationResult result = account.deposit(amount);
+                    if (result instanceof DepositSuccess) {
+                        accountRepository.save(account);
+                        dispatchEvents(account);
+                    }
+                    return result;
+                })
+                .orElse(new DepositFailed("Account not found")));
+    }
+
+    @Override
+    public OperationResult withdraw(AccountNumber accountNumber, Money amount) {
+        return call(accountNumber, () -> accountRepository.findByNumber(accountNumber)
+                .map(account -> {
+                    OperationResult result = account.withdraw(amount);
+                    if (result instanceof WithdrawalSuccess) {
+                        accountRepository.save(account);
+                        dispatchEvents(account);
+                    }
+                    return result;
+                })
+                .orElse(new WithdrawalFailed("Account not found")));
+    }
+
+    // Each shard gets one task with its share of the batch, runs it in submission order and persists
+    // the accounts that changed with a single repository write
+    @Override
+    public OperationResult[] withdraw(List<WithdrawFundsCommand> commands) {
+        OperationResult[] results = new OperationResult[commands.size()];
+        int[][] byShard = partition(results.length, i -> commands.get(i).accountNumber());
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (int s = 0; s < shards.length; s++) {
+            int[] indexes = byShard[s];
+            if (indexes.length > 0) {
+                tasks.add(submit(s, () -> {
+                    withdrawOnShard(commands, indexes, results);
+                    return null;
+                }));
+            }
+        }
+        await(CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])));
+        return results;
+    }
+
+    @Override
+    public void transferFunds(TransferFundsCommand command) {
+        OperationResult result = await(transfer(command));
+        if (result instanceof TransferFailed failed
+                && (SOURCE_NOT_FOUND.equals(failed.getReason()) || DESTINATION_NOT_FOUND.equals(failed.getReason()))) {
+            throw new IllegalArgumentException(failed.getReason());
+        }
+        DefaultAccountService.throwIfFailed(result);
+    }
+
+    // Each source shard gets one task that starts its share of the batch in submission order; the
+    // results are collected once every transfer has been confirmed or refused
+    @Override
+    public OperationResult[] transferFunds(List<TransferFundsCommand> commands) {
+        int size = commands.size();
+        admitTransfers(size);
+        List<CompletableFuture<OperationResult>> pending = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            pending.add(settled(new CompletableFuture<>()));
+        }
+        int[][] byShard = partition(size, i -> commands.get(i).sourceAccountNumber());
+        for (int s = 0; s < shards.length; s++) {
+            int shard = s;
+            int[] indexes = byShard[s];
+            if (indexes.length > 0) {
+                boolean posted = shards[s].post(() -> {
+                    for (int i : indexes) {
+                        startTransfer(commands.get(i), shard, pending.get(i));
+                    }
+                });
+                if (!posted) {
+                    for (int i : indexes) {
+                        pending.get(i).completeExceptionally(closedException());
+                    }
+                }
+            }
+        }
+        OperationResult[] results = new OperationResult[size];
+        for (int i = 0; i < size; i++) {
+            results[i] = await(pending.get(i));
+        }
+        return results;
+    }
+
+    @Override
+    public void transferFunds(Stream<TransferFundsCommand> commands, int batchSize, Consumer<OperationResult> results) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        Iterator<TransferFundsCommand> iterator = commands.iterator();
+        List<TransferFundsCommand> batch = new ArrayList<>(batchSize);
+        while (iterator.hasNext()) {
+            batch.add(iterator.next());
+            if (batch.size() == batchSize || !iterator.hasNext()) {
+                for (OperationResult result : transferFunds(batch)) {
+                    results.accept(result);
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    @Override
+    public boolean closeAccount(AccountNumber accountNumber) {
+        return call(accountNumber, () -> {
+            Account account = accountRepository.findByNumber(accountNumber).orElse(null);
+            if (account == null) {
+                return false;
+            }
+            account.close();
+            accountRepository.delete(accountNumber);
+            dispatchEvents(account);
+            return true;
+        });
+    }
+
+    @Override
+    public Optional<Money> applyInterest(AccountNumber accountNumber) {
+        return call(accountNumber, () -> accountRepository.findByNumber(accountNumber).map(this::creditInterest));
+    }
+
+    // Runs on the account's shard. Zero when it is not a savings account or earns nothing.
+    private Money creditInterest(Account account) {
+        if (!(account instanceof SavingsAccount savingsAccount)) {
+            return Money.zero(account.getBalance().getCurrency());
+        }
+        Money interest = savingsAccount.calculateInterest();
+        if (!interest.isPositive()) {
+            return Money.zero(interest.getCurrency());
+        }
+        savingsAccount.deposit(interest);
+        accountRepository.save(savingsAccount);
+        dispatchEvents(savingsAccount);
+        return interest;
+    }
+
+    // One parallel scan buckets the savings accounts by shard, then every shard credits its own bucket a
+    // chunk per task, re-posting the rest behind whatever traffic arrived meanwhile
+    @Override
+    public InterestRunSummary applyInterestToAllSavings() {
+        checkOpen();
+        long started = System.nanoTime();
+        InterestAccrualEngine.StripeBuckets buckets = accountRepository.stream()
+                .parallel()
+                .filter(account -> account instanceof SavingsAccount)
+                .collect(Collector.of(() -> new InterestAccrualEngine.StripeBuckets(shards.length),
+                        (into, account) -> into.add(shardOf(account.getAccountNumber()), account.getAccountNumber().toLong()),
+                        InterestAccrualEngine.StripeBuckets::merge));
+        InterestRun run = new InterestRun(buckets, shards.length);
+        for (int s = 0; s < shards.length; s++) {
+            int shard = s;
+            if (!shards[s].post(() -> accrue(run, shard, 0))) {
+                run.done.completeExceptionally(closedException());
+            }
+        }
+        await(run.done);
+        return run.totals.summary(Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    public Metrics metrics() {
+        return new Metrics(shards.length, localTransfers.sum(), crossShardTransfers.sum(), refundedTransfers.sum(),
+                transfersInFlight.get());
+    }
+
+    // Rejects new calls, lets every transfer already admitted settle, then stops the shards. A transfer
+    // counts as in flight from before its first task is posted until its caller has an answer, so no
+    // shard stops while another may still post a credit, confirmation or refund to it.
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        while (transfersInFlight.get() > 0) {
+            LockSupport.parkNanos(CLOSE_PARK_NANOS);
+        }
+        for (Shard shard : shards) {
+            shard.stop();
+        }
+        for (Shard shard : shards) {
+            try {
+                shard.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private int shardOf(AccountNumber accountNumber) {
+        return (accountNumber.hashCode() & Integer.MAX_VALUE) % shards.length;
+    }
+
+    // Indexes 0..size-1 grouped by the shard owning each one's account, in ascending order per shard
+    private int[][] partition(int size, IntFunction<AccountNumber> owner) {
+        int[] owners = new int[size];
+        int[] counts = new int[shards.length];
+        for (int i = 0; i < size; i++) {
+            owners[i] = shardOf(owner.apply(i));
+            counts[owners[i]]++;
+        }
+        int[][] byShard = new int[shards.length][];
+        for (int s = 0; s < shards.length; s++) {
+            byShard[s] = new int[counts[s]];
+            counts[s] = 0;
+        }
+        for (int i = 0; i < size; i++) {
+            byShard[owners[i]][counts[owners[i]]++] = i;
+        }
+        return byShard;
+    }
+
+    private <T> T call(AccountNumber owner, Supplier<T> task) {
+        return await(submit(shardOf(owner), task));
+    }
+
+    private <T> CompletableFuture<T> submit(int shard, Supplier<T> task) {
+        checkOpen();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        boolean posted = shards[shard].post(() -> {
+            try {
+                result.complete(task.get());
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        if (!posted) {
+            result.completeExceptionally(closedException());
+        }
+        return result;
+    }
+
+    // Rethrows a task's exception as the caller would have seen it from the lock-based service
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw closedException();
+        }
+    }
+
+    private static IllegalStateException closedException() {
+        return new IllegalStateException("Service is closed");
+    }
+
+    // Counted before the closed check, so close either sees these transfers or they see it closed
+    private void admitTransfers(int count) {
+        transfersInFlight.addAndGet(count);
+        if (closed) {
+            transfersInFlight.addAndGet(-count);
+            throw closedException();
+        }
+    }
+
+    // The transfer leaves the in-flight count once its caller has an answer, whatever it is
+    private CompletableFuture<OperationResult> settled(CompletableFuture<OperationResult> result) {
+        result.whenComplete((outcome, failure) -> transfersInFlight.decrementAndGet());
+        return result;
+    }
+
+    private CompletableFuture<OperationResult> transfer(TransferFundsCommand command) {
+        admitTransfers(1);
+        CompletableFuture<OperationResult> result = settled(new CompletableFuture<>());
+        int shard = shardOf(command.sourceAccountNumber());
+        if (!shards[shard].post(() -> startTransfer(command, shard, result))) {
+            result.completeExceptionally(closedException());
+        }
+        return result;
+    }
+
+    // Runs on the shard owning the commands' accounts
+    private void withdrawOnShard(List<WithdrawFundsCommand> commands, int[] indexes, OperationResult[] results) {
+        Map<AccountNumber, Account> accounts = new HashMap<>();
+        Set<Account> touched = new LinkedHashSet<>();
+        for (int i : indexes) {
+            WithdrawFundsCommand command = commands.get(i);
+            Account account = accounts.computeIfAbsent(command.accountNumber(),
+                    accountNumber -> accountRepository.findByNumber(accountNumber).orElse(null));
+            if (account == null) {
+                results[i] = WithdrawalResult.failed("Account not found");
+                continue;
+            }
+            try {
+                results[i] = account.withdraw(command.amount());
+            } catch (IllegalArgumentException e) {
+                results[i] = WithdrawalResult.failed(e.getMessage());
+            }
+            if (results[i] instanceof WithdrawalSuccess) {
+                touched.add(account);
+            }
+        }
+        if (!touched.isEmpty()) {
+            accountRepository.saveAll(touched);
+            touched.forEach(this::dispatchEvents);
+        }
+    }
+
+    // Runs on the source shard. Same-shard transfers complete here; otherwise this is the reservation.
+    private void startTransfer(TransferFundsCommand command, int sourceShard, CompletableFuture<OperationResult> result) {
+        try {
+            Account source = accountRepository.findByNumber(command.sourceAccountNumber()).orElse(null);
+            if (source == null) {
+                result.complete(TransferResult.failed(SOURCE_NOT_FOUND));
+                return;
+            }
+            int destinationShard = shardOf(command.destinationAccountNumber());
+            if (destinationShard == sourceShard) {
+                result.complete(transferLocally(source, command));
+                return;
+            }
+
+            OperationResult reservation;
+            try {
+                reservation = source.withdraw(command.amount(), command.destinationAccountNumber());
+            } catch (IllegalArgumentException e) {
+                reservation = TransferResult.failed(e.getMessage());
+            }
+            if (!(reservation instanceof WithdrawalSuccess withdrawn)) {
+                result.complete(reservation);
+                return;
+            }
+            accountRepository.save(source);
+            dispatchEvents(source);
+            crossShardTransfers.increment();
+            shards[destinationShard].post(() -> credit(command, sourceShard, withdrawn.getNewBalance(), result));
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    private OperationResult transferLocally(Account source, TransferFundsCommand command) {
+        Account destination = accountRepository.findByNumber(command.destinationAccountNumber()).orElse(null);
+        if (destination == null) {
+            return TransferResult.failed(DESTINATION_NOT_FOUND);
+        }
+        OperationResult outcome = DefaultAccountService.executeTransfer(source, destination, command);
+        if (outcome instanceof TransferSuccess) {
+            accountRepository.saveAll(List.of(source, destination));
+            dispatchEvents(source);
+            dispatchEvents(destination);
+            localTransfers.increment();
+        } else {
+            // a refused or compensated transfer leaves nothing to save or publish
+            source.clearDomainEvents();
+            destination.clearDomainEvents();
+        }
+        return outcome;
+    }
+
+    // Runs on the destination shard; answers the source shard with a confirmation or a refund
+    private void credit(TransferFundsCommand command, int sourceShard, Money sourceBalance,
+                        CompletableFuture<OperationResult> result) {
+        Account destination;
+        OperationResult deposit;
+        try {
+            destination = accountRepository.findByNumber(command.destinationAccountNumber()).orElse(null);
+            deposit = destination == null
+                    ? TransferResult.failed(DESTINATION_NOT_FOUND)
+                    : destination.deposit(command.amount(), command.sourceAccountNumber());
+        } catch (RuntimeException e) {
+            destination = null;
+            deposit = TransferResult.failed(e.getMessage());
+        }
+        if (!(deposit instanceof DepositSuccess deposited)) {
+            String reason = deposit instanceof TransferFailed failed && DESTINATION_NOT_FOUND.equals(failed.getReason())
+                    ? DESTINATION_NOT_FOUND
+                    : "Transfer failed during deposit";
+            shards[sourceShard].post(() -> refund(command, reason, result));
+            return;
+        }
+        try {
+            accountRepository.save(destination);
+            dispatchEvents(destination);
+        } catch (RuntimeException e) {
+            // the credit may or may not have reached the store, so the reservation is not returned
+            result.completeExceptionally(e);
+            return;
+        }
+        OperationResult success = TransferResult.success(sourceBalance, deposited.getNewBalance());
+        shards[sourceShard].post(() -> confirm(command, success, result));
+    }
+
+    // Runs on the source shard once the destination holds the money
+    private void confirm(TransferFundsCommand command, OperationResult success, CompletableFuture<OperationResult> result) {
+        accountRepository.findByNumber(command.sourceAccountNumber()).ifPresent(source -> {
+            source.registerEvent(new FundsTransferredEvent(
+                command.sourceAccountNumber(),
+                command.destinationAccountNumber(),
+                command.amount(),
+                command.reference()
+            ));
+            dispatchEvents(source);
+        });
+        result.complete(success);
+    }
+
+    // Runs on the source shard when the destination refused the credit; returns the reservation
+    private void refund(TransferFundsCommand command, String reason, CompletableFuture<OperationResult> result) {
+        try {
+            accountRepository.findByNumber(command.sourceAccountNumber()).ifPresent(source -> {
+                source.deposit(command.amount());
+                accountRepository.save(source);
+                dispatchEvents(source);
+            });
+            refundedTransfers.increment();
+            result.complete(TransferResult.failed(reason));
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    // Runs on the given shard: credits one chunk of its bucket, then queues the next chunk
+    private void accrue(InterestRun run, int shard, int from) {
+        try {
+            long[] numbers = run.buckets.numbers[shard];
+            int count = run.buckets.sizes[shard];
+            int to = Math.min(from + INTEREST_CHUNK_SIZE, count);
+            List<Account> chunk = new ArrayList<>(to - from);
+            List<Money> credited = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                Account current = accountRepository.findByNumber(AccountNumber.fromLong(numbers[i])).orElse(null);
+                if (!(current instanceof SavingsAccount account)) {
+                    continue;
+                }
+                Money interest = account.calculateInterest();
+                if (!interest.isPositive()) {
+                    continue;
+                }
+                account.deposit(interest);
+                credited.add(interest);
+                chunk.add(account);
+            }
+            if (!chunk.isEmpty()) {
+                accountRepository.saveAll(chunk);
+                chunk.forEach(this::dispatchEvents);
+                credited.forEach(run.totals::add);
+            }
+            if (to < count) {
+                shards[shard].post(() -> accrue(run, shard, to));
+            } else if (run.remaining.decrementAndGet() == 0) {
+                run.done.complete(null);
+            }
+        } catch (RuntimeException e) {
+            run.done.completeExceptionally(e);
+        }
+    }
+
+    // Hands the saved account's events to subscribers and releases them from the account
+    private void dispatchEvents(Account account) {
+        eventPublisher.publish(account.getDomainEvents());
+        account.clearDomainEvents();
+    }
+
+    public record Metrics(
+        int shards,
+        long localTransfers,
+        long crossShardTransfers,
+        long refundedTransfers,
+        long transfersInFlight
+    ) {
+        @Override
+        public String toString() {
+            return String.format("shards=%d localTransfers=%d crossShardTransfers=%d refunded=%d inFlight=%d",
+                    shards, localTransfers, crossShardTransfers, refundedTransfers, transfersInFlight);
+        }
+    }
+
+    private static final class InterestRun {
+        private final InterestAccrualEngine.StripeBuckets buckets;
+        private final InterestTotals totals = new InterestTotals();
+        private final AtomicInteger remaining;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        private InterestRun(InterestAccrualEngine.StripeBuckets buckets, int shards) {
+            this.buckets = buckets;
+            this.remaining = new AtomicInteger(shards);
+        }
+    }
+
+    // One owner thread and its mailbox. The thread flags itself as parked before re-checking the mailbox,
+    // so a producer either sees the flag and unparks it or the thread sees the task. A stopped thread
+    // flags itself as exited before draining the mailbox one last time, so a producer either sees the
+    // flag and takes its task back or the final drain runs it.
+    private static final class Shard implements Runnable {
+        private final ConcurrentLinkedQueue<Runnable> mailbox;
+        private final Thread thread;
+        private volatile boolean parked;
+        private volatile boolean running;
+        private volatile boolean exited;
+
+        private Shard(int index) {
+            this.mailbox = new ConcurrentLinkedQueue<>();
+            this.running = true;
+            this.thread = new Thread(this, "account-shard-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        // False if the shard has exited and the task will never run
+        private boolean post(Runnable task) {
+            mailbox.offer(task);
+            if (parked) {
+                LockSupport.unpark(thread);
+            }
+            return !exited || !mailbox.remove(task);
+        }
+
+        private void stop() {
+            running = false;
+            LockSupport.unpark(thread);
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Runnable task = mailbox.poll();
+                if (task != null) {
+                    execute(task);
+                    continue;
+                }
+                if (!running) {
+                    exited = true;
+                    while ((task = mailbox.poll()) != null) {
+                        execute(task);
+                    }
+                    return;
+                }
+                parked = true;
+                if (mailbox.isEmpty() && running) {
+                    LockSupport.park(this);
+                }
+                parked = false;
+            }
+        }
+
+        private static void execute(Runnable task) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                // tasks report failures to their callers; this only keeps the shard alive
+            }
+        }
+    }
+}
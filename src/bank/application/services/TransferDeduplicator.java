@@ -0,0 +1,220 @@
+package bank.application.services;
+
+import bank.application.commands.TransferFundsCommand;
+import bank.domain.results.OperationResult;
+import bank.domain.results.TransferResult;
+import bank.domain.valueobjects.AccountNumber;
+import bank.domain.valueobjects.Money;
+import bank.infrastructure.concurrency.BoundedExpiringCache;
+import bank.infrastructure.persistence.JournalAccountRepository;
+import bank.infrastructure.persistence.JournalCodec;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Remembers recent transfer outcomes by (source account, reference), so a retried command gets the
+// original result back instead of moving money twice. Only commands that were actually attempted are
+// remembered; one naming a missing account never ran and may simply run again. A command without a
+// reference is never deduplicated, and reusing a reference for a different destination or amount is
+// rejected rather than replayed. The service remembers an outcome only once it is journaled: a success
+// through its transfer entries, a refusal through a TransferRefusedEvent, so a rebuild gives the same
+// answers.
+public class TransferDeduplicator {
+    public static final int DEFAULT_MAXIMUM_ENTRIES = 1_000_000;
+    public static final Duration DEFAULT_WINDOW = Duration.ofMinutes(15);
+    // Deduplication off: nothing is remembered
+    public static final TransferDeduplicator NONE = new TransferDeduplicator(0, Duration.ZERO);
+
+    private final BoundedExpiringCache<Key, Outcome> outcomes;
+    private final boolean enabled;
+
+    public TransferDeduplicator(int maximumEntries, Duration window) {
+        this.outcomes = new BoundedExpiringCache<>(maximumEntries, window);
+        this.enabled = maximumEntries > 0 && window.isPositive();
+    }
+
+    // Rebuilt from the transfers and refusals still inside the window; only the journal segments that
+    // reach into it are read. A transfer entry does not carry its result, so the balances are taken from
+    // the withdrawal and deposit entries written in the same record.
+    public static TransferDeduplicator rebuild(JournalAccountRepository repository, int maximumEntries, Duration window) {
+        TransferDeduplicator deduplicator = new TransferDeduplicator(maximumEntries, window);
+        if (deduplicator.enabled) {
+            repository.replaySince(System.currentTimeMillis() - window.toMillis(), deduplicator.new Rebuilder());
+        }
+        return deduplicator;
+    }
+
+    // Lock-free: the original outcome for a replay, or null when the command has not been seen
+    public OperationResult find(TransferFundsCommand command) {
+        if (!remembers(command)) {
+            return null;
+        }
+        return answer(command, outcomes.get(key(command)));
+    }
+
+    // Whether remember would keep this command's outcome, so the service knows to journal a refusal
+    public boolean remembers(TransferFundsCommand command) {
+        return enabled && hasReference(command);
+    }
+
+    // Called with the source account's lock held once the outcome is journaled, so a concurrent duplicate
+    // sees it once it gets the lock
+    public void remember(TransferFundsCommand command, OperationResult result) {
+        if (remembers(command)) {
+            outcomes.put(key(command), outcome(command, result));
+        }
+    }
+
+    public Batch batch() {
+        return new Batch();
+    }
+
+    public boolean isEnabled() { return enabled; }
+    public int size() { return outcomes.size(); }
+
+    private static boolean hasReference(TransferFundsCommand command) {
+        return command.reference() != null && !command.reference().isEmpty();
+    }
+
+    private static Key key(TransferFundsCommand command) {
+        return new Key(command.sourceAccountNumber().toLong(), command.reference());
+    }
+
+    private static Outcome outcome(TransferFundsCommand command, OperationResult result) {
+        return new Outcome(command.destinationAccountNumber().toLong(), command.amount(), result);
+    }
+
+    private static OperationResult answer(TransferFundsCommand command, Outcome outcome) {
+        if (outcome == null) {
+            return null;
+        }
+        if (outcome.destination != command.destinationAccountNumber().toLong() || !outcome.amount.equals(command.amount())) {
+            return TransferResult.failed("Reference " + command.reference() + " was already used for a different transfer");
+        }
+        return outcome.result;
+    }
+
+    // Outcomes of a batch that is not saved yet: later commands of the batch see them at once, everyone
+    // else once commit is called after the batch's journal record is written. Confined to one thread.
+    public final class Batch {
+        private final Map<Key, Outcome> pending = new HashMap<>();
+
+        private Batch() {
+        }
+
+        public OperationResult find(TransferFundsCommand command) {
+            if (!remembers(command)) {
+                return null;
+            }
+            OperationResult earlier = answer(command, pending.get(key(command)));
+            return earlier != null ? earlier : answer(command, outcomes.get(key(command)));
+        }
+
+        public void remember(TransferFundsCommand command, OperationResult result) {
+            if (remembers(command)) {
+                pending.put(key(command), outcome(command, result));
+            }
+        }
+
+        public void commit() {
+            pending.forEach(outcomes::put);
+            pending.clear();
+        }
+    }
+
+    private record Key(long source, String reference) {
+    }
+
+    private record Outcome(long destination, Money amount, OperationResult result) {
+    }
+
+    // Matches each transfer entry to its source's preceding withdrawal and to a deposit of the same
+    // amount into its destination. The deposit normally sits in the same record; journals written when
+    // the two sides were saved separately have it in a later record, so unmatched transfers wait for it.
+    private final class Rebuilder implements JournalCodec.Visitor {
+        private static final int MAX_WAITING = 1024;
+
+        private final Map<AccountNumber, Long> lastWithdrawal = new HashMap<>();
+        private final List<long[]> deposits = new ArrayList<>();
+        private final List<Transfer> transfers = new ArrayList<>();
+        private final List<Transfer> waiting = new ArrayList<>();
+
+        @Override
+        public void fundsDeposited(long timestamp, AccountNumber accountNumber, long amount, long newBalance) {
+            for (int i = 0; i < waiting.size(); i++) {
+                Transfer transfer = waiting.get(i);
+                if (transfer.matches(accountNumber.toLong(), amount)) {
+                    waiting.remove(i);
+                    remember(transfer, newBalance);
+                    return;
+                }
+            }
+            deposits.add(new long[] {accountNumber.toLong(), amount, newBalance});
+        }
+
+        @Override
+        public void fundsWithdrawn(long timestamp, AccountNumber accountNumber, long amount, long newBalance) {
+            lastWithdrawal.put(accountNumber, newBalance);
+        }
+
+        @Override
+        public void fundsTransferred(long timestamp, AccountNumber source, AccountNumber destination,
+                                     Money amount, String reference) {
+            Long sourceBalance = lastWithdrawal.get(source);
+            if (sourceBalance != null && reference != null && !reference.isEmpty()) {
+                transfers.add(new Transfer(timestamp, source, destination, amount, reference, sourceBalance));
+            }
+        }
+
+        @Override
+        public void endOfRecord() {
+            for (Transfer transfer : transfers) {
+                long[] match = null;
+                for (long[] deposit : deposits) {
+                    if (transfer.matches(deposit[0], deposit[1])) {
+                        match = deposit;
+                        break;
+                    }
+                }
+                if (match != null) {
+                    deposits.remove(match);
+                    remember(transfer, match[2]);
+                } else {
+                    waiting.add(transfer);
+                }
+            }
+            if (waiting.size() > MAX_WAITING) {
+                // a side that never arrived, e.g. a crash between the two saves; that transfer is forgotten
+                waiting.subList(0, waiting.size() - MAX_WAITING).clear();
+            }
+            lastWithdrawal.clear();
+            deposits.clear();
+            transfers.clear();
+        }
+
+        @Override
+        public void transferRefused(long timestamp, AccountNumber source, AccountNumber destination,
+                                    Money amount, String reference, OperationResult outcome) {
+            outcomes.put(new Key(source.toLong(), reference), new Outcome(destination.toLong(), amount, outcome), timestamp);
+        }
+
+        private void remember(Transfer transfer, long destinationBalance) {
+            Currency currency = transfer.amount.getCurrency();
+            OperationResult result = TransferResult.success(
+                    Money.ofMinor(transfer.sourceBalance, currency), Money.ofMinor(destinationBalance, currency));
+            outcomes.put(new Key(transfer.source.toLong(), transfer.reference),
+                    new Outcome(transfer.destination.toLong(), transfer.amount, result), transfer.timestamp);
+        }
+    }
+
+    private record Transfer(long timestamp, AccountNumber source, AccountNumber destination, Money amount,
+                            String reference, long sourceBalance) {
+        private boolean matches(long destinationNumber, long minorUnits) {
+            return destination.toLong() == destinationNumber && amount.getMinorUnits() == minorUnits;
+        }
+    }
+}
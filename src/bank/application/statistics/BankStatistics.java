@@ -0,0 +1,159 @@
+package bank.application.statistics;
+
+import bank.domain.entities.Account;
+import bank.domain.entities.AccountType;
+import bank.domain.events.AccountClosedEvent;
+import bank.domain.events.AccountOpenedEvent;
+import bank.domain.events.DomainEvent;
+import bank.domain.events.FundsDepositedEvent;
+import bank.domain.events.FundsTransferredEvent;
+import bank.domain.events.FundsWithdrawnEvent;
+import bank.domain.valueobjects.Money;
+import bank.infrastructure.messaging.EventSubscriber;
+
+import java.util.Currency;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Aggregates maintained incrementally from domain events, so reading them never scans accounts.
+//
+// Counters are LongAdders and may be read while the outbox thread updates them. Balances per currency
+// also keep a sorted multiset (balance -> number of accounts) so minimum and maximum are the first and
+// last keys. Updates assume one writer, the outbox subscriber thread, and that events for one account
+// arrive in order, which holds because the service publishes while holding the account's lock.
+// Accounts that exist before the subscriber starts are loaded once with seed.
+public class BankStatistics implements EventSubscriber {
+    private final Map<AccountType, LongAdder> accountsByType;
+    private final LongAdder deposits;
+    private final LongAdder withdrawals;
+    private final LongAdder transfers;
+    private final Map<Currency, CurrencyTotals> currencies;
+
+    public BankStatistics() {
+        this.accountsByType = new EnumMap<>(AccountType.class);
+        for (AccountType type : AccountType.values()) {
+            accountsByType.put(type, new LongAdder());
+        }
+        this.deposits = new LongAdder();
+        this.withdrawals = new LongAdder();
+        this.transfers = new LongAdder();
+        this.currencies = new ConcurrentHashMap<>();
+    }
+
+    // Counts existing accounts; call before the subscriber receives events
+    public void seed(Iterable<Account> accounts) {
+        for (Account account : accounts) {
+            accountOpened(account.getAccountType(), account.getBalance());
+        }
+    }
+
+    @Override
+    public void onEvent(DomainEvent event, boolean endOfBatch) {
+        if (event instanceof AccountOpenedEvent opened) {
+            accountOpened(opened.getAccountType(), opened.getInitialBalance());
+        } else if (event instanceof AccountClosedEvent closed) {
+            accountClosed(closed.getAccountType(), closed.getFinalBalance());
+        } else if (event instanceof FundsDepositedEvent deposited) {
+            deposits.increment();
+            totals(deposited.getAmount()).deposited.add(deposited.getAmount().getMinorUnits());
+            balanceChanged(deposited.getOldBalance(), deposited.getNewBalance());
+        } else if (event instanceof FundsWithdrawnEvent withdrawn) {
+            withdrawals.increment();
+            totals(withdrawn.getAmount()).withdrawn.add(withdrawn.getAmount().getMinorUnits());
+            balanceChanged(withdrawn.getOldBalance(), withdrawn.getNewBalance());
+        } else if (event instanceof FundsTransferredEvent transferred) {
+            // the balance moves arrive as the transfer's own withdrawal and deposit events
+            transfers.increment();
+            totals(transferred.getAmount()).transferred.add(transferred.getAmount().getMinorUnits());
+        }
+    }
+
+    public Snapshot snapshot() {
+        Map<AccountType, Long> byType = new EnumMap<>(AccountType.class);
+        accountsByType.forEach((type, count) -> byType.put(type, count.sum()));
+        Map<Currency, CurrencySnapshot> byCurrency = new TreeMap<>((a, b) -> a.getCurrencyCode().compareTo(b.getCurrencyCode()));
+        currencies.forEach((currency, totals) -> byCurrency.put(currency, totals.snapshot(currency)));
+        return new Snapshot(byType, deposits.sum(), withdrawals.sum(), transfers.sum(), byCurrency);
+    }
+
+    private void accountOpened(AccountType type, Money balance) {
+        accountsByType.get(type).increment();
+        CurrencyTotals totals = totals(balance);
+        totals.accounts.increment();
+        totals.balance.add(balance.getMinorUnits());
+        totals.distribution.merge(balance.getMinorUnits(), 1L, Long::sum);
+    }
+
+    private void accountClosed(AccountType type, Money balance) {
+        accountsByType.get(type).decrement();
+        CurrencyTotals totals = totals(balance);
+        totals.accounts.decrement();
+        totals.balance.add(-balance.getMinorUnits());
+        totals.distribution.computeIfPresent(balance.getMinorUnits(), (key, count) -> count == 1 ? null : count - 1);
+    }
+
+    private void balanceChanged(Money oldBalance, Money newBalance) {
+        CurrencyTotals totals = totals(newBalance);
+        totals.balance.add(newBalance.getMinorUnits() - oldBalance.getMinorUnits());
+        totals.distribution.computeIfPresent(oldBalance.getMinorUnits(), (balance, count) -> count == 1 ? null : count - 1);
+        totals.distribution.merge(newBalance.getMinorUnits(), 1L, Long::sum);
+    }
+
+    private CurrencyTotals totals(Money money) {
+        return currencies.computeIfAbsent(money.getCurrency(), currency -> new CurrencyTotals());
+    }
+
+    public record Snapshot(
+        Map<AccountType, Long> accountsByType,
+        long depositCount,
+        long withdrawalCount,
+        long transferCount,
+        Map<Currency, CurrencySnapshot> currencies
+    ) {
+        public long totalAccounts() {
+            return accountsByType.values().stream().mapToLong(Long::longValue).sum();
+        }
+    }
+
+    public record CurrencySnapshot(
+        long accounts,
+        Money totalBalance,
+        Money minimumBalance,
+        Money maximumBalance,
+        Money meanBalance,
+        Money totalDeposited,
+        Money totalWithdrawn,
+        Money totalTransferred
+    ) {
+    }
+
+    private static final class CurrencyTotals {
+        private final LongAdder accounts = new LongAdder();
+        private final LongAdder balance = new LongAdder();
+        private final LongAdder deposited = new LongAdder();
+        private final LongAdder withdrawn = new LongAdder();
+        private final LongAdder transferred = new LongAdder();
+        private final ConcurrentSkipListMap<Long, Long> distribution = new ConcurrentSkipListMap<>();
+
+        private CurrencySnapshot snapshot(Currency currency) {
+            long count = accounts.sum();
+            long total = balance.sum();
+            Map.Entry<Long, Long> lowest = distribution.firstEntry();
+            Map.Entry<Long, Long> highest = distribution.lastEntry();
+            return new CurrencySnapshot(
+                count,
+                Money.ofMinor(total, currency),
+                Money.ofMinor(lowest == null ? 0L : lowest.getKey(), currency),
+                Money.ofMinor(highest == null ? 0L : highest.getKey(), currency),
+                Money.ofMinor(count == 0 ? 0L : total / count, currency),
+                Money.ofMinor(deposited.sum(), currency),
+                Money.ofMinor(withdrawn.sum(), currency),
+                Money.ofMinor(transferred.sum(), currency)
+            );
+        }
+    }
+}
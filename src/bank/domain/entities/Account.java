@@ -1,11 +1,15 @@
 package bank.domain.entities;
 
 import bank.domain.events.*;
+import bank.domain.products.AccountProduct;
 import bank.domain.results.OperationResult;
 import bank.domain.valueobjects.AccountNumber;
 import bank.domain.valueobjects.Money;
+import bank.domain.valueobjects.MoneyAccumulator;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -13,71 +17,147 @@ import java.util.List;
 public abstract class Account {
     private final AccountNumber accountNumber;
     private String accountHolderName;
-    private Money balance;
-    private final LocalDateTime dateCreated;
-    private final List<DomainEvent> domainEvents;
+    private final MoneyAccumulator balance;
+    // Creation time as local date-time millis (the local clock reading encoded at UTC), so the
+    // account carries a long rather than a LocalDateTime graph
+    private final long createdEpochMillis;
+    // Allocated on the first event and released when events are cleared; most accounts hold none
+    private List<DomainEvent> domainEvents;
+    // Bumped by repositories on every versioned save; optimistic updates commit only if it is unchanged
+    private long version;
 
-    protected Account(AccountNumber accountNumber, String accountHolderName, Money initialBalance) {
+    // The subclass passes its type rather than the event asking getAccountType() of a half-built object
+    protected Account(AccountNumber accountNumber, String accountHolderName, Money initialBalance,
+                      AccountType accountType) {
         this.accountNumber = accountNumber;
         this.accountHolderName = accountHolderName;
-        this.balance = initialBalance;
-        this.dateCreated = LocalDateTime.now();
-        this.domainEvents = new ArrayList<>();
+        this.balance = new MoneyAccumulator(initialBalance);
+        this.createdEpochMillis = LocalDateTime.now().toInstant(ZoneOffset.UTC).toEpochMilli();
         
-        registerEvent(new AccountOpenedEvent(accountNumber, accountHolderName, initialBalance));
+        registerEvent(new AccountOpenedEvent(accountNumber, accountHolderName, accountType, initialBalance));
     }
 
+    // Rehydration from persisted state - no AccountOpenedEvent is raised
+    protected Account(AccountNumber accountNumber, String accountHolderName, Money balance, LocalDateTime dateCreated) {
+        this.accountNumber = accountNumber;
+        this.accountHolderName = accountHolderName;
+        this.balance = new MoneyAccumulator(balance);
+        this.createdEpochMillis = dateCreated.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    // Working copy for optimistic updates: same state and version, no pending events
+    protected Account(Account other) {
+        this.accountNumber = other.accountNumber;
+        this.accountHolderName = other.accountHolderName;
+        this.balance = new MoneyAccumulator(other.balance.toMoney());
+        this.createdEpochMillis = other.createdEpochMillis;
+        this.version = other.version;
+    }
+
+    public abstract Account copy();
+
     // Core business logic - use full class names
     public final OperationResult deposit(Money amount) {
+        return deposit(amount, null);
+    }
+
+    // The counterparty is the source account when this is the credit side of a transfer
+    public final OperationResult deposit(Money amount, AccountNumber counterparty) {
         if (!amount.isPositive()) {
             return bank.domain.results.DepositResult.failed("Deposit amount must be positive");
         }
 
-        Money oldBalance = this.balance;
-        this.balance = this.balance.add(amount);
+        Money oldBalance = balance.toMoney();
+        balance.add(amount);
+        Money newBalance = balance.toMoney();
         
-        registerEvent(new FundsDepositedEvent(accountNumber, amount, oldBalance, this.balance));
-        return bank.domain.results.DepositResult.success(this.balance);
+        registerEvent(new FundsDepositedEvent(accountNumber, amount, oldBalance, newBalance, counterparty));
+        return bank.domain.results.DepositResult.success(newBalance);
+    }
+
+    public final OperationResult withdraw(Money amount) {
+        return withdraw(amount, null);
     }
 
-    public abstract OperationResult withdraw(Money amount);
+    // The counterparty is the destination account when this is the debit side of a transfer
+    public abstract OperationResult withdraw(Money amount, AccountNumber counterparty);
 
-    protected final OperationResult performWithdrawal(Money amount, Money availableBalance) {
+    // Available funds are passed in minor units so limit checks do not allocate
+    protected final OperationResult performWithdrawal(Money amount, long availableMinorUnits,
+                                                      AccountNumber counterparty) {
         if (!amount.isPositive()) {
             return bank.domain.results.WithdrawalResult.failed("Withdrawal amount must be positive");
         }
 
-        if (amount.isGreaterThan(availableBalance)) {
-            return bank.domain.results.WithdrawalResult.insufficientFunds(availableBalance, amount);
+        if (amount.getMinorUnits() > availableMinorUnits) {
+            return bank.domain.results.WithdrawalResult.insufficientFunds(
+                Money.ofMinor(availableMinorUnits, balance.getCurrency()), amount);
         }
 
-        Money oldBalance = this.balance;
-        this.balance = this.balance.subtract(amount);
+        Money oldBalance = balance.toMoney();
+        balance.subtract(amount);
+        Money newBalance = balance.toMoney();
         
-        registerEvent(new FundsWithdrawnEvent(accountNumber, amount, oldBalance, this.balance));
-        return bank.domain.results.WithdrawalResult.success(this.balance);
+        registerEvent(new FundsWithdrawnEvent(accountNumber, amount, oldBalance, newBalance, counterparty));
+        return bank.domain.results.WithdrawalResult.success(newBalance);
+    }
+
+    // Only an empty account can be closed; the caller then deletes it from the repository
+    public final void close() {
+        Money finalBalance = balance.toMoney();
+        if (finalBalance.isPositive() || finalBalance.isNegative()) {
+            throw new IllegalStateException("Account " + accountNumber + " still holds " + finalBalance);
+        }
+        registerEvent(new AccountClosedEvent(accountNumber, getAccountType(), finalBalance));
     }
 
     // Event sourcing - make this public
-    public void registerEvent(DomainEvent event) {
+    public final void registerEvent(DomainEvent event) {
+        if (domainEvents == null) {
+            domainEvents = new ArrayList<>(4);
+        }
         this.domainEvents.add(event);
     }
 
     public List<DomainEvent> getDomainEvents() {
-        return Collections.unmodifiableList(domainEvents);
+        return domainEvents == null ? List.of() : Collections.unmodifiableList(domainEvents);
     }
 
     public void clearDomainEvents() {
-        this.domainEvents.clear();
+        this.domainEvents = null;
+    }
+
+    // Drops the events raised after the first count, e.g. by an operation that was undone
+    public void discardDomainEventsAfter(int count) {
+        if (domainEvents != null && domainEvents.size() > count) {
+            domainEvents.subList(count, domainEvents.size()).clear();
+        }
+    }
+
+    // Replay of a persisted balance change; bypasses business rules and raises no event
+    public void restoreBalance(Money balance) {
+        this.balance.set(balance);
     }
 
     // Getters
     public AccountNumber getAccountNumber() { return accountNumber; }
     public String getAccountHolderName() { return accountHolderName; }
-    public Money getBalance() { return balance; }
-    public LocalDateTime getDateCreated() { return dateCreated; }
+    public Money getBalance() { return balance.toMoney(); }
+    public LocalDateTime getDateCreated() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(createdEpochMillis), ZoneOffset.UTC);
+    }
+    public long getCreatedEpochMillis() { return createdEpochMillis; }
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
+    // Allocation-free views of the balance for subclasses' limit checks
+    protected final long balancePlus(Money amount) { return balance.plus(amount); }
+    protected final long balanceMinus(Money amount) { return balance.minus(amount); }
+    protected final long balanceMinorUnits() { return balance.getMinorUnits(); }
+    protected final void validateSameCurrency(Money other) { balance.validateSameCurrency(other); }
 
     // Behavioral methods
     public abstract AccountType getAccountType();
+    public abstract AccountProduct getProduct();
     public abstract Money getAvailableBalance();
 }
\ No newline at end of file
@@ -1,17 +1,15 @@
 package bank.domain.entities;
 
 public enum AccountType {
-    SAVINGS("Savings Account", 0.02),
-    CHECKING("Checking Account", 0.00);
+    SAVINGS("Savings Account"),
+    CHECKING("Checking Account");
 
+    // Rates and limits belong to products; see ProductCatalog.standard
     private final String description;
-    private final double defaultInterestRate;
 
-    AccountType(String description, double defaultInterestRate) {
+    AccountType(String description) {
         this.description = description;
-        this.defaultInterestRate = defaultInterestRate;
     }
 
     public String getDescription() { return description; }
-    public double getDefaultInterestRate() { return defaultInterestRate; }
 }
\ No newline at end of file
@@ -1,22 +1,52 @@
 package bank.domain.entities;
 
+import bank.domain.products.AccountProduct;
+import bank.domain.products.ProductCatalog;
 import bank.domain.results.OperationResult;
 import bank.domain.valueobjects.AccountNumber;
 import bank.domain.valueobjects.Money;
 
+import java.time.LocalDateTime;
+
 public class CheckingAccount extends Account {
-    private final Money overdraftLimit;
+    private final AccountProduct product;
 
     public CheckingAccount(AccountNumber accountNumber, String accountHolderName, 
                           Money initialBalance, Money overdraftLimit) {
-        super(accountNumber, accountHolderName, initialBalance);
-        this.overdraftLimit = overdraftLimit;
+        this(accountNumber, accountHolderName, initialBalance, ProductCatalog.global().checking(overdraftLimit));
+    }
+
+    public CheckingAccount(AccountNumber accountNumber, String accountHolderName,
+                           Money initialBalance, AccountProduct product) {
+        super(accountNumber, accountHolderName, initialBalance, AccountType.CHECKING);
+        this.product = product;
+    }
+
+    private CheckingAccount(AccountNumber accountNumber, String accountHolderName, Money balance,
+                            AccountProduct product, LocalDateTime dateCreated) {
+        super(accountNumber, accountHolderName, balance, dateCreated);
+        this.product = product;
+    }
+
+    private CheckingAccount(CheckingAccount other) {
+        super(other);
+        this.product = other.product;
+    }
+
+    public static CheckingAccount restore(AccountNumber accountNumber, String accountHolderName, Money balance,
+                                          Money overdraftLimit, LocalDateTime dateCreated) {
+        return new CheckingAccount(accountNumber, accountHolderName, balance,
+                ProductCatalog.global().checking(overdraftLimit), dateCreated);
     }
 
     @Override
-    public OperationResult withdraw(Money amount) {
-        Money availableBalance = getBalance().add(overdraftLimit);
-        return performWithdrawal(amount, availableBalance);
+    public CheckingAccount copy() {
+        return new CheckingAccount(this);
+    }
+
+    @Override
+    public OperationResult withdraw(Money amount, AccountNumber counterparty) {
+        return performWithdrawal(amount, balancePlus(product.getOverdraftLimit()), counterparty);
     }
 
     @Override
@@ -26,8 +56,11 @@ public class CheckingAccount extends Account {
 
     @Override
     public Money getAvailableBalance() {
-        return getBalance().add(overdraftLimit);
+        return getBalance().add(product.getOverdraftLimit());
     }
 
-    public Money getOverdraftLimit() { return overdraftLimit; }
+    @Override
+    public AccountProduct getProduct() { return product; }
+
+    public Money getOverdraftLimit() { return product.getOverdraftLimit(); }
 }
\ No newline at end of file
@@ -1,31 +1,63 @@
 package bank.domain.entities;
 
+import bank.domain.products.AccountProduct;
+import bank.domain.products.ProductCatalog;
 import bank.domain.results.OperationResult;
 import bank.domain.valueobjects.AccountNumber;
 import bank.domain.valueobjects.Money;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 public class SavingsAccount extends Account {
-    private final BigDecimal interestRate;
-    private final Money minimumBalance;
+    private final AccountProduct product;
 
     public SavingsAccount(AccountNumber accountNumber, String accountHolderName, 
                          Money initialBalance, BigDecimal interestRate, Money minimumBalance) {
-        super(accountNumber, accountHolderName, initialBalance);
-        this.interestRate = interestRate;
-        this.minimumBalance = minimumBalance;
+        this(accountNumber, accountHolderName, initialBalance, ProductCatalog.global().savings(interestRate, minimumBalance));
+    }
+
+    public SavingsAccount(AccountNumber accountNumber, String accountHolderName,
+                          Money initialBalance, AccountProduct product) {
+        super(accountNumber, accountHolderName, initialBalance, AccountType.SAVINGS);
+        this.product = product;
+    }
+
+    private SavingsAccount(AccountNumber accountNumber, String accountHolderName, Money balance,
+                           AccountProduct product, LocalDateTime dateCreated) {
+        super(accountNumber, accountHolderName, balance, dateCreated);
+        this.product = product;
+    }
+
+    private SavingsAccount(SavingsAccount other) {
+        super(other);
+        this.product = other.product;
+    }
+
+    public static SavingsAccount restore(AccountNumber accountNumber, String accountHolderName, Money balance,
+                                         BigDecimal interestRate, Money minimumBalance, LocalDateTime dateCreated) {
+        return new SavingsAccount(accountNumber, accountHolderName, balance,
+                ProductCatalog.global().savings(interestRate, minimumBalance), dateCreated);
+    }
+
+    @Override
+    public SavingsAccount copy() {
+        return new SavingsAccount(this);
     }
 
     @Override
-    public OperationResult withdraw(Money amount) {
-        Money potentialBalance = getBalance().subtract(amount);
+    public OperationResult withdraw(Money amount, AccountNumber counterparty) {
+        Money minimumBalance = product.getMinimumBalance();
+        // Minor units are only comparable within one currency
+        validateSameCurrency(minimumBalance);
+        long potentialBalance = balanceMinus(amount);
         
-        if (potentialBalance.isLessThan(minimumBalance)) {
-            return bank.domain.results.WithdrawalResult.violatesMinimumBalance(minimumBalance, potentialBalance);
+        if (potentialBalance < minimumBalance.getMinorUnits()) {
+            return bank.domain.results.WithdrawalResult.violatesMinimumBalance(
+                minimumBalance, Money.ofMinor(potentialBalance, minimumBalance.getCurrency()));
         }
 
-        return performWithdrawal(amount, getBalance());
+        return performWithdrawal(amount, balanceMinorUnits(), counterparty);
     }
 
     @Override
@@ -35,16 +67,19 @@ public class SavingsAccount extends Account {
 
     @Override
     public Money getAvailableBalance() {
-        return getBalance().subtract(minimumBalance);
+        return getBalance().subtract(product.getMinimumBalance());
     }
 
     public Money calculateInterest() {
         return Money.of(
-            getBalance().getAmount().multiply(interestRate), 
+            getBalance().getAmount().multiply(product.getInterestRate()), 
             getBalance().getCurrency()
         );
     }
 
-    public BigDecimal getInterestRate() { return interestRate; }
-    public Money getMinimumBalance() { return minimumBalance; }
+    @Override
+    public AccountProduct getProduct() { return product; }
+
+    public BigDecimal getInterestRate() { return product.getInterestRate(); }
+    public Money getMinimumBalance() { return product.getMinimumBalance(); }
 }
\ No newline at end of file
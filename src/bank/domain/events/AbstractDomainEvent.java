@@ -0,0 +1,30 @@
+package bank.domain.events;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+// Events carry a primitive sequence and timestamp; the UUID and LocalDateTime forms are only
+// built when someone asks for them.
+public abstract class AbstractDomainEvent implements DomainEvent {
+    private final long sequence;
+    private final long occurredAtMillis;
+
+    protected AbstractDomainEvent() {
+        this(EventContext.idGenerator().nextSequence(), EventContext.clock().currentTimeMillis());
+    }
+
+    protected AbstractDomainEvent(long sequence, long occurredAtMillis) {
+        this.sequence = sequence;
+        this.occurredAtMillis = occurredAtMillis;
+    }
+
+    // Time-ordered: the most significant half is the timestamp, the least significant the sequence
+    @Override public UUID getEventId() { return new UUID(occurredAtMillis, sequence); }
+    @Override public LocalDateTime getOccurredOn() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(occurredAtMillis), ZoneId.systemDefault());
+    }
+    @Override public long getSequence() { return sequence; }
+    @Override public long getOccurredAtMillis() { return occurredAtMillis; }
+}
@@ -0,0 +1,23 @@
+package bank.domain.events;
+
+import bank.domain.entities.AccountType;
+import bank.domain.valueobjects.AccountNumber;
+import bank.domain.valueobjects.Money;
+
+public class AccountClosedEvent extends AbstractDomainEvent {
+    private final AccountNumber accountNumber;
+    private final AccountType accountType;
+    private final Money finalBalance;
+
+    public AccountClosedEvent(AccountNumber accountNumber, AccountType accountType, Money finalBalance) {
+        this.accountNumber = accountNumber;
+        this.accountType = accountType;
+        this.finalBalance = finalBalance;
+    }
+
+    @Override public String getEventType() { return "ACCOUNT_CLOSED"; }
+
+    public AccountNumber getAccountNumber() { return accountNumber; }
+    public AccountType getAccountType() { return accountType; }
+    public Money getFinalBalance() { return finalBalance; }
+}
@@ -1,31 +1,27 @@
 package bank.domain.events;
 
+import bank.domain.entities.AccountType;
 import bank.domain.valueobjects.AccountNumber;
 import bank.domain.valueobjects.Money;
 
-import java.time.LocalDateTime;
-import java.util.UUID;
-
-public class AccountOpenedEvent implements DomainEvent {
-    private final UUID eventId;
-    private final LocalDateTime occurredOn;
+public class AccountOpenedEvent extends AbstractDomainEvent {
     private final AccountNumber accountNumber;
     private final String accountHolderName;
+    private final AccountType accountType;
     private final Money initialBalance;
 
-    public AccountOpenedEvent(AccountNumber accountNumber, String accountHolderName, Money initialBalance) {
-        this.eventId = UUID.randomUUID();
-        this.occurredOn = LocalDateTime.now();
+    public AccountOpenedEvent(AccountNumber accountNumber, String accountHolderName, AccountType accountType,
+                              Money initialBalance) {
         this.accountNumber = accountNumber;
         this.accountHolderName = accountHolderName;
+        this.accountType = accountType;
         this.initialBalance = initialBalance;
     }
 
-    @Override public UUID getEventId() { return eventId; }
-    @Override public LocalDateTime getOccurredOn() { return occurredOn; }
     @Override public String getEventType() { return "ACCOUNT_OPENED"; }
     
     public AccountNumber getAccountNumber() { return accountNumber; }
     public String getAccountHolderName() { return accountHolderName; }
+    public AccountType getAccountType() { return accountType; }
     public Money getInitialBalance() { return initialBalance; }
 }
\ No newline at end of file
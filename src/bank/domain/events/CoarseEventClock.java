@@ -0,0 +1,43 @@
+package bank.domain.events;
+
+import java.util.concurrent.locks.LockSupport;
+
+// Millisecond clock read from a volatile field that a daemon thread refreshes about once per
+// millisecond, so stamping an event costs a plain memory read. The thread starts with the clock and
+// runs until it is closed; nothing creates one unless asked to, see EventContext.configureClock.
+public final class CoarseEventClock implements EventClock, AutoCloseable {
+    private static final long TICK_NANOS = 1_000_000L;
+
+    private final Thread ticker;
+    private volatile long millis;
+    private volatile boolean closed;
+
+    public CoarseEventClock() {
+        this.millis = System.currentTimeMillis();
+        this.ticker = new Thread(this::tick, "coarse-event-clock");
+        ticker.setDaemon(true);
+        ticker.start();
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return millis;
+    }
+
+    // Stops the ticker; reads after this return the last tick
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(ticker);
+    }
+
+    private void tick() {
+        while (!closed) {
+            LockSupport.parkNanos(TICK_NANOS);
+            long now = System.currentTimeMillis();
+            if (now > millis) {
+                millis = now;
+            }
+        }
+    }
+}
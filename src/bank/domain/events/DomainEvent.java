@@ -7,4 +7,6 @@ public interface DomainEvent {
     UUID getEventId();
     LocalDateTime getOccurredOn();
     String getEventType();
-}
\ No newline at end of file
+    long getSequence();
+    long getOccurredAtMillis();
+}
@@ -0,0 +1,9 @@
+package bank.domain.events;
+
+import java.util.List;
+
+public interface DomainEventPublisher {
+    DomainEventPublisher NONE = events -> { };
+
+    void publish(List<DomainEvent> events);
+}
@@ -0,0 +1,8 @@
+package bank.domain.events;
+
+@FunctionalInterface
+public interface EventClock {
+    EventClock SYSTEM = System::currentTimeMillis;
+
+    long currentTimeMillis();
+}
@@ -0,0 +1,24 @@
+package bank.domain.events;
+
+// Clock and id source used when events are created; replaceable for tests, replay or tuning.
+// The default clock reads the system clock, so loading this class starts no thread; a server that
+// stamps events at high rates installs a CoarseEventClock explicitly.
+public final class EventContext {
+    private static volatile EventClock clock = EventClock.SYSTEM;
+    private static volatile EventIdGenerator idGenerator = new EventIdGenerator(1024);
+
+    private EventContext() {
+    }
+
+    public static void configure(EventClock eventClock, EventIdGenerator eventIdGenerator) {
+        clock = eventClock;
+        idGenerator = eventIdGenerator;
+    }
+
+    public static void configureClock(EventClock eventClock) {
+        clock = eventClock;
+    }
+
+    static EventClock clock() { return clock; }
+    static EventIdGenerator idGenerator() { return idGenerator; }
+}
@@ -0,0 +1,63 @@
+package bank.domain.events;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Unique 64-bit event sequences handed out in blocks from a fixed set of stripes, so the shared
+// counter is touched once per block rather than once per event. A thread always draws from the
+// stripe its id maps to; the number of partly used blocks is bounded by the stripe count, not by the
+// number of threads that ever created an event, which matters with virtual threads. Sequences are
+// unique and increase within a stripe, hence within a thread; across stripes they are ordered by block.
+public final class EventIdGenerator {
+    private final AtomicLong nextBlock;
+    private final int blockSize;
+    private final Stripe[] stripes;
+    private final int mask;
+
+    public EventIdGenerator(int blockSize) {
+        this(0L, blockSize);
+    }
+
+    public EventIdGenerator(long start, int blockSize) {
+        this(start, blockSize, Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    public EventIdGenerator(long start, int blockSize, int minimumStripes) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+        this.nextBlock = new AtomicLong(start);
+        this.blockSize = blockSize;
+        int size = Integer.highestOneBit(Math.max(1, minimumStripes - 1)) << 1;
+        this.stripes = new Stripe[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    public long nextSequence() {
+        Stripe stripe = stripes[stripeOf(Thread.currentThread().threadId())];
+        stripe.lock.lock();
+        try {
+            if (stripe.next == stripe.end) {
+                stripe.next = nextBlock.getAndAdd(blockSize);
+                stripe.end = stripe.next + blockSize;
+            }
+            return stripe.next++;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private int stripeOf(long threadId) {
+        int h = Long.hashCode(threadId);
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private static final class Stripe {
+        final ReentrantLock lock = new ReentrantLock();
+        long next;
+        long end;
+    }
+}
@@ -3,32 +3,32 @@ package bank.domain.events;
 import bank.domain.valueobjects.AccountNumber;
 import bank.domain.valueobjects.Money;
 
-import java.time.LocalDateTime;
-import java.util.UUID;
-
-public class FundsWithdrawnEvent implements DomainEvent {
-    private final UUID eventId;
-    private final LocalDateTime occurredOn;
+public class FundsWithdrawnEvent extends AbstractDomainEvent {
     private final AccountNumber accountNumber;
     private final Money amount;
     private final Money oldBalance;
     private final Money newBalance;
+    // the other account of a transfer, null for cash
+    private final AccountNumber counterparty;
 
     public FundsWithdrawnEvent(AccountNumber accountNumber, Money amount, Money oldBalance, Money newBalance) {
-        this.eventId = UUID.randomUUID();
-        this.occurredOn = LocalDateTime.now();
+        this(accountNumber, amount, oldBalance, newBalance, null);
+    }
+
+    public FundsWithdrawnEvent(AccountNumber accountNumber, Money amount, Money oldBalance, Money newBalance,
+                               AccountNumber counterparty) {
         this.accountNumber = accountNumber;
         this.amount = amount;
         this.oldBalance = oldBalance;
         this.newBalance = newBalance;
+        this.counterparty = counterparty;
     }
 
-    @Override public UUID getEventId() { return eventId; }
-    @Override public LocalDateTime getOccurredOn() { return occurredOn; }
     @Override public String getEventType() { return "FUNDS_WITHDRAWN"; }
     
     public AccountNumber getAccountNumber() { return accountNumber; }
     public Money getAmount() { return amount; }
     public Money getOldBalance() { return oldBalance; }
     public Money getNewBalance() { return newBalance; }
+    public AccountNumber getCounterparty() { return counterparty; }
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package bank.domain.events;
+
+import bank.domain.results.OperationResult;
+import bank.domain.valueobjects.AccountNumber;
+import bank.domain.valueobjects.Money;
+
+// A transfer that was attempted and refused; moves no money, but records the answer a retry must get
+public class TransferRefusedEvent extends AbstractDomainEvent {
+    private final AccountNumber sourceAccount;
+    private final AccountNumber destinationAccount;
+    private final Money amount;
+    private final String reference;
+    private final OperationResult outcome;
+
+    public TransferRefusedEvent(AccountNumber source, AccountNumber destination, Money amount, String reference,
+                                OperationResult outcome) {
+        this.sourceAccount = source;
+        this.destinationAccount = destination;
+        this.amount = amount;
+        this.reference = reference;
+        this.outcome = outcome;
+    }
+
+    @Override public String getEventType() { return "TRANSFER_REFUSED"; }
+
+    public AccountNumber getSourceAccount() { return sourceAccount; }
+    public AccountNumber getDestinationAccount() { return destinationAccount; }
+    public Money getAmount() { return amount; }
+    public String getReference() { return reference; }
+    public OperationResult getOutcome() { return outcome; }
+}
@@ -0,0 +1,42 @@
+package bank.domain.products;
+
+import bank.domain.entities.AccountType;
+import bank.domain.valueobjects.Money;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+// Terms shared by every account opened on the same product. Instances come from ProductCatalog, which
+// hands out one instance per distinct set of terms, so accounts only carry a reference.
+// Terms that do not apply to the account type are zero.
+public final class AccountProduct {
+    private final int id;
+    private final AccountType accountType;
+    private final Currency currency;
+    private final BigDecimal interestRate;
+    private final Money minimumBalance;
+    private final Money overdraftLimit;
+
+    AccountProduct(int id, AccountType accountType, Currency currency, BigDecimal interestRate,
+                   Money minimumBalance, Money overdraftLimit) {
+        this.id = id;
+        this.accountType = accountType;
+        this.currency = currency;
+        this.interestRate = interestRate;
+        this.minimumBalance = minimumBalance;
+        this.overdraftLimit = overdraftLimit;
+    }
+
+    public int getId() { return id; }
+    public AccountType getAccountType() { return accountType; }
+    public Currency getCurrency() { return currency; }
+    public BigDecimal getInterestRate() { return interestRate; }
+    public Money getMinimumBalance() { return minimumBalance; }
+    public Money getOverdraftLimit() { return overdraftLimit; }
+
+    @Override
+    public String toString() {
+        return String.format("%s #%d (%s, rate %s, minimum %s, overdraft %s)", accountType, id,
+                currency.getCurrencyCode(), interestRate.toPlainString(), minimumBalance, overdraftLimit);
+    }
+}
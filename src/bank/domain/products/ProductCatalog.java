@@ -0,0 +1,91 @@
+package bank.domain.products;
+
+import bank.domain.entities.AccountType;
+import bank.domain.valueobjects.Money;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Interning catalog of account products. Asking twice for the same terms returns the same instance, so
+// a million accounts on the standard tariff share one rate and one limit. Ids are assigned in order of
+// first use and are only meaningful within this process; persisted state stores the terms themselves
+// and is interned again when loaded.
+public final class ProductCatalog {
+    private static final ProductCatalog GLOBAL = new ProductCatalog();
+
+    private static final BigDecimal STANDARD_SAVINGS_RATE = new BigDecimal("0.02");
+    private static final BigDecimal STANDARD_MINIMUM_BALANCE = new BigDecimal("50.00");
+    private static final BigDecimal STANDARD_OVERDRAFT_LIMIT = new BigDecimal("100.00");
+
+    private final Map<Terms, AccountProduct> byTerms;
+    private final List<AccountProduct> byId;
+
+    public ProductCatalog() {
+        this.byTerms = new ConcurrentHashMap<>();
+        this.byId = new ArrayList<>();
+    }
+
+    // Shared by entity factories and persistence so restored accounts reuse the same instances
+    public static ProductCatalog global() {
+        return GLOBAL;
+    }
+
+    public AccountProduct standard(AccountType accountType, Currency currency) {
+        return switch (accountType) {
+            case SAVINGS -> savings(STANDARD_SAVINGS_RATE, Money.of(STANDARD_MINIMUM_BALANCE, currency));
+            case CHECKING -> checking(Money.of(STANDARD_OVERDRAFT_LIMIT, currency));
+        };
+    }
+
+    public AccountProduct savings(BigDecimal interestRate, Money minimumBalance) {
+        Currency currency = minimumBalance.getCurrency();
+        return intern(new Terms(AccountType.SAVINGS, currency, normalize(interestRate),
+                minimumBalance.getMinorUnits(), 0L));
+    }
+
+    public AccountProduct checking(Money overdraftLimit) {
+        Currency currency = overdraftLimit.getCurrency();
+        return intern(new Terms(AccountType.CHECKING, currency, BigDecimal.ZERO, 0L, overdraftLimit.getMinorUnits()));
+    }
+
+    public AccountProduct byId(int id) {
+        synchronized (byId) {
+            if (id < 0 || id >= byId.size()) {
+                throw new IllegalArgumentException("Unknown product id: " + id);
+            }
+            return byId.get(id);
+        }
+    }
+
+    public int size() {
+        return byTerms.size();
+    }
+
+    private AccountProduct intern(Terms terms) {
+        AccountProduct product = byTerms.get(terms);
+        if (product != null) {
+            return product;
+        }
+        return byTerms.computeIfAbsent(terms, t -> {
+            synchronized (byId) {
+                AccountProduct created = new AccountProduct(byId.size(), t.accountType(), t.currency(), t.interestRate(),
+                        Money.ofMinor(t.minimumBalance(), t.currency()), Money.ofMinor(t.overdraftLimit(), t.currency()));
+                byId.add(created);
+                return created;
+            }
+        });
+    }
+
+    // 0.02 and 0.020 are the same rate; BigDecimal.equals would tell them apart
+    private static BigDecimal normalize(BigDecimal rate) {
+        return rate.signum() == 0 ? BigDecimal.ZERO : rate.stripTrailingZeros();
+    }
+
+    private record Terms(AccountType accountType, Currency currency, BigDecimal interestRate,
+                         long minimumBalance, long overdraftLimit) {
+    }
+}
@@ -0,0 +1,7 @@
+package bank.domain.results;
+
+public class TransferFailed implements OperationResult {
+    private final String reason;
+    public TransferFailed(String reason) { this.reason = reason; }
+    public String getReason() { return reason; }
+}
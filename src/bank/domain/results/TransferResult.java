@@ -0,0 +1,10 @@
+package bank.domain.results;
+
+import bank.domain.valueobjects.Money;
+
+public class TransferResult {
+    public static OperationResult success(Money sourceBalance, Money destinationBalance) { 
+        return new TransferSuccess(sourceBalance, destinationBalance); 
+    }
+    public static OperationResult failed(String reason) { return new TransferFailed(reason); }
+}
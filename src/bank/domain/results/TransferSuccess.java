@@ -0,0 +1,14 @@
+package bank.domain.results;
+
+import bank.domain.valueobjects.Money;
+
+public class TransferSuccess implements OperationResult {
+    private final Money sourceBalance;
+    private final Money destinationBalance;
+    public TransferSuccess(Money sourceBalance, Money destinationBalance) { 
+        this.sourceBalance = sourceBalance; 
+        this.destinationBalance = destinationBalance; 
+    }
+    public Money getSourceBalance() { return sourceBalance; }
+    public Money getDestinationBalance() { return destinationBalance; }
+}
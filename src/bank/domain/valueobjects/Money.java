@@ -1,76 +1,103 @@
 package bank.domain.valueobjects;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.Currency;
-import java.util.Objects;
 
+// Fixed-point amount held as a scaled long in the currency's minor units (cents for USD).
+// BigDecimal is only produced or consumed at the edges (of/getAmount/toString).
 public final class Money {
-    private final BigDecimal amount;
+    private final long minorUnits;
     private final Currency currency;
 
-    private Money(BigDecimal amount, Currency currency) {
-        this.amount = amount.setScale(currency.getDefaultFractionDigits(), BigDecimal.ROUND_HALF_EVEN);
+    private Money(long minorUnits, Currency currency) {
+        this.minorUnits = minorUnits;
         this.currency = currency;
     }
 
     public static Money of(BigDecimal amount, Currency currency) {
-        return new Money(amount, currency);
+        return new Money(toMinorUnits(amount, currency), currency);
     }
 
     public static Money of(double amount, Currency currency) {
-        return new Money(BigDecimal.valueOf(amount), currency);
+        return of(BigDecimal.valueOf(amount), currency);
+    }
+
+    public static Money ofMinor(long minorUnits, Currency currency) {
+        return new Money(minorUnits, currency);
     }
 
     public static Money zero(Currency currency) {
-        return new Money(BigDecimal.ZERO, currency);
+        return new Money(0L, currency);
     }
 
     public Money add(Money other) {
         validateSameCurrency(other);
-        return new Money(amount.add(other.amount), currency);
+        return new Money(Math.addExact(minorUnits, other.minorUnits), currency);
     }
 
     public Money subtract(Money other) {
         validateSameCurrency(other);
-        return new Money(amount.subtract(other.amount), currency);
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits), currency);
     }
 
     public boolean isGreaterThan(Money other) {
         validateSameCurrency(other);
-        return amount.compareTo(other.amount) > 0;
+        return minorUnits > other.minorUnits;
     }
 
     public boolean isLessThan(Money other) {
         validateSameCurrency(other);
-        return amount.compareTo(other.amount) < 0;
+        return minorUnits < other.minorUnits;
     }
 
     public boolean isPositive() {
-        return amount.compareTo(BigDecimal.ZERO) > 0;
+        return minorUnits > 0;
+    }
+
+    public boolean isNegative() {
+        return minorUnits < 0;
+    }
+
+    void validateSameCurrency(Money other) {
+        validateCurrency(other.currency);
     }
 
-    private void validateSameCurrency(Money other) {
-        if (!this.currency.equals(other.currency)) {
-            throw new IllegalArgumentException("Currency mismatch: " + this.currency + " vs " + other.currency);
+    void validateCurrency(Currency other) {
+        if (this.currency != other && !this.currency.equals(other)) {
+            throw new IllegalArgumentException("Currency mismatch: " + this.currency + " vs " + other);
         }
     }
 
-    public BigDecimal getAmount() { return amount; }
+    public BigDecimal getAmount() { return BigDecimal.valueOf(minorUnits, scale(currency)); }
+    public long getMinorUnits() { return minorUnits; }
     public Currency getCurrency() { return currency; }
 
+    static int scale(Currency currency) {
+        return Math.max(currency.getDefaultFractionDigits(), 0);
+    }
+
+    static long toMinorUnits(BigDecimal amount, Currency currency) {
+        try {
+            return amount.setScale(scale(currency), RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount out of range: " + amount, e);
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof Money)) return false;
         Money money = (Money) o;
-        return Objects.equals(amount, money.amount) && Objects.equals(currency, money.currency);
+        return minorUnits == money.minorUnits && currency.equals(money.currency);
     }
 
     @Override
-    public int hashCode() { return Objects.hash(amount, currency); }
+    public int hashCode() { return 31 * Long.hashCode(minorUnits) + currency.hashCode(); }
 
     @Override
     public String toString() {
-        return String.format("%s %.2f", currency.getSymbol(), amount);
+        return String.format("%s %.2f", currency.getSymbol(), getAmount());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,55 @@
+package bank.domain.valueobjects;
+
+import java.util.Currency;
+
+// Mutable counterpart of Money for owners that update a running total in place
+// (e.g. an account balance). Not thread-safe: callers provide their own guarding.
+public final class MoneyAccumulator {
+    private final Currency currency;
+    private long minorUnits;
+
+    public MoneyAccumulator(Money initial) {
+        this.currency = initial.getCurrency();
+        this.minorUnits = initial.getMinorUnits();
+    }
+
+    public void add(Money amount) {
+        amount.validateCurrency(currency);
+        minorUnits = Math.addExact(minorUnits, amount.getMinorUnits());
+    }
+
+    public void subtract(Money amount) {
+        amount.validateCurrency(currency);
+        minorUnits = Math.subtractExact(minorUnits, amount.getMinorUnits());
+    }
+
+    public void set(Money amount) {
+        amount.validateCurrency(currency);
+        minorUnits = amount.getMinorUnits();
+    }
+
+    // Non-mutating arithmetic in minor units, so callers can test limits without allocating
+    public long plus(Money amount) {
+        amount.validateCurrency(currency);
+        return Math.addExact(minorUnits, amount.getMinorUnits());
+    }
+
+    public long minus(Money amount) {
+        amount.validateCurrency(currency);
+        return Math.subtractExact(minorUnits, amount.getMinorUnits());
+    }
+
+    public void validateSameCurrency(Money other) {
+        other.validateCurrency(currency);
+    }
+
+    public long getMinorUnits() { return minorUnits; }
+    public Currency getCurrency() { return currency; }
+
+    public Money toMoney() {
+        return Money.ofMinor(minorUnits, currency);
+    }
+
+    @Override
+    public String toString() { return toMoney().toString(); }
+}
@@ -0,0 +1,99 @@
+package bank.infrastructure.concurrency;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+// Concurrent cache bounded by entry count and by age.
+//
+// A hit is one ConcurrentHashMap read plus a clock comparison, so readers never lock. Every insert also
+// goes on a FIFO, which is oldest-first for both bounds: writers pop from its head while the cache is
+// over capacity or the head has outlived the time-to-live. Removal is conditional on the queued entry
+// still being the mapped one, so a replaced key's stale queue node evicts nothing.
+public class BoundedExpiringCache<K, V> {
+    private final ConcurrentHashMap<K, Entry<K, V>> entries;
+    private final Queue<Entry<K, V>> insertionOrder;
+    private final AtomicInteger size;
+    private final int maximumSize;
+    private final long timeToLiveMillis;
+    private final LongSupplier clock;
+
+    public BoundedExpiringCache(int maximumSize, Duration timeToLive) {
+        this(maximumSize, timeToLive, System::currentTimeMillis);
+    }
+
+    // clock returns epoch milliseconds
+    public BoundedExpiringCache(int maximumSize, Duration timeToLive, LongSupplier clock) {
+        if (maximumSize < 0 || timeToLive.isNegative()) {
+            throw new IllegalArgumentException("Cache bounds must not be negative");
+        }
+        this.entries = new ConcurrentHashMap<>();
+        this.insertionOrder = new ConcurrentLinkedQueue<>();
+        this.size = new AtomicInteger();
+        this.maximumSize = maximumSize;
+        this.timeToLiveMillis = timeToLive.toMillis();
+        this.clock = clock;
+    }
+
+    public V get(K key) {
+        Entry<K, V> entry = entries.get(key);
+        if (entry == null || isExpired(entry, clock.getAsLong())) {
+            return null;
+        }
+        return entry.value;
+    }
+
+    public void put(K key, V value) {
+        put(key, value, clock.getAsLong());
+    }
+
+    // Inserts with the given insertion time, for entries rebuilt from history; already expired ones are dropped
+    public void put(K key, V value, long insertedAtMillis) {
+        long now = clock.getAsLong();
+        if (maximumSize == 0 || now - insertedAtMillis >= timeToLiveMillis) {
+            return;
+        }
+        Entry<K, V> entry = new Entry<>(key, value, insertedAtMillis);
+        if (entries.put(key, entry) == null) {
+            size.incrementAndGet();
+        }
+        insertionOrder.add(entry);
+        evict(now);
+    }
+
+    public int size() { return size.get(); }
+
+    private void evict(long now) {
+        while (true) {
+            Entry<K, V> oldest = insertionOrder.peek();
+            if (oldest == null || (size.get() <= maximumSize && !isExpired(oldest, now))) {
+                return;
+            }
+            // another writer may have taken the head meanwhile; whatever comes off is at least as old
+            Entry<K, V> evicted = insertionOrder.poll();
+            if (evicted != null && entries.remove(evicted.key, evicted)) {
+                size.decrementAndGet();
+            }
+        }
+    }
+
+    private boolean isExpired(Entry<K, V> entry, long now) {
+        return now - entry.insertedAtMillis >= timeToLiveMillis;
+    }
+
+    // Identity equality, so conditional removal only matches the very entry that was queued
+    private static final class Entry<K, V> {
+        private final K key;
+        private final V value;
+        private final long insertedAtMillis;
+
+        private Entry(K key, V value, long insertedAtMillis) {
+            this.key = key;
+            this.value = value;
+            this.insertedAtMillis = insertedAtMillis;
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package bank.infrastructure.concurrency;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+import java.util.stream.Stream;
+
+// Concurrent map from primitive long keys to values, so lookups neither box nor allocate.
+//
+// Keys are spread over a fixed number of segments. Each segment is an open-addressing table with linear
+// probing (keys in a long[], values in a parallel array, null meaning empty) guarded by a StampedLock:
+// reads are optimistic and only fall back to the read lock if a writer got in the way. Removal shifts
+// the following run back instead of leaving tombstones. Tables stay at most half full.
+public class LongObjectHashMap<V> {
+    private static final int DEFAULT_SEGMENTS = 64;
+    private static final int DEFAULT_SEGMENT_CAPACITY = 16;
+
+    private final Segment<V>[] segments;
+    private final int segmentMask;
+    private final int segmentBits;
+
+    public LongObjectHashMap() {
+        this(DEFAULT_SEGMENTS, DEFAULT_SEGMENT_CAPACITY);
+    }
+
+    public LongObjectHashMap(int minimumSegments, int initialSegmentCapacity) {
+        int count = Integer.highestOneBit(Math.max(1, minimumSegments - 1)) << 1;
+        int capacity = Integer.highestOneBit(Math.max(2, initialSegmentCapacity) - 1) << 1;
+        this.segments = newSegments(count);
+        this.segmentMask = count - 1;
+        this.segmentBits = Integer.numberOfTrailingZeros(count);
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment<>(capacity, segmentBits);
+        }
+    }
+
+    public V get(long key) {
+        int hash = hash(key);
+        return segments[hash & segmentMask].get(key, hash >>> segmentBits);
+    }
+
+    // Returns the previous value; storing the value already mapped is a read, not a write
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values are not supported");
+        }
+        int hash = hash(key);
+        Segment<V> segment = segments[hash & segmentMask];
+        int slotHash = hash >>> segmentBits;
+        V current = segment.get(key, slotHash);
+        if (current == value) {
+            return current;
+        }
+        return segment.put(key, slotHash, value);
+    }
+
+    public V remove(long key) {
+        int hash = hash(key);
+        return segments[hash & segmentMask].remove(key, hash >>> segmentBits);
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<V> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    // Weakly consistent: each segment is copied under its read lock when the stream reaches it
+    public Stream<V> values() {
+        return Arrays.stream(segments).flatMap(segment -> segment.values().stream());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> Segment<V>[] newSegments(int count) {
+        return (Segment<V>[]) new Segment<?>[count];
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static final class Table {
+        private final long[] keys;
+        private final Object[] values;
+
+        private Table(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new Object[capacity];
+        }
+    }
+
+    private static final class Segment<V> {
+        private final StampedLock lock = new StampedLock();
+        // hash bits consumed by segment selection; the slot comes from the bits above them
+        private final int shift;
+        private Table table;
+        private int size;
+
+        private Segment(int capacity, int shift) {
+            this.table = new Table(capacity);
+            this.shift = shift;
+        }
+
+        private V get(long key, int hash) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0L) {
+                V value = find(table, key, hash);
+                if (lock.validate(stamp)) {
+                    return value;
+                }
+            }
+            stamp = lock.readLock();
+            try {
+                return find(table, key, hash);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        // Bounded by the table length so a torn optimistic read cannot spin forever
+        @SuppressWarnings("unchecked")
+        private V find(Table t, long key, int hash) {
+            int mask = t.keys.length - 1;
+            for (int i = hash & mask, probes = 0; probes <= mask; i = (i + 1) & mask, probes++) {
+                Object value = t.values[i];
+                if (value == null) {
+                    return null;
+                }
+                if (t.keys[i] == key) {
+                    return (V) value;
+                }
+            }
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        private V put(long key, int hash, V value) {
+            long stamp = lock.writeLock();
+            try {
+                Table t = table;
+                int mask = t.keys.length - 1;
+                int i = hash & mask;
+                while (t.values[i] != null) {
+                    if (t.keys[i] == key) {
+                        V previous = (V) t.values[i];
+                        t.values[i] = value;
+                        return previous;
+                    }
+                    i = (i + 1) & mask;
+                }
+                t.keys[i] = key;
+                t.values[i] = value;
+                if (++size * 2 > t.keys.length) {
+                    table = resize(t);
+                }
+                return null;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private V remove(long key, int hash) {
+            long stamp = lock.writeLock();
+            try {
+                Table t = table;
+                int mask = t.keys.length - 1;
+                int i = hash & mask;
+                while (t.values[i] != null) {
+                    if (t.keys[i] == key) {
+                        V previous = (V) t.values[i];
+                        shiftBack(t, i, mask);
+                        size--;
+                        return previous;
+                    }
+                    i = (i + 1) & mask;
+                }
+                return null;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        // Moves later entries of the probe run into the freed slot when that keeps them reachable
+        private void shiftBack(Table t, int freed, int mask) {
+            int i = freed;
+            while (true) {
+                t.values[freed] = null;
+                while (true) {
+                    i = (i + 1) & mask;
+                    if (t.values[i] == null) {
+                        return;
+                    }
+                    int home = slotOf(t.keys[i], mask);
+                    boolean movable = freed <= i ? (home <= freed || home > i) : (home <= freed && home > i);
+                    if (movable) {
+                        break;
+                    }
+                }
+                t.keys[freed] = t.keys[i];
+                t.values[freed] = t.values[i];
+                freed = i;
+            }
+        }
+
+        private Table resize(Table old) {
+            Table grown = new Table(old.keys.length * 2);
+            int mask = grown.keys.length - 1;
+            for (int j = 0; j < old.keys.length; j++) {
+                if (old.values[j] != null) {
+                    int i = slotOf(old.keys[j], mask);
+                    while (grown.values[i] != null) {
+                        i = (i + 1) & mask;
+                    }
+                    grown.keys[i] = old.keys[j];
+                    grown.values[i] = old.values[j];
+                }
+            }
+            return grown;
+        }
+
+        private int slotOf(long key, int mask) {
+            return (hash(key) >>> shift) & mask;
+        }
+
+        private int size() {
+            long stamp = lock.readLock();
+            try {
+                return size;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private List<V> values() {
+            long stamp = lock.readLock();
+            try {
+                List<V> copy = new ArrayList<>(size);
+                for (Object value : table.values) {
+                    if (value != null) {
+                        copy.add((V) value);
+                    }
+                }
+                return copy;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+    }
+}
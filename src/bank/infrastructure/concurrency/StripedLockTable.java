@@ -0,0 +1,106 @@
+package bank.infrastructure.concurrency;
+
+import bank.domain.valueobjects.AccountNumber;
+
+import java.util.BitSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Fixed table of locks shared by all accounts. Accounts hashing to the same stripe share a lock,
+// so multi-account operations always acquire stripes in ascending index order. Ordering by stripe
+// (rather than by AccountNumber) is what keeps it deadlock-free: two numbers can map to stripes in
+// the opposite order of the numbers themselves.
+public class StripedLockTable {
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    public StripedLockTable() {
+        this(Runtime.getRuntime().availableProcessors() * 16);
+    }
+
+    public StripedLockTable(int minimumStripes) {
+        int size = Integer.highestOneBit(Math.max(1, minimumStripes - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public int stripeOf(AccountNumber accountNumber) {
+        int h = accountNumber.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    public int stripeCount() {
+        return stripes.length;
+    }
+
+    public Guard lock(AccountNumber accountNumber) {
+        ReentrantLock lock = stripes[stripeOf(accountNumber)];
+        lock.lock();
+        return lock::unlock;
+    }
+
+    // For bulk jobs that group accounts by stripe and hold one stripe at a time
+    public Guard lockStripe(int stripe) {
+        ReentrantLock lock = stripes[stripe];
+        lock.lock();
+        return lock::unlock;
+    }
+
+    public Guard lock(AccountNumber first, AccountNumber second) {
+        int a = stripeOf(first);
+        int b = stripeOf(second);
+        if (a == b) {
+            ReentrantLock lock = stripes[a];
+            lock.lock();
+            return lock::unlock;
+        }
+        ReentrantLock low = stripes[Math.min(a, b)];
+        ReentrantLock high = stripes[Math.max(a, b)];
+        low.lock();
+        try {
+            high.lock();
+        } catch (RuntimeException | Error e) {
+            low.unlock();
+            throw e;
+        }
+        return () -> {
+            high.unlock();
+            low.unlock();
+        };
+    }
+
+    // Locks the stripes of every given account once each, in ascending stripe order
+    public Guard lockAll(Iterable<AccountNumber> accountNumbers) {
+        BitSet required = new BitSet(stripes.length);
+        for (AccountNumber accountNumber : accountNumbers) {
+            required.set(stripeOf(accountNumber));
+        }
+        int[] order = required.stream().toArray();
+        int locked = 0;
+        try {
+            for (int stripe : order) {
+                stripes[stripe].lock();
+                locked++;
+            }
+        } catch (RuntimeException | Error e) {
+            unlock(order, locked);
+            throw e;
+        }
+        int held = locked;
+        return () -> unlock(order, held);
+    }
+
+    private void unlock(int[] order, int count) {
+        for (int i = count - 1; i >= 0; i--) {
+            stripes[order[i]].unlock();
+        }
+    }
+
+    @FunctionalInterface
+    public interface Guard extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,255 @@
+package bank.infrastructure.concurrency;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+// Size-bounded cache for long keys with W-TinyLFU admission (Einziger, Friedman and Manes, "TinyLFU: A
+// Highly Efficient Cache Admission Policy").
+//
+// New entries enter a small LRU window (1% of the capacity). An entry pushed out of the window only
+// joins the main region if the frequency sketch says it is more popular than the main region's LRU
+// victim, so a scan of the cold tail cannot flush the hot set. The main region is a segmented LRU: a
+// hit in probation promotes to protected (80% of the main region), whose overflow drops back.
+//
+// Lookups are lock-free reads of a LongObjectHashMap. The policy lists and the sketch sit behind one
+// lock that writers take; a reader records its access only if that lock is free at the moment, so
+// under contention some accesses go uncounted rather than making readers wait.
+public class WTinyLfuCache<V> {
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private final LongObjectHashMap<Node<V>> data;
+    private final ReentrantLock policyLock;
+    private final FrequencySketch sketch;
+    private final Node<V>[] lists;
+    private final int[] sizes;
+    private final int maximumSize;
+    private final int maximumWindow;
+    private final int maximumProtected;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+    private final LongAdder rejections;
+
+    public WTinyLfuCache(int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.data = new LongObjectHashMap<>();
+        this.policyLock = new ReentrantLock();
+        this.sketch = new FrequencySketch(maximumSize);
+        this.lists = Node.sentinels(3);
+        this.sizes = new int[3];
+        this.maximumSize = maximumSize;
+        this.maximumWindow = Math.max(1, maximumSize / 100);
+        this.maximumProtected = (maximumSize - maximumWindow) * 8 / 10;
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+        this.rejections = new LongAdder();
+    }
+
+    public V get(long key) {
+        Node<V> node = data.get(key);
+        if (node == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        if (policyLock.tryLock()) {
+            try {
+                sketch.increment(key);
+                if (node != null && node.list >= 0) {
+                    onHit(node);
+                }
+            } finally {
+                policyLock.unlock();
+            }
+        }
+        return node == null ? null : node.value;
+    }
+
+    // Inserts or replaces the value; a new entry may be turned away by admission straight away
+    public void put(long key, V value) {
+        policyLock.lock();
+        try {
+            Node<V> node = data.get(key);
+            if (node != null) {
+                node.value = value;
+                onHit(node);
+                return;
+            }
+            insert(key, value);
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    // Returns the value already cached, or caches the given one and returns null
+    public V putIfAbsent(long key, V value) {
+        policyLock.lock();
+        try {
+            Node<V> node = data.get(key);
+            if (node != null) {
+                return node.value;
+            }
+            insert(key, value);
+            return null;
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    // As putIfAbsent, but nothing is cached (and null returned) unless stillValid holds; it is checked
+    // under the policy lock, so a writer that changes what it checks before calling put always wins
+    public V putIfAbsent(long key, V value, BooleanSupplier stillValid) {
+        policyLock.lock();
+        try {
+            Node<V> node = data.get(key);
+            if (node != null) {
+                return node.value;
+            }
+            if (stillValid.getAsBoolean()) {
+                insert(key, value);
+            }
+            return null;
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    public void invalidate(long key) {
+        policyLock.lock();
+        try {
+            Node<V> node = data.remove(key);
+            if (node != null) {
+                unlink(node);
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    public int size() {
+        policyLock.lock();
+        try {
+            return sizes[WINDOW] + sizes[PROBATION] + sizes[PROTECTED];
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    public long getHits() { return hits.sum(); }
+    public long getMisses() { return misses.sum(); }
+    public long getEvictions() { return evictions.sum(); }
+    // Entries turned away at the window boundary because the main region's victim was more popular
+    public long getRejections() { return rejections.sum(); }
+
+    private void insert(long key, V value) {
+        Node<V> node = new Node<>(key, value);
+        data.put(key, node);
+        sketch.increment(key);
+        linkFirst(WINDOW, node);
+        while (sizes[WINDOW] > maximumWindow) {
+            Node<V> candidate = lists[WINDOW].previous;
+            unlink(candidate);
+            linkFirst(PROBATION, candidate);
+            admit(candidate);
+        }
+    }
+
+    // The candidate was just moved from the window into probation
+    private void admit(Node<V> candidate) {
+        if (sizes[WINDOW] + sizes[PROBATION] + sizes[PROTECTED] <= maximumSize) {
+            return;
+        }
+        Node<V> victim = lists[PROBATION].previous;
+        if (victim == candidate) {
+            // probation held only the candidate; make room in protected instead
+            victim = lists[PROTECTED].previous;
+        }
+        if (victim != lists[PROTECTED] && sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+            evict(victim);
+        } else {
+            rejections.increment();
+            evict(candidate);
+        }
+    }
+
+    private void onHit(Node<V> node) {
+        switch (node.list) {
+            case WINDOW, PROTECTED -> {
+                int list = node.list;
+                unlink(node);
+                linkFirst(list, node);
+            }
+            case PROBATION -> {
+                unlink(node);
+                linkFirst(PROTECTED, node);
+                if (sizes[PROTECTED] > maximumProtected) {
+                    Node<V> demoted = lists[PROTECTED].previous;
+                    unlink(demoted);
+                    linkFirst(PROBATION, demoted);
+                }
+            }
+            default -> {
+                // removed by a writer since the lookup
+            }
+        }
+    }
+
+    private void evict(Node<V> node) {
+        unlink(node);
+        data.remove(node.key);
+        evictions.increment();
+    }
+
+    private void linkFirst(int list, Node<V> node) {
+        Node<V> head = lists[list];
+        node.previous = head;
+        node.next = head.next;
+        head.next.previous = node;
+        head.next = node;
+        node.list = list;
+        sizes[list]++;
+    }
+
+    private void unlink(Node<V> node) {
+        node.previous.next = node.next;
+        node.next.previous = node.previous;
+        node.previous = null;
+        node.next = null;
+        sizes[node.list]--;
+        node.list = -1;
+    }
+
+    private static final class Node<V> {
+        private final long key;
+        private volatile V value;
+        // policy state, guarded by the policy lock; list is -1 once the node has left the cache
+        private Node<V> previous;
+        private Node<V> next;
+        private int list;
+
+        private Node(long key, V value) {
+            this.key = key;
+            this.value = value;
+            this.list = -1;
+        }
+
+        // Heads of empty circular lists, one per segment of the policy
+        @SuppressWarnings("unchecked")
+        private static <V> Node<V>[] sentinels(int count) {
+            Node<V>[] sentinels = (Node<V>[]) new Node<?>[count];
+            for (int i = 0; i < count; i++) {
+                Node<V> sentinel = new Node<>(0L, null);
+                sentinel.previous = sentinel;
+                sentinel.next = sentinel;
+                sentinels[i] = sentinel;
+            }
+            return sentinels;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package bank.infrastructure.messaging;
+
+import bank.domain.events.DomainEvent;
+
+@FunctionalInterface
+public interface EventSubscriber {
+    // endOfBatch is true for the last event currently available, a natural point to flush work
+    void onEvent(DomainEvent event, boolean endOfBatch);
+}
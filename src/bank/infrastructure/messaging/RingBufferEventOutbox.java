@@ -0,0 +1,183 @@
+package bank.infrastructure.messaging;
+
+import bank.domain.events.DomainEvent;
+import bank.domain.events.DomainEventPublisher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Preallocated ring buffer between account saves and event subscribers.
+//
+// Publishing is serialized, so the ring has a single logical producer. Every subscriber runs on its
+// own thread, sees every event in publish order and tracks its own sequence; it consumes everything
+// available in one pass and is told which event ends the batch. When the slowest subscriber is a full
+// ring behind, publish blocks (parking briefly) until space frees up, so a lagging consumer slows
+// writers down instead of growing memory. Events published while the outbox is not running have
+// nobody to deliver to and are discarded.
+public class RingBufferEventOutbox implements DomainEventPublisher, AutoCloseable {
+    private static final long IDLE_PARK_NANOS = 50_000L;
+    private static final long FULL_PARK_NANOS = 1_000L;
+
+    private final DomainEvent[] entries;
+    private final int mask;
+    private final AtomicLong cursor;
+    private final ReentrantLock publishLock;
+    private final List<Consumer> consumers;
+    private final LongAdder published;
+    private final LongAdder producerStalls;
+    private long nextSequence;
+    private volatile boolean running;
+
+    public RingBufferEventOutbox(int minimumCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, minimumCapacity) - 1) << 1;
+        this.entries = new DomainEvent[capacity];
+        this.mask = capacity - 1;
+        this.cursor = new AtomicLong(-1L);
+        this.publishLock = new ReentrantLock();
+        this.consumers = new ArrayList<>();
+        this.published = new LongAdder();
+        this.producerStalls = new LongAdder();
+    }
+
+    public synchronized void subscribe(String name, EventSubscriber subscriber) {
+        if (running) {
+            throw new IllegalStateException("Subscribers must be registered before start");
+        }
+        consumers.add(new Consumer(name, subscriber));
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        for (Consumer consumer : consumers) {
+            consumer.thread.start();
+        }
+    }
+
+    @Override
+    public void publish(List<DomainEvent> events) {
+        if (events.isEmpty() || !running) {
+            return;
+        }
+        publishLock.lock();
+        try {
+            int size = events.size();
+            int offset = 0;
+            while (offset < size) {
+                int chunk = Math.min(size - offset, entries.length);
+                long last = nextSequence + chunk - 1;
+                awaitCapacity(last);
+                for (int i = 0; i < chunk; i++) {
+                    entries[(int) (nextSequence + i) & mask] = events.get(offset + i);
+                }
+                nextSequence = last + 1;
+                cursor.lazySet(last);
+                offset += chunk;
+            }
+            published.add(size);
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    public long getPublishedCount() { return published.sum(); }
+    public long getProducerStalls() { return producerStalls.sum(); }
+    public int getCapacity() { return entries.length; }
+
+    public long getSubscriberFailures() {
+        return consumers.stream().mapToLong(consumer -> consumer.failures.sum()).sum();
+    }
+
+    // Events published but not yet consumed by the slowest subscriber
+    public long getLag() {
+        return cursor.get() - minimumConsumerSequence();
+    }
+
+    // Waits for subscribers to drain what was published, then stops their threads
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+        }
+        long target = cursor.get();
+        while (!consumers.isEmpty() && minimumConsumerSequence() < target) {
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+        running = false;
+        for (Consumer consumer : consumers) {
+            LockSupport.unpark(consumer.thread);
+            try {
+                consumer.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void awaitCapacity(long lastSequence) {
+        long wrapPoint = lastSequence - entries.length;
+        boolean stalled = false;
+        while (wrapPoint >= minimumConsumerSequence()) {
+            if (!stalled) {
+                producerStalls.increment();
+                stalled = true;
+            }
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+        }
+    }
+
+    private long minimumConsumerSequence() {
+        long minimum = Long.MAX_VALUE;
+        for (Consumer consumer : consumers) {
+            minimum = Math.min(minimum, consumer.sequence.get());
+        }
+        return minimum == Long.MAX_VALUE ? cursor.get() : minimum;
+    }
+
+    private final class Consumer implements Runnable {
+        private final EventSubscriber subscriber;
+        private final AtomicLong sequence;
+        private final Thread thread;
+        private final LongAdder failures;
+
+        private Consumer(String name, EventSubscriber subscriber) {
+            this.subscriber = subscriber;
+            this.sequence = new AtomicLong(-1L);
+            this.failures = new LongAdder();
+            this.thread = new Thread(this, "outbox-" + name);
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                long available = cursor.get();
+                long current = sequence.get();
+                if (available > current) {
+                    for (long s = current + 1; s <= available; s++) {
+                        try {
+                            subscriber.onEvent(entries[(int) s & mask], s == available);
+                        } catch (RuntimeException e) {
+                            // a failing subscriber must not stall the ring for everyone else
+                            failures.increment();
+                        }
+                    }
+                    sequence.lazySet(available);
+                } else if (!running) {
+                    return;
+                } else {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+        }
+    }
+}
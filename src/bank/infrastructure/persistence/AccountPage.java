@@ -0,0 +1,30 @@
+package bank.infrastructure.persistence;
+
+import bank.domain.entities.Account;
+import bank.domain.valueobjects.AccountNumber;
+
+import java.util.List;
+import java.util.Optional;
+
+// One keyset page of accounts in AccountNumber order. The resume token is the last number on the page;
+// pass it as "after" to fetch the next one. Absent when no further accounts exist.
+public record AccountPage(List<Account> accounts, Optional<AccountNumber> next) {
+    // Builds a page from up to pageSize + 1 ordered accounts; the extra one only signals that more exist
+    static AccountPage of(List<Account> fetched, int pageSize) {
+        if (fetched.size() <= pageSize) {
+            return new AccountPage(fetched, Optional.empty());
+        }
+        List<Account> page = fetched.subList(0, pageSize);
+        return new AccountPage(page, Optional.of(page.get(pageSize - 1).getAccountNumber()));
+    }
+
+    static void checkPageSize(int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+    }
+
+    public boolean hasNext() {
+        return next.isPresent();
+    }
+}
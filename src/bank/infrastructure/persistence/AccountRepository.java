@@ -3,13 +3,86 @@ package bank.infrastructure.persistence;
 import bank.domain.entities.Account;
 import bank.domain.valueobjects.AccountNumber;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 public interface AccountRepository {
     void save(Account account);
+    default void saveAll(Collection<Account> accounts) { accounts.forEach(this::save); }
     Optional<Account> findByNumber(AccountNumber accountNumber);
     List<Account> findAll();
+    // Weakly consistent scan without copying; unordered unless the implementation says otherwise
+    default Stream<Account> stream() { return findAll().stream(); }
+    // Keyset page of accounts numbered strictly after the given one (null for the first page). The
+    // default scans every account but holds at most pageSize + 1 of them.
+    default AccountPage findPage(AccountNumber after, int pageSize) {
+        AccountPage.checkPageSize(pageSize);
+        List<Account> page = smallest(account -> after == null || account.getAccountNumber().compareTo(after) > 0,
+                Comparator.comparing(Account::getAccountNumber), pageSize + 1);
+        return AccountPage.of(page, pageSize);
+    }
+    // Accounts whose holder name equals the given one, or starts with the prefix, once both are
+    // normalized as HolderNameIndex does; at most limit of them, in name then number order. The
+    // defaults scan every account.
+    default List<Account> findByHolderName(String holderName, int limit) {
+        HolderNameIndex.checkLimit(limit);
+        String name = HolderNameIndex.normalize(holderName);
+        return scanByHolderName(account -> HolderNameIndex.normalize(account.getAccountHolderName()).equals(name), limit);
+    }
+    default List<Account> findByHolderNamePrefix(String prefix, int limit) {
+        HolderNameIndex.checkLimit(limit);
+        String from = HolderNameIndex.normalizePrefix(prefix);
+        return scanByHolderName(account -> HolderNameIndex.normalize(account.getAccountHolderName()).startsWith(from), limit);
+    }
+    private List<Account> scanByHolderName(Predicate<Account> matches, int limit) {
+        return smallest(matches, Comparator.comparing((Account account) -> HolderNameIndex.normalize(account.getAccountHolderName()))
+                .thenComparing(Account::getAccountNumber), limit);
+    }
+    // The first limit matches in the given order, kept in a max-heap so the scan never holds more
+    private List<Account> smallest(Predicate<Account> matches, Comparator<Account> order, int limit) {
+        PriorityQueue<Account> largestFirst = new PriorityQueue<>(order.reversed());
+        stream().sequential().filter(matches).forEach(account -> {
+            if (largestFirst.size() < limit) {
+                largestFirst.add(account);
+            } else if (order.compare(account, largestFirst.peek()) < 0) {
+                largestFirst.poll();
+                largestFirst.add(account);
+            }
+        });
+        List<Account> result = new ArrayList<>(largestFirst);
+        result.sort(order);
+        return result;
+    }
+    // Versioned save: stores the accounts only if every stored version still equals the version they
+    // were read at, and bumps their versions; otherwise stores nothing and returns false. Only called
+    // when supportsVersionedSaves says so.
+    default boolean supportsVersionedSaves() { return false; }
+    default boolean compareAndSaveAll(Collection<Account> accounts) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support versioned saves");
+    }
+    default boolean compareAndSave(Account account) { return compareAndSaveAll(List.of(account)); }
+    // Versioned delete: removes the account only if its stored version still equals the one it was read at
+    default boolean compareAndDelete(Account account) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support versioned saves");
+    }
     void delete(AccountNumber accountNumber);
+    // Two-phase writes for callers holding locks: the change is stored and visible when these return,
+    // but may not be durable until the returned commit is awaited, which the caller does after
+    // releasing its locks. The defaults are already durable on return.
+    default Commit appendAll(Collection<Account> accounts) { saveAll(accounts); return Commit.DONE; }
+    default Commit appendDelete(AccountNumber accountNumber) { delete(accountNumber); return Commit.DONE; }
     int count();
-}
\ No newline at end of file
+
+    interface Commit {
+        Commit DONE = () -> { };
+
+        // Blocks until the write is durable; throws IllegalStateException if it never will be
+        void await();
+    }
+}
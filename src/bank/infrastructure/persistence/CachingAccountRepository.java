@@ -0,0 +1,336 @@
+package bank.infrastructure.persistence;
+
+import bank.domain.entities.Account;
+import bank.domain.valueobjects.AccountNumber;
+import bank.infrastructure.concurrency.WTinyLfuCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+// Read-through cache in front of a slower repository, so hot accounts are served from memory while
+// the cold tail stays in storage. Admission and eviction are W-TinyLFU (see WTinyLfuCache).
+//
+// Writes either go straight to the delegate (write-through) or are parked and flushed in batches by a
+// background thread, coalescing repeated saves of the same account (write-behind). Write-behind hands
+// the delegate the account's state some time after the save, when its domain events have already been
+// released, so it only suits delegates that store state; it is refused for the journal repository.
+// Scans, paging and count flush parked writes first and then read the delegate.
+//
+// A load that raced with a save must not cache the older copy it read. Saves bump a per-stripe write
+// stamp before writing, and a loaded account is only cached if its stripe's stamp is unchanged, checked
+// under the cache's lock; any save that gets in later replaces the cached copy with its own.
+public class CachingAccountRepository implements AccountRepository, AutoCloseable {
+    public enum WriteMode { WRITE_THROUGH, WRITE_BEHIND }
+
+    private static final int STAMP_STRIPES = 1024;
+
+    private final AccountRepository delegate;
+    private final WriteMode writeMode;
+    private final WTinyLfuCache<Account> cache;
+    private final AtomicLongArray writeStamps;
+    private final Map<AccountNumber, ParkedWrite> parked;
+    private final int maximumParked;
+    private final ReentrantLock flushLock;
+    private final ScheduledExecutorService flusher;
+    private final LongAdder delegateReads;
+    private final LongAdder delegateWrites;
+    private final LongAdder flushes;
+    private final LongAdder flushFailures;
+
+    private CachingAccountRepository(AccountRepository delegate, WriteMode writeMode, int maximumSize,
+                                     Duration flushInterval, int maximumParked) {
+        this.delegate = delegate;
+        this.writeMode = writeMode;
+        this.cache = new WTinyLfuCache<>(maximumSize);
+        this.writeStamps = new AtomicLongArray(STAMP_STRIPES);
+        this.parked = new ConcurrentHashMap<>();
+        this.maximumParked = maximumParked;
+        this.flushLock = new ReentrantLock();
+        this.delegateReads = new LongAdder();
+        this.delegateWrites = new LongAdder();
+        this.flushes = new LongAdder();
+        this.flushFailures = new LongAdder();
+        if (writeMode == WriteMode.WRITE_BEHIND) {
+            this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "repository-write-behind");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long millis = flushInterval.toMillis();
+            flusher.scheduleWithFixedDelay(() -> {
+                try {
+                    flush();
+                } catch (RuntimeException e) {
+                    // parked writes stay parked; the next run retries them
+                    flushFailures.increment();
+                }
+            }, millis, millis, TimeUnit.MILLISECONDS);
+        } else {
+            this.flusher = null;
+        }
+    }
+
+    public static CachingAccountRepository writeThrough(AccountRepository delegate, int maximumSize) {
+        return new CachingAccountRepository(delegate, WriteMode.WRITE_THROUGH, maximumSize, Duration.ZERO, 0);
+    }
+
+    // Parked writes are flushed every flushInterval, or by the saving thread once maximumParked are waiting
+    public static CachingAccountRepository writeBehind(AccountRepository delegate, int maximumSize,
+                                                       Duration flushInterval, int maximumParked) {
+        if (delegate instanceof JournalAccountRepository) {
+            throw new IllegalArgumentException("The journal persists events, which a deferred write no longer has; use write-through");
+        }
+        if (!flushInterval.isPositive() || maximumParked < 1) {
+            throw new IllegalArgumentException("Write-behind needs a positive flush interval and backlog");
+        }
+        return new CachingAccountRepository(delegate, WriteMode.WRITE_BEHIND, maximumSize, flushInterval, maximumParked);
+    }
+
+    @Override
+    public void save(Account account) {
+        long key = account.getAccountNumber().toLong();
+        writeStamps.incrementAndGet(stripeOf(key));
+        if (writeMode == WriteMode.WRITE_THROUGH) {
+            delegate.save(account);
+            delegateWrites.increment();
+            cache.put(key, account);
+            return;
+        }
+        parked.put(account.getAccountNumber(), new ParkedWrite(account));
+        cache.put(key, account);
+        if (parked.size() >= maximumParked) {
+            flush();
+        }
+    }
+
+    @Override
+    public void saveAll(Collection<Account> accounts) {
+        if (writeMode == WriteMode.WRITE_BEHIND) {
+            accounts.forEach(this::save);
+            return;
+        }
+        for (Account account : accounts) {
+            writeStamps.incrementAndGet(stripeOf(account.getAccountNumber().toLong()));
+        }
+        delegate.saveAll(accounts);
+        delegateWrites.add(accounts.size());
+        for (Account account : accounts) {
+            cache.put(account.getAccountNumber().toLong(), account);
+        }
+    }
+
+    // Write-through hands back the delegate's commit, so a journal's fsync is awaited after the caller
+    // releases its locks; write-behind has nothing to wait for once the accounts are parked
+    @Override
+    public Commit appendAll(Collection<Account> accounts) {
+        if (writeMode == WriteMode.WRITE_BEHIND) {
+            saveAll(accounts);
+            return Commit.DONE;
+        }
+        for (Account account : accounts) {
+            writeStamps.incrementAndGet(stripeOf(account.getAccountNumber().toLong()));
+        }
+        Commit commit = delegate.appendAll(accounts);
+        delegateWrites.add(accounts.size());
+        for (Account account : accounts) {
+            cache.put(account.getAccountNumber().toLong(), account);
+        }
+        return commit;
+    }
+
+    @Override
+    public Optional<Account> findByNumber(AccountNumber accountNumber) {
+        long key = accountNumber.toLong();
+        Account cached = cache.get(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        ParkedWrite write = parked.get(accountNumber);
+        if (write != null) {
+            return Optional.of(write.account);
+        }
+        int stripe = stripeOf(key);
+        long stamp = writeStamps.get(stripe);
+        Optional<Account> loaded = delegate.findByNumber(accountNumber);
+        delegateReads.increment();
+        if (loaded.isEmpty()) {
+            return loaded;
+        }
+        Account winner = cache.putIfAbsent(key, loaded.get(), () -> writeStamps.get(stripe) == stamp);
+        return winner == null ? loaded : Optional.of(winner);
+    }
+
+    @Override
+    public List<Account> findAll() {
+        flush();
+        return delegate.findAll();
+    }
+
+    @Override
+    public Stream<Account> stream() {
+        flush();
+        return delegate.stream();
+    }
+
+    @Override
+    public AccountPage findPage(AccountNumber after, int pageSize) {
+        flush();
+        return delegate.findPage(after, pageSize);
+    }
+
+    @Override
+    public List<Account> findByHolderName(String holderName, int limit) {
+        flush();
+        return delegate.findByHolderName(holderName, limit);
+    }
+
+    @Override
+    public List<Account> findByHolderNamePrefix(String prefix, int limit) {
+        flush();
+        return delegate.findByHolderNamePrefix(prefix, limit);
+    }
+
+    @Override
+    public void delete(AccountNumber accountNumber) {
+        long key = accountNumber.toLong();
+        writeStamps.incrementAndGet(stripeOf(key));
+        // a flush already holding this account must not write it back after the delete
+        flushLock.lock();
+        try {
+            parked.remove(accountNumber);
+            delegate.delete(accountNumber);
+        } finally {
+            flushLock.unlock();
+        }
+        cache.invalidate(key);
+    }
+
+    @Override
+    public Commit appendDelete(AccountNumber accountNumber) {
+        if (writeMode == WriteMode.WRITE_BEHIND) {
+            delete(accountNumber);
+            return Commit.DONE;
+        }
+        long key = accountNumber.toLong();
+        writeStamps.incrementAndGet(stripeOf(key));
+        Commit commit = delegate.appendDelete(accountNumber);
+        cache.invalidate(key);
+        return commit;
+    }
+
+    @Override
+    public int count() {
+        flush();
+        return delegate.count();
+    }
+
+    // Writes every parked account to the delegate in one saveAll. An account saved again while the
+    // flush runs stays parked for the next one.
+    public void flush() {
+        if (writeMode != WriteMode.WRITE_BEHIND || parked.isEmpty()) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            List<ParkedWrite> batch = new ArrayList<>(parked.values());
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<Account> accounts = new ArrayList<>(batch.size());
+            for (ParkedWrite write : batch) {
+                accounts.add(write.account);
+            }
+            delegate.saveAll(accounts);
+            delegateWrites.add(accounts.size());
+            flushes.increment();
+            // only after the write, so a reader that no longer finds it parked finds it in the delegate
+            for (ParkedWrite write : batch) {
+                parked.remove(write.account.getAccountNumber(), write);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public Metrics metrics() {
+        return new Metrics(cache.getHits(), cache.getMisses(), cache.getEvictions(), cache.getRejections(),
+                delegateReads.sum(), delegateWrites.sum(), flushes.sum(), flushFailures.sum(), cache.size(),
+                parked.size());
+    }
+
+    // Background flushes that threw; the writes they carried are still parked
+    public long getFlushFailures() {
+        return flushFailures.sum();
+    }
+
+    @Override
+    public void close() {
+        if (flusher != null) {
+            flusher.shutdown();
+            try {
+                flusher.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+        if (delegate instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to close the delegate repository", e);
+            }
+        }
+    }
+
+    private static int stripeOf(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32) & (STAMP_STRIPES - 1);
+    }
+
+    // Identity matters: a flush only unparks the exact write it persisted
+    private static final class ParkedWrite {
+        private final Account account;
+
+        private ParkedWrite(Account account) {
+            this.account = account;
+        }
+    }
+
+    public record Metrics(
+        long hits,
+        long misses,
+        long evictions,
+        long rejectedAdmissions,
+        long delegateReads,
+        long delegateWrites,
+        long flushes,
+        long flushFailures,
+        int cachedAccounts,
+        int parkedWrites
+    ) {
+        public double hitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("hits=%d misses=%d hitRate=%.1f%% evictions=%d rejected=%d delegateReads=%d delegateWrites=%d flushes=%d flushFailures=%d cached=%d parked=%d",
+                    hits, misses, hitRate() * 100, evictions, rejectedAdmissions, delegateReads, delegateWrites,
+                    flushes, flushFailures, cachedAccounts, parkedWrites);
+        }
+    }
+}
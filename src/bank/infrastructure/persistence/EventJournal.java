@@ -0,0 +1,267 @@
+package bank.infrastructure.persistence;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+// Append-only journal over memory-mapped segment files.
+//
+// Each record is framed as [int length][int crc32c][body]. The body is copied in before the length,
+// so a record that was only partly written before a crash reads back as a zero length and marks the
+// end of the journal. Positions are global byte offsets: a segment file is named after the position
+// of its first record and a new segment starts where the previous one stopped writing.
+public class EventJournal implements AutoCloseable {
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final int HEADER_SIZE = 8;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final List<Segment> segments;
+    private final ReentrantLock appendLock;
+    private final CRC32C checksum;
+    private Segment active;
+    private volatile long position;
+
+    private EventJournal(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.segments = new ArrayList<>();
+        this.appendLock = new ReentrantLock();
+        this.checksum = new CRC32C();
+    }
+
+    public static EventJournal open(Path directory, int segmentSize) {
+        if (segmentSize < 4096) {
+            throw new IllegalArgumentException("Segment size too small: " + segmentSize);
+        }
+        EventJournal journal = new EventJournal(directory, segmentSize);
+        try {
+            Files.createDirectories(directory);
+            journal.loadSegments();
+        } catch (IOException e) {
+            journal.close();
+            throw new UncheckedIOException("Cannot open journal in " + directory, e);
+        }
+        return journal;
+    }
+
+    // Appends one record and returns the journal position just past it
+    public long append(ByteBuffer body) {
+        int length = body.remaining();
+        if (length == 0 || length > segmentSize - HEADER_SIZE) {
+            throw new IllegalArgumentException("Invalid journal record length: " + length);
+        }
+        appendLock.lock();
+        try {
+            if (active.writeOffset + HEADER_SIZE + length > segmentSize) {
+                roll();
+            }
+            MappedByteBuffer buffer = active.buffer;
+            int offset = active.writeOffset;
+
+            checksum.reset();
+            checksum.update(body.duplicate());
+            buffer.put(offset + HEADER_SIZE, body, body.position(), length);
+            buffer.putInt(offset + Integer.BYTES, (int) checksum.getValue());
+            buffer.putInt(offset, length);
+
+            active.writeOffset = offset + HEADER_SIZE + length;
+            long end = active.basePosition + active.writeOffset;
+            position = end;
+            return end;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    public long position() {
+        return position;
+    }
+
+    // Flushes everything appended so far to the storage device
+    public void force() {
+        Segment segment;
+        appendLock.lock();
+        try {
+            segment = active;
+        } finally {
+            appendLock.unlock();
+        }
+        segment.buffer.force();
+    }
+
+    // Reads records sequentially starting at the given position, returns the position after the last one
+    public long replay(long fromPosition, RecordHandler handler) {
+        List<Segment> snapshot;
+        appendLock.lock();
+        try {
+            snapshot = new ArrayList<>(segments);
+        } finally {
+            appendLock.unlock();
+        }
+
+        long current = fromPosition;
+        for (int i = 0; i < snapshot.size(); i++) {
+            Segment segment = snapshot.get(i);
+            long next = i + 1 < snapshot.size() ? snapshot.get(i + 1).basePosition : Long.MAX_VALUE;
+            if (next <= current) {
+                continue;
+            }
+            int offset = (int) Math.max(0, current - segment.basePosition);
+            ByteBuffer view = segment.buffer.duplicate();
+            while (true) {
+                int length = readLength(view, offset);
+                if (length <= 0) {
+                    break;
+                }
+                ByteBuffer body = view.slice(offset + HEADER_SIZE, length).asReadOnlyBuffer();
+                current = segment.basePosition + offset + HEADER_SIZE + length;
+                handler.onRecord(current, body);
+                offset += HEADER_SIZE + length;
+            }
+        }
+        return current;
+    }
+
+    // Where to start replaying to see every record the predicate accepts, for a predicate that rejects
+    // a prefix of the journal and accepts the rest, such as "written after". Segments are judged by their
+    // first record and skipped whole, so the returned position is the start of the last segment that
+    // begins with a rejected record; the rejected records after it are still replayed.
+    public long seek(Predicate<ByteBuffer> accepts) {
+        List<Segment> snapshot;
+        appendLock.lock();
+        try {
+            snapshot = new ArrayList<>(segments);
+        } finally {
+            appendLock.unlock();
+        }
+
+        long start = 0L;
+        for (Segment segment : snapshot) {
+            ByteBuffer view = segment.buffer.duplicate();
+            int length = readLength(view, 0);
+            if (length <= 0 || accepts.test(view.slice(HEADER_SIZE, length).asReadOnlyBuffer())) {
+                break;
+            }
+            start = segment.basePosition;
+        }
+        return start;
+    }
+
+    @Override
+    public void close() {
+        appendLock.lock();
+        try {
+            for (Segment segment : segments) {
+                try {
+                    segment.channel.close();
+                } catch (IOException ignored) {
+                    // best effort on shutdown
+                }
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void loadSegments() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(p -> p.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            long base = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+            segments.add(mapSegment(file, base));
+        }
+        if (segments.isEmpty()) {
+            segments.add(mapSegment(segmentPath(0L), 0L));
+        }
+        for (Segment segment : segments) {
+            segment.writeOffset = scanEnd(segment);
+        }
+        active = segments.get(segments.size() - 1);
+        position = active.basePosition + active.writeOffset;
+    }
+
+    private int scanEnd(Segment segment) {
+        int offset = 0;
+        int length;
+        while ((length = readLength(segment.buffer, offset)) > 0) {
+            offset += HEADER_SIZE + length;
+        }
+        return offset;
+    }
+
+    // Returns the body length of a valid record at offset, or 0 at the end of written data
+    private int readLength(ByteBuffer buffer, int offset) {
+        if (offset + HEADER_SIZE > segmentSize) {
+            return 0;
+        }
+        int length = buffer.getInt(offset);
+        if (length <= 0 || offset + HEADER_SIZE + length > segmentSize) {
+            return 0;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset + HEADER_SIZE, length));
+        return (int) crc.getValue() == buffer.getInt(offset + Integer.BYTES) ? length : 0;
+    }
+
+    private void roll() {
+        active.buffer.force();
+        long base = active.basePosition + active.writeOffset;
+        try {
+            active = mapSegment(segmentPath(base), base);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create journal segment at " + base, e);
+        }
+        segments.add(active);
+    }
+
+    private Path segmentPath(long basePosition) {
+        return directory.resolve(String.format("%020d%s", basePosition, SEGMENT_SUFFIX));
+    }
+
+    private Segment mapSegment(Path file, long basePosition) throws IOException {
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            return new Segment(basePosition, channel, buffer);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @FunctionalInterface
+    public interface RecordHandler {
+        void onRecord(long endPosition, ByteBuffer body);
+    }
+
+    private static final class Segment {
+        private final long basePosition;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int writeOffset;
+
+        private Segment(long basePosition, FileChannel channel, MappedByteBuffer buffer) {
+            this.basePosition = basePosition;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+    }
+}
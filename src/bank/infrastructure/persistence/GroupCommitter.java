@@ -0,0 +1,227 @@
+package bank.infrastructure.persistence;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Batches durability requests so that many appends share one force() of the journal.
+//
+// Writers append to the journal first and then wait for their end position to become durable.
+// A single flusher thread collects all positions that arrived while the previous force() was running
+// (up to maxBatchSize, waiting at most maxWait for stragglers), forces once and releases every writer
+// whose record is now covered. A failed force() fails every writer of that batch instead of retrying
+// it, and the flusher backs off before forcing for the next writers, doubling the pause up to a second
+// while the failures last.
+public class GroupCommitter implements AutoCloseable {
+    private static final long INITIAL_BACKOFF_NANOS = 1_000_000L;
+    private static final long MAX_BACKOFF_NANOS = 1_000_000_000L;
+
+    private final EventJournal journal;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final ReentrantLock lock;
+    private final Condition workAvailable;
+    private final Condition committed;
+    private final Thread flusher;
+    private final Metrics metrics;
+
+    private long requestedPosition;
+    private long durablePosition;
+    private int pendingWriters;
+    private long oldestPendingNanos;
+    private long failedPosition = -1L;
+    private RuntimeException failure;
+    private boolean closed;
+
+    public GroupCommitter(EventJournal journal, int maxBatchSize, Duration maxWait) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.journal = journal;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.lock = new ReentrantLock();
+        this.workAvailable = lock.newCondition();
+        this.committed = lock.newCondition();
+        this.metrics = new Metrics();
+        this.durablePosition = journal.position();
+        this.requestedPosition = durablePosition;
+        this.flusher = new Thread(this::flushLoop, "journal-group-commit");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    // Blocks until everything up to position is on stable storage
+    public void awaitDurable(long position) {
+        lock.lock();
+        try {
+            if (position <= durablePosition) {
+                return;
+            }
+            if (position <= failedPosition) {
+                throw new IllegalStateException("Journal commit failed", failure);
+            }
+            if (closed) {
+                throw new IllegalStateException("Group committer is closed");
+            }
+            if (pendingWriters++ == 0) {
+                oldestPendingNanos = System.nanoTime();
+            }
+            if (position > requestedPosition) {
+                requestedPosition = position;
+            }
+            workAvailable.signal();
+            while (durablePosition < position) {
+                committed.awaitUninterruptibly();
+                if (durablePosition < position && position <= failedPosition) {
+                    throw new IllegalStateException("Journal commit failed", failure);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Metrics metrics() {
+        return metrics;
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            workAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void flushLoop() {
+        long backoffNanos = 0L;
+        while (true) {
+            long target;
+            int batchSize;
+            long waitStarted;
+            lock.lock();
+            try {
+                while (pendingWriters == 0 && !closed) {
+                    workAvailable.awaitUninterruptibly();
+                }
+                if (pendingWriters == 0) {
+                    return;
+                }
+                long deadline = oldestPendingNanos + maxWaitNanos;
+                long remaining;
+                while (pendingWriters < maxBatchSize && !closed
+                        && (remaining = deadline - System.nanoTime()) > 0) {
+                    try {
+                        workAvailable.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        break;
+                    }
+                }
+                target = requestedPosition;
+                batchSize = pendingWriters;
+                waitStarted = oldestPendingNanos;
+                pendingWriters = 0;
+            } finally {
+                lock.unlock();
+            }
+
+            RuntimeException error = null;
+            try {
+                journal.force();
+            } catch (RuntimeException e) {
+                error = e;
+            }
+
+            lock.lock();
+            try {
+                if (error != null) {
+                    // the batch fails; late arrivals at or before target fail with it when they wake
+                    failure = error;
+                    failedPosition = target;
+                } else {
+                    durablePosition = target;
+                    failure = null;
+                }
+                if (requestedPosition <= target) {
+                    // late arrivals already covered by this force, or failed with it
+                    pendingWriters = 0;
+                }
+                committed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            if (error != null) {
+                metrics.recordFailure();
+                backoffNanos = backoffNanos == 0L ? INITIAL_BACKOFF_NANOS : Math.min(backoffNanos * 2, MAX_BACKOFF_NANOS);
+                pause(backoffNanos);
+            } else {
+                backoffNanos = 0L;
+                metrics.record(batchSize, System.nanoTime() - waitStarted);
+            }
+        }
+    }
+
+    private static void pause(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            // cut short; the next force goes ahead
+        }
+    }
+
+    public static final class Metrics {
+        private final LongAdder commits = new LongAdder();
+        private final LongAdder writers = new LongAdder();
+        private final LongAdder latencyNanos = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final AtomicLong maxBatchSize = new AtomicLong();
+        private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+        private void record(int batchSize, long latency) {
+            commits.increment();
+            writers.add(batchSize);
+            latencyNanos.add(latency);
+            maxBatchSize.accumulateAndGet(batchSize, Math::max);
+            maxLatencyNanos.accumulateAndGet(latency, Math::max);
+        }
+
+        private void recordFailure() {
+            failures.increment();
+        }
+
+        public long getCommits() { return commits.sum(); }
+        public long getFailedCommits() { return failures.sum(); }
+        public long getCommittedWriters() { return writers.sum(); }
+        public long getMaxBatchSize() { return maxBatchSize.get(); }
+        public long getMaxCommitLatencyNanos() { return maxLatencyNanos.get(); }
+
+        public double getAverageBatchSize() {
+            long count = commits.sum();
+            return count == 0 ? 0.0 : (double) writers.sum() / count;
+        }
+
+        public double getAverageCommitLatencyNanos() {
+            long count = commits.sum();
+            return count == 0 ? 0.0 : (double) latencyNanos.sum() / count;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("commits=%d failed=%d avgBatch=%.1f maxBatch=%d avgLatency=%.1fus maxLatency=%.1fus",
+                    getCommits(), getFailedCommits(), getAverageBatchSize(), getMaxBatchSize(),
+                    getAverageCommitLatencyNanos() / 1_000.0, getMaxCommitLatencyNanos() / 1_000.0);
+        }
+    }
+}
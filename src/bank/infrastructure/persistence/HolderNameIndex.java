@@ -0,0 +1,124 @@
+package bank.infrastructure.persistence;
+
+import bank.domain.valueobjects.AccountNumber;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// Secondary index from normalized holder name to the accounts held under it.
+//
+// Names sort in a skip list, so an exact query is one lookup and a prefix query walks the names from the
+// first one at or after the prefix until one no longer starts with it, stopping as soon as the limit is
+// reached. Each name maps to a sorted long[] of packed account numbers that is replaced, never mutated,
+// so readers need no lock. Holder names never change, so the index only moves on create and delete.
+public class HolderNameIndex {
+    private static final long[] NONE = new long[0];
+
+    private final ConcurrentSkipListMap<String, long[]> names = new ConcurrentSkipListMap<>();
+
+    // Trimmed, inner whitespace collapsed to one space, lower case
+    public static String normalize(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("Holder name cannot be null");
+        }
+        StringBuilder normalized = new StringBuilder(name.length());
+        boolean space = false;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = normalized.length() > 0;
+            } else {
+                if (space) {
+                    normalized.append(' ');
+                    space = false;
+                }
+                normalized.append(c);
+            }
+        }
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+
+    // As normalize, but a trailing space is kept so "ann " does not match "anna"
+    public static String normalizePrefix(String prefix) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty()) {
+            throw new IllegalArgumentException("Holder name prefix cannot be empty");
+        }
+        return Character.isWhitespace(prefix.charAt(prefix.length() - 1)) ? normalized + ' ' : normalized;
+    }
+
+    public void add(String holderName, AccountNumber accountNumber) {
+        long key = accountNumber.toLong();
+        names.compute(normalize(holderName), (name, current) -> {
+            long[] numbers = current == null ? NONE : current;
+            int at = Arrays.binarySearch(numbers, key);
+            if (at >= 0) {
+                return numbers;
+            }
+            int insert = -at - 1;
+            long[] grown = new long[numbers.length + 1];
+            System.arraycopy(numbers, 0, grown, 0, insert);
+            grown[insert] = key;
+            System.arraycopy(numbers, insert, grown, insert + 1, numbers.length - insert);
+            return grown;
+        });
+    }
+
+    public void remove(String holderName, AccountNumber accountNumber) {
+        long key = accountNumber.toLong();
+        names.computeIfPresent(normalize(holderName), (name, numbers) -> {
+            int at = Arrays.binarySearch(numbers, key);
+            if (at < 0) {
+                return numbers;
+            }
+            if (numbers.length == 1) {
+                return null;
+            }
+            long[] shrunk = new long[numbers.length - 1];
+            System.arraycopy(numbers, 0, shrunk, 0, at);
+            System.arraycopy(numbers, at + 1, shrunk, at, shrunk.length - at);
+            return shrunk;
+        });
+    }
+
+    // Accounts held under exactly this name, in number order
+    public List<AccountNumber> exact(String holderName, int limit) {
+        checkLimit(limit);
+        List<AccountNumber> matches = new ArrayList<>(Math.min(limit, 16));
+        long[] numbers = names.get(normalize(holderName));
+        if (numbers != null) {
+            collect(numbers, limit, matches);
+        }
+        return matches;
+    }
+
+    // Accounts whose name starts with the prefix, in name then number order
+    public List<AccountNumber> prefix(String prefix, int limit) {
+        checkLimit(limit);
+        String from = normalizePrefix(prefix);
+        List<AccountNumber> matches = new ArrayList<>(Math.min(limit, 16));
+        for (Map.Entry<String, long[]> entry : names.tailMap(from, true).entrySet()) {
+            if (!entry.getKey().startsWith(from) || matches.size() == limit) {
+                break;
+            }
+            collect(entry.getValue(), limit, matches);
+        }
+        return matches;
+    }
+
+    static void checkLimit(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+    }
+
+    private static void collect(long[] numbers, int limit, List<AccountNumber> into) {
+        for (int i = 0; i < numbers.length && into.size() < limit; i++) {
+            into.add(AccountNumber.fromLong(numbers[i]));
+        }
+    }
+}
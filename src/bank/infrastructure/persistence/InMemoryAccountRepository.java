@@ -2,39 +2,149 @@ package bank.infrastructure.persistence;
 
 import bank.domain.entities.Account;
 import bank.domain.valueobjects.AccountNumber;
+import bank.infrastructure.concurrency.LongObjectHashMap;
+import bank.infrastructure.concurrency.StripedLockTable;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
 
 public class InMemoryAccountRepository implements AccountRepository {
-    private final Map<AccountNumber, Account> accounts;
+    // Keyed by the packed account number, so lookups do not allocate
+    private final LongObjectHashMap<Account> accounts;
+    // Ordered key index for keyset pagination; lookups stay on the hash map
+    private final NavigableSet<AccountNumber> index;
+    private final HolderNameIndex holderNames;
+    // Held only for the version check and the puts of a versioned save, never while callers compute
+    private final StripedLockTable commitLocks;
 
     public InMemoryAccountRepository() {
-        this.accounts = new ConcurrentHashMap<>();
+        this.accounts = new LongObjectHashMap<>();
+        this.index = new ConcurrentSkipListSet<>();
+        this.holderNames = new HolderNameIndex();
+        this.commitLocks = new StripedLockTable();
     }
 
     @Override
     public void save(Account account) {
-        accounts.put(account.getAccountNumber(), account);
+        if (accounts.put(account.getAccountNumber().toLong(), account) == null) {
+            index.add(account.getAccountNumber());
+            holderNames.add(account.getAccountHolderName(), account.getAccountNumber());
+        }
+    }
+
+    @Override
+    public boolean supportsVersionedSaves() {
+        return true;
+    }
+
+    // Replaces the stored instances rather than mutating them, so a reader keeps a consistent account;
+    // a concurrent scan may still see a multi-account commit half applied
+    @Override
+    public boolean compareAndSaveAll(Collection<Account> updated) {
+        List<AccountNumber> accountNumbers = new ArrayList<>(updated.size());
+        for (Account account : updated) {
+            accountNumbers.add(account.getAccountNumber());
+        }
+        try (StripedLockTable.Guard _ = commitLocks.lockAll(accountNumbers)) {
+            for (Account account : updated) {
+                Account stored = accounts.get(account.getAccountNumber().toLong());
+                if (stored == null || stored.getVersion() != account.getVersion()) {
+                    return false;
+                }
+            }
+            for (Account account : updated) {
+                account.setVersion(account.getVersion() + 1);
+                accounts.put(account.getAccountNumber().toLong(), account);
+            }
+            return true;
+        }
+    }
+
+    @Override
+    public boolean compareAndDelete(Account account) {
+        try (StripedLockTable.Guard _ = commitLocks.lock(account.getAccountNumber())) {
+            Account stored = accounts.get(account.getAccountNumber().toLong());
+            if (stored == null || stored.getVersion() != account.getVersion()) {
+                return false;
+            }
+            delete(account.getAccountNumber());
+            return true;
+        }
     }
 
     @Override
     public Optional<Account> findByNumber(AccountNumber accountNumber) {
-        return Optional.ofNullable(accounts.get(accountNumber));
+        return Optional.ofNullable(accounts.get(accountNumber.toLong()));
     }
 
     @Override
     public List<Account> findAll() {
-        return new ArrayList<>(accounts.values());
+        List<Account> all = new ArrayList<>(accounts.size());
+        accounts.values().forEach(all::add);
+        return all;
+    }
+
+    @Override
+    public Stream<Account> stream() {
+        return accounts.values();
+    }
+
+    @Override
+    public AccountPage findPage(AccountNumber after, int pageSize) {
+        AccountPage.checkPageSize(pageSize);
+        NavigableSet<AccountNumber> remaining = after == null ? index : index.tailSet(after, false);
+        List<Account> page = new ArrayList<>(pageSize + 1);
+        for (AccountNumber accountNumber : remaining) {
+            Account account = accounts.get(accountNumber.toLong());
+            if (account != null) {
+                page.add(account);
+                if (page.size() > pageSize) {
+                    break;
+                }
+            }
+        }
+        return AccountPage.of(page, pageSize);
+    }
+
+    @Override
+    public List<Account> findByHolderName(String holderName, int limit) {
+        return materialize(holderNames.exact(holderName, limit));
+    }
+
+    @Override
+    public List<Account> findByHolderNamePrefix(String prefix, int limit) {
+        return materialize(holderNames.prefix(prefix, limit));
     }
 
     @Override
     public void delete(AccountNumber accountNumber) {
-        accounts.remove(accountNumber);
+        Account removed = accounts.remove(accountNumber.toLong());
+        if (removed != null) {
+            index.remove(accountNumber);
+            holderNames.remove(removed.getAccountHolderName(), accountNumber);
+        }
+    }
+
+    // Skips numbers deleted between the index read and the lookup
+    private List<Account> materialize(List<AccountNumber> accountNumbers) {
+        List<Account> found = new ArrayList<>(accountNumbers.size());
+        for (AccountNumber accountNumber : accountNumbers) {
+            Account account = accounts.get(accountNumber.toLong());
+            if (account != null) {
+                found.add(account);
+            }
+        }
+        return found;
+    }
+
+    // Live, uncopied view for in-package consumers such as snapshotting
+    Iterable<Account> view() {
+        return () -> accounts.values().iterator();
     }
 
     @Override
     public int count() {
         return accounts.size();
     }
-}
\ No newline at end of file
+}
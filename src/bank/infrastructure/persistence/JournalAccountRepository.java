@@ -0,0 +1,290 @@
+package bank.infrastructure.persistence;
+
+import bank.domain.entities.Account;
+import bank.domain.events.DomainEvent;
+import bank.domain.valueobjects.AccountNumber;
+import bank.domain.valueobjects.Money;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// Durable repository: every save appends the account's pending domain events to an EventJournal
+// as one record, and the current state is kept in memory. On open the newest snapshot (if any) is
+// loaded and only the journal tail after its position is replayed. With a GroupCommitter attached,
+// save returns only once its record has been forced to disk together with whatever other writers
+// were waiting at the same time; appendAll and appendDelete return that wait to the caller instead.
+//
+// A write appends its record and applies it to the in-memory state under the shared side of
+// snapshotGate; a snapshot takes the exclusive side only to read the journal position. So every
+// record at or before that position is already applied when the scan starts, and nobody waits for
+// the scan itself or for a write's durability.
+public class JournalAccountRepository implements AccountRepository, AutoCloseable {
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+    private static final int INITIAL_BUFFER_SIZE = 1024;
+    private static final int RETAINED_SNAPSHOTS = 2;
+
+    private final EventJournal journal;
+    private final GroupCommitter committer;
+    private final SnapshotStore snapshots;
+    private final InMemoryAccountRepository accounts;
+    private final ThreadLocal<ByteBuffer> encodeBuffer;
+    private final ReentrantReadWriteLock snapshotGate;
+    private ScheduledExecutorService snapshotScheduler;
+
+    private JournalAccountRepository(Path directory, EventJournal journal, GroupCommitter committer) {
+        this.journal = journal;
+        this.committer = committer;
+        this.snapshots = new SnapshotStore(directory, RETAINED_SNAPSHOTS);
+        this.accounts = new InMemoryAccountRepository();
+        this.encodeBuffer = ThreadLocal.withInitial(() -> ByteBuffer.allocate(INITIAL_BUFFER_SIZE));
+        this.snapshotGate = new ReentrantReadWriteLock();
+    }
+
+    public static JournalAccountRepository open(Path directory) {
+        return open(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    // Appends are left to the OS page cache; nothing is forced
+    public static JournalAccountRepository open(Path directory, int segmentSize) {
+        EventJournal journal = EventJournal.open(directory, segmentSize);
+        return recover(new JournalAccountRepository(directory, journal, null));
+    }
+
+    // Every save is durable, with fsyncs shared across concurrent writers
+    public static JournalAccountRepository openDurable(Path directory, int segmentSize,
+                                                       int maxBatchSize, Duration maxWait) {
+        EventJournal journal = EventJournal.open(directory, segmentSize);
+        GroupCommitter committer = new GroupCommitter(journal, maxBatchSize, maxWait);
+        return recover(new JournalAccountRepository(directory, journal, committer));
+    }
+
+    private static JournalAccountRepository recover(JournalAccountRepository repository) {
+        long from = repository.snapshots.loadLatest(repository.accounts::save).orElse(0L);
+        Replayer replayer = repository.new Replayer();
+        repository.journal.replay(from, (position, body) -> JournalCodec.read(body, replayer));
+        return repository;
+    }
+
+    // Journals the account's pending events; the caller clears them once they are dispatched
+    @Override
+    public void save(Account account) {
+        saveAll(List.of(account));
+    }
+
+    // The whole batch becomes one journal record: a single append and at most one durability wait
+    @Override
+    public void saveAll(Collection<Account> batch) {
+        appendAll(batch).await();
+    }
+
+    @Override
+    public Commit appendAll(Collection<Account> batch) {
+        ByteBuffer record = encode(batch);
+        long position = -1L;
+        snapshotGate.readLock().lock();
+        try {
+            if (record.hasRemaining()) {
+                position = journal.append(record);
+            }
+            batch.forEach(accounts::save);
+        } finally {
+            snapshotGate.readLock().unlock();
+        }
+        return position >= 0 ? commit(position) : Commit.DONE;
+    }
+
+    @Override
+    public Optional<Account> findByNumber(AccountNumber accountNumber) {
+        return accounts.findByNumber(accountNumber);
+    }
+
+    @Override
+    public List<Account> findAll() {
+        return accounts.findAll();
+    }
+
+    @Override
+    public Stream<Account> stream() {
+        return accounts.stream();
+    }
+
+    @Override
+    public AccountPage findPage(AccountNumber after, int pageSize) {
+        return accounts.findPage(after, pageSize);
+    }
+
+    @Override
+    public List<Account> findByHolderName(String holderName, int limit) {
+        return accounts.findByHolderName(holderName, limit);
+    }
+
+    @Override
+    public List<Account> findByHolderNamePrefix(String prefix, int limit) {
+        return accounts.findByHolderNamePrefix(prefix, limit);
+    }
+
+    @Override
+    public void delete(AccountNumber accountNumber) {
+        appendDelete(accountNumber).await();
+    }
+
+    @Override
+    public Commit appendDelete(AccountNumber accountNumber) {
+        ByteBuffer record = encodeBuffer.get();
+        record.clear();
+        JournalCodec.writeAccountClosed(record, accountNumber, System.currentTimeMillis());
+        long position;
+        snapshotGate.readLock().lock();
+        try {
+            position = journal.append(record.flip());
+            accounts.delete(accountNumber);
+        } finally {
+            snapshotGate.readLock().unlock();
+        }
+        return commit(position);
+    }
+
+    @Override
+    public int count() {
+        return accounts.count();
+    }
+
+    // Feeds the whole journal to the visitor, oldest record first, without touching the accounts
+    public void replay(JournalCodec.Visitor visitor) {
+        journal.replay(0L, (position, body) -> {
+            JournalCodec.read(body, visitor);
+            visitor.endOfRecord();
+        });
+    }
+
+    // As replay, but skips the journal segments written wholly before fromMillis; records a little older
+    // than fromMillis may still be fed, so the visitor filters by timestamp when that matters
+    public void replaySince(long fromMillis, JournalCodec.Visitor visitor) {
+        long from = journal.seek(body -> JournalCodec.firstTimestamp(body) >= fromMillis);
+        journal.replay(from, (position, body) -> {
+            JournalCodec.read(body, visitor);
+            visitor.endOfRecord();
+        });
+    }
+
+    public long journalPosition() {
+        return journal.position();
+    }
+
+    // Writes a snapshot while writers keep running. The position is read with no write between its
+    // append and its apply, so every record at or before it is reflected in the scanned state; records
+    // after it may or may not be, which is harmless because replaying them sets absolute balances,
+    // re-creates opened accounts and removes closed ones.
+    public Path snapshot() {
+        long position;
+        snapshotGate.writeLock().lock();
+        try {
+            position = journal.position();
+        } finally {
+            snapshotGate.writeLock().unlock();
+        }
+        return snapshots.write(position, accounts.view());
+    }
+
+    public synchronized void startPeriodicSnapshots(Duration interval) {
+        if (snapshotScheduler != null) {
+            throw new IllegalStateException("Periodic snapshots already running");
+        }
+        snapshotScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "journal-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        snapshotScheduler.scheduleWithFixedDelay(() -> {
+            try {
+                snapshot();
+            } catch (RuntimeException e) {
+                // keep the schedule alive; the next run retries and the journal still has everything
+                System.err.println("Snapshot failed: " + e.getMessage());
+            }
+        }, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    public Optional<GroupCommitter.Metrics> commitMetrics() {
+        return Optional.ofNullable(committer).map(GroupCommitter::metrics);
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (snapshotScheduler != null) {
+                snapshotScheduler.shutdown();
+                try {
+                    snapshotScheduler.awaitTermination(1, TimeUnit.MINUTES);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+        if (committer != null) {
+            committer.close();
+        }
+        journal.close();
+    }
+
+    private Commit commit(long position) {
+        return committer == null ? Commit.DONE : () -> committer.awaitDurable(position);
+    }
+
+    private ByteBuffer encode(Collection<Account> batch) {
+        ByteBuffer buffer = encodeBuffer.get();
+        while (true) {
+            buffer.clear();
+            try {
+                for (Account account : batch) {
+                    for (DomainEvent event : account.getDomainEvents()) {
+                        JournalCodec.writeEvent(buffer, account, event);
+                    }
+                }
+                return buffer.flip();
+            } catch (BufferOverflowException e) {
+                buffer = ByteBuffer.allocate(buffer.capacity() * 2);
+                encodeBuffer.set(buffer);
+            }
+        }
+    }
+
+    // Applies replayed entries to the in-memory state; balances are absolute so replay is idempotent
+    private final class Replayer implements JournalCodec.Visitor {
+        @Override
+        public void accountOpened(long timestamp, Account account) {
+            accounts.save(account);
+        }
+
+        @Override
+        public void fundsDeposited(long timestamp, AccountNumber accountNumber, long amount, long newBalance) {
+            restoreBalance(accountNumber, newBalance);
+        }
+
+        @Override
+        public void fundsWithdrawn(long timestamp, AccountNumber accountNumber, long amount, long newBalance) {
+            restoreBalance(accountNumber, newBalance);
+        }
+
+        @Override
+        public void accountClosed(long timestamp, AccountNumber accountNumber) {
+            accounts.delete(accountNumber);
+        }
+
+        private void restoreBalance(AccountNumber accountNumber, long newBalance) {
+            accounts.findByNumber(accountNumber).ifPresent(account ->
+                    account.restoreBalance(Money.ofMinor(newBalance, account.getBalance().getCurrency())));
+        }
+    }
+}
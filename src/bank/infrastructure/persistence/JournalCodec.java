@@ -0,0 +1,282 @@
+package bank.infrastructure.persistence;
+
+import bank.domain.entities.Account;
+import bank.domain.entities.AccountType;
+import bank.domain.entities.CheckingAccount;
+import bank.domain.entities.SavingsAccount;
+import bank.domain.events.AccountOpenedEvent;
+import bank.domain.events.DomainEvent;
+import bank.domain.events.FundsDepositedEvent;
+import bank.domain.events.FundsTransferredEvent;
+import bank.domain.events.FundsWithdrawnEvent;
+import bank.domain.events.TransferRefusedEvent;
+import bank.domain.results.InsufficientFunds;
+import bank.domain.results.OperationResult;
+import bank.domain.results.TransferFailed;
+import bank.domain.results.ViolatesMinimumBalance;
+import bank.domain.results.WithdrawalFailed;
+import bank.domain.valueobjects.AccountNumber;
+import bank.domain.valueobjects.Money;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Currency;
+
+// Compact binary encoding of account events and account state.
+// A journal record body is a sequence of entries: [byte tag][long epochMillis][payload].
+// Money is stored as long minor units; the currency is carried by the account's state entry.
+// Account numbers are stored in their packed long form.
+public final class JournalCodec {
+    static final byte ACCOUNT_OPENED = 1;
+    static final byte FUNDS_DEPOSITED = 2;
+    static final byte FUNDS_WITHDRAWN = 3;
+    static final byte FUNDS_TRANSFERRED = 4;
+    static final byte ACCOUNT_CLOSED = 5;
+    // deposit and withdrawal entries followed by the transfer's other account
+    static final byte TRANSFER_CREDITED = 6;
+    static final byte TRANSFER_DEBITED = 7;
+    static final byte TRANSFER_REFUSED = 8;
+
+    // Refusal outcomes, after the refused transfer's fields
+    private static final byte TRANSFER_FAILED = 1;
+    private static final byte WITHDRAWAL_FAILED = 2;
+    private static final byte INSUFFICIENT_FUNDS = 3;
+    private static final byte VIOLATES_MINIMUM_BALANCE = 4;
+
+    private JournalCodec() {
+    }
+
+    // Encodes one pending event of the given account; throws BufferOverflowException when out of room
+    public static void writeEvent(ByteBuffer out, Account account, DomainEvent event) {
+        if (event instanceof AccountOpenedEvent opened) {
+            out.put(ACCOUNT_OPENED).putLong(opened.getOccurredAtMillis());
+            writeAccount(out, account, opened.getInitialBalance());
+        } else if (event instanceof FundsDepositedEvent deposited) {
+            AccountNumber source = deposited.getCounterparty();
+            out.put(source == null ? FUNDS_DEPOSITED : TRANSFER_CREDITED).putLong(deposited.getOccurredAtMillis());
+            writeAccountNumber(out, deposited.getAccountNumber());
+            out.putLong(deposited.getAmount().getMinorUnits());
+            out.putLong(deposited.getNewBalance().getMinorUnits());
+            if (source != null) {
+                writeAccountNumber(out, source);
+            }
+        } else if (event instanceof FundsWithdrawnEvent withdrawn) {
+            AccountNumber destination = withdrawn.getCounterparty();
+            out.put(destination == null ? FUNDS_WITHDRAWN : TRANSFER_DEBITED).putLong(withdrawn.getOccurredAtMillis());
+            writeAccountNumber(out, withdrawn.getAccountNumber());
+            out.putLong(withdrawn.getAmount().getMinorUnits());
+            out.putLong(withdrawn.getNewBalance().getMinorUnits());
+            if (destination != null) {
+                writeAccountNumber(out, destination);
+            }
+        } else if (event instanceof FundsTransferredEvent transferred) {
+            out.put(FUNDS_TRANSFERRED).putLong(transferred.getOccurredAtMillis());
+            writeAccountNumber(out, transferred.getSourceAccount());
+            writeAccountNumber(out, transferred.getDestinationAccount());
+            writeCurrency(out, transferred.getAmount().getCurrency());
+            out.putLong(transferred.getAmount().getMinorUnits());
+            writeString(out, transferred.getReference());
+        } else if (event instanceof TransferRefusedEvent refused) {
+            out.put(TRANSFER_REFUSED).putLong(refused.getOccurredAtMillis());
+            writeAccountNumber(out, refused.getSourceAccount());
+            writeAccountNumber(out, refused.getDestinationAccount());
+            writeCurrency(out, refused.getAmount().getCurrency());
+            out.putLong(refused.getAmount().getMinorUnits());
+            writeString(out, refused.getReference());
+            writeOutcome(out, refused.getOutcome());
+        } else {
+            throw new IllegalArgumentException("Unsupported event type: " + event.getEventType());
+        }
+    }
+
+    public static void writeAccountClosed(ByteBuffer out, AccountNumber accountNumber, long epochMillis) {
+        out.put(ACCOUNT_CLOSED).putLong(epochMillis);
+        writeAccountNumber(out, accountNumber);
+    }
+
+    // Decodes every entry of a record body, in order
+    public static void read(ByteBuffer in, Visitor visitor) {
+        while (in.hasRemaining()) {
+            byte tag = in.get();
+            long timestamp = in.getLong();
+            switch (tag) {
+                case ACCOUNT_OPENED -> visitor.accountOpened(timestamp, readAccount(in));
+                case FUNDS_DEPOSITED -> visitor.fundsDeposited(timestamp, readAccountNumber(in), in.getLong(), in.getLong());
+                case FUNDS_WITHDRAWN -> visitor.fundsWithdrawn(timestamp, readAccountNumber(in), in.getLong(), in.getLong());
+                case FUNDS_TRANSFERRED -> {
+                    AccountNumber source = readAccountNumber(in);
+                    AccountNumber destination = readAccountNumber(in);
+                    Currency currency = readCurrency(in);
+                    Money amount = Money.ofMinor(in.getLong(), currency);
+                    visitor.fundsTransferred(timestamp, source, destination, amount, readString(in));
+                }
+                case ACCOUNT_CLOSED -> visitor.accountClosed(timestamp, readAccountNumber(in));
+                case TRANSFER_REFUSED -> {
+                    AccountNumber source = readAccountNumber(in);
+                    AccountNumber destination = readAccountNumber(in);
+                    Currency currency = readCurrency(in);
+                    Money amount = Money.ofMinor(in.getLong(), currency);
+                    String reference = readString(in);
+                    visitor.transferRefused(timestamp, source, destination, amount, reference, readOutcome(in, currency));
+                }
+                case TRANSFER_CREDITED -> visitor.fundsDeposited(timestamp, readAccountNumber(in), in.getLong(), in.getLong(),
+                        readAccountNumber(in));
+                case TRANSFER_DEBITED -> visitor.fundsWithdrawn(timestamp, readAccountNumber(in), in.getLong(), in.getLong(),
+                        readAccountNumber(in));
+                default -> throw new IllegalStateException("Corrupt journal entry tag: " + tag);
+            }
+        }
+    }
+
+    // Time of a record body's first entry
+    public static long firstTimestamp(ByteBuffer body) {
+        return body.getLong(body.position() + 1);
+    }
+
+    private static void writeOutcome(ByteBuffer out, OperationResult outcome) {
+        if (outcome instanceof TransferFailed failed) {
+            out.put(TRANSFER_FAILED);
+            writeString(out, failed.getReason());
+        } else if (outcome instanceof WithdrawalFailed failed) {
+            out.put(WITHDRAWAL_FAILED);
+            writeString(out, failed.getReason());
+        } else if (outcome instanceof InsufficientFunds insufficient) {
+            out.put(INSUFFICIENT_FUNDS);
+            out.putLong(insufficient.getAvailable().getMinorUnits());
+            out.putLong(insufficient.getRequested().getMinorUnits());
+        } else if (outcome instanceof ViolatesMinimumBalance violates) {
+            out.put(VIOLATES_MINIMUM_BALANCE);
+            out.putLong(violates.getMinimum().getMinorUnits());
+            out.putLong(violates.getResultingBalance().getMinorUnits());
+        } else {
+            throw new IllegalArgumentException("Unsupported refusal: " + outcome.getClass().getSimpleName());
+        }
+    }
+
+    private static OperationResult readOutcome(ByteBuffer in, Currency currency) {
+        byte kind = in.get();
+        return switch (kind) {
+            case TRANSFER_FAILED -> new TransferFailed(readString(in));
+            case WITHDRAWAL_FAILED -> new WithdrawalFailed(readString(in));
+            case INSUFFICIENT_FUNDS -> new InsufficientFunds(Money.ofMinor(in.getLong(), currency),
+                    Money.ofMinor(in.getLong(), currency));
+            case VIOLATES_MINIMUM_BALANCE -> new ViolatesMinimumBalance(Money.ofMinor(in.getLong(), currency),
+                    Money.ofMinor(in.getLong(), currency));
+            default -> throw new IllegalStateException("Corrupt refusal kind: " + kind);
+        };
+    }
+
+    // Full account state with an explicit balance: used for opening entries and snapshots
+    public static void writeAccount(ByteBuffer out, Account account, Money balance) {
+        writeAccountNumber(out, account.getAccountNumber());
+        out.put((byte) account.getAccountType().ordinal());
+        writeString(out, account.getAccountHolderName());
+        writeCurrency(out, balance.getCurrency());
+        out.putLong(balance.getMinorUnits());
+        out.putLong(account.getCreatedEpochMillis());
+        if (account instanceof SavingsAccount savings) {
+            writeDecimal(out, savings.getInterestRate());
+            out.putLong(savings.getMinimumBalance().getMinorUnits());
+        } else if (account instanceof CheckingAccount checking) {
+            out.putLong(checking.getOverdraftLimit().getMinorUnits());
+        }
+    }
+
+    public static Account readAccount(ByteBuffer in) {
+        AccountNumber accountNumber = readAccountNumber(in);
+        AccountType type = AccountType.values()[in.get()];
+        String holder = readString(in);
+        Currency currency = readCurrency(in);
+        Money balance = Money.ofMinor(in.getLong(), currency);
+        LocalDateTime dateCreated = LocalDateTime.ofInstant(Instant.ofEpochMilli(in.getLong()), ZoneOffset.UTC);
+        return switch (type) {
+            case SAVINGS -> SavingsAccount.restore(accountNumber, holder, balance,
+                    readDecimal(in), Money.ofMinor(in.getLong(), currency), dateCreated);
+            case CHECKING -> CheckingAccount.restore(accountNumber, holder, balance,
+                    Money.ofMinor(in.getLong(), currency), dateCreated);
+        };
+    }
+
+    static void writeAccountNumber(ByteBuffer out, AccountNumber accountNumber) {
+        out.putLong(accountNumber.toLong());
+    }
+
+    static AccountNumber readAccountNumber(ByteBuffer in) {
+        return AccountNumber.fromLong(in.getLong());
+    }
+
+    private static void writeCurrency(ByteBuffer out, Currency currency) {
+        String code = currency.getCurrencyCode();
+        out.put((byte) code.charAt(0)).put((byte) code.charAt(1)).put((byte) code.charAt(2));
+    }
+
+    private static Currency readCurrency(ByteBuffer in) {
+        char[] code = {(char) in.get(), (char) in.get(), (char) in.get()};
+        return Currency.getInstance(new String(code));
+    }
+
+    private static void writeDecimal(ByteBuffer out, BigDecimal value) {
+        out.putLong(value.unscaledValue().longValueExact());
+        out.put((byte) value.scale());
+    }
+
+    private static BigDecimal readDecimal(ByteBuffer in) {
+        long unscaled = in.getLong();
+        return new BigDecimal(BigInteger.valueOf(unscaled), in.get());
+    }
+
+    // Strings are [short length][utf-8 bytes]; length -1 encodes null
+    private static void writeString(ByteBuffer out, String value) {
+        if (value == null) {
+            out.putShort((short) -1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("String too long for journal: " + bytes.length + " bytes");
+        }
+        if (out.remaining() < Short.BYTES + bytes.length) {
+            throw new BufferOverflowException();
+        }
+        out.putShort((short) bytes.length).put(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Callbacks for decoded entries; implement only what is needed
+    public interface Visitor {
+        default void accountOpened(long timestamp, Account account) {}
+        default void fundsDeposited(long timestamp, AccountNumber accountNumber, long amount, long newBalance) {}
+        default void fundsWithdrawn(long timestamp, AccountNumber accountNumber, long amount, long newBalance) {}
+        // the sides of a transfer; by default seen as a plain deposit and withdrawal
+        default void fundsDeposited(long timestamp, AccountNumber accountNumber, long amount, long newBalance,
+                                    AccountNumber source) {
+            fundsDeposited(timestamp, accountNumber, amount, newBalance);
+        }
+        default void fundsWithdrawn(long timestamp, AccountNumber accountNumber, long amount, long newBalance,
+                                    AccountNumber destination) {
+            fundsWithdrawn(timestamp, accountNumber, amount, newBalance);
+        }
+        default void fundsTransferred(long timestamp, AccountNumber source, AccountNumber destination,
+                                      Money amount, String reference) {}
+        default void accountClosed(long timestamp, AccountNumber accountNumber) {}
+        default void transferRefused(long timestamp, AccountNumber source, AccountNumber destination,
+                                     Money amount, String reference, OperationResult outcome) {}
+        // after the last entry of a record, when entries are read through a repository replay
+        default void endOfRecord() {}
+    }
+}
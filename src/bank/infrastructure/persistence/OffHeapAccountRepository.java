@@ -0,0 +1,612 @@
+package bank.infrastructure.persistence;
+
+import bank.domain.entities.Account;
+import bank.domain.entities.AccountType;
+import bank.domain.entities.CheckingAccount;
+import bank.domain.entities.SavingsAccount;
+import bank.domain.valueobjects.AccountNumber;
+import bank.domain.valueobjects.Money;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.StampedLock;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+// Repository that keeps account state outside the Java heap, for books too large to hold as objects.
+//
+// Each account is a fixed 64-byte record in chunked MemorySegments:
+//   0 number (packed)  8 balance  16 overdraft limit / minimum balance  24 created epoch millis
+//   32 interest rate unscaled  40 name reference  48 type  49 rate scale  50 currency (3 bytes)  53 state
+//   56 normalized name reference
+// Holder names, as given and as HolderNameIndex normalizes them, live in an append-only byte region,
+// referenced by chunk, offset and length. An off-heap open-addressing table maps packed account numbers
+// to record slots.
+//
+// Paging and name searches scan the records in place, comparing numbers and normalized name bytes
+// without building accounts, and keep only the best slots in a bounded heap of longs; just the accounts
+// returned are built. Names order by their UTF-8 bytes, which is code point order and differs from
+// String order only between supplementary characters and those from U+E000 up.
+//
+// findByNumber returns a detached Account built from the record; save writes its balance back. The
+// objects are short-lived, so the heap holds only what callers are working on. Two lookups of the same
+// account return different instances, so callers must hold the account's lock from lookup to save, as
+// DefaultAccountService does. Domain events are not stored. Structural changes (new accounts, deletes,
+// growth) take a write lock; lookups read the index optimistically.
+//
+// With a directory the chunks are memory-mapped files and the book survives restarts; force() or
+// close() flushes them. Deleted records keep their slot and are reused if the number is saved again.
+public class OffHeapAccountRepository implements AccountRepository, AutoCloseable {
+    private static final long RECORD_SIZE = 64;
+    private static final int RECORDS_PER_CHUNK_BITS = 20;
+    private static final long RECORDS_PER_CHUNK = 1L << RECORDS_PER_CHUNK_BITS;
+    private static final long NAMES_CHUNK_SIZE = 16L * 1024 * 1024;
+    private static final long INDEX_ENTRY_SIZE = 16;
+    private static final long INITIAL_INDEX_CAPACITY = 1 << 16;
+
+    private static final long NUMBER = 0;
+    private static final long BALANCE = 8;
+    private static final long LIMIT = 16;
+    private static final long CREATED = 24;
+    private static final long RATE = 32;
+    private static final long NAME = 40;
+    private static final long TYPE = 48;
+    private static final long RATE_SCALE = 49;
+    private static final long CURRENCY = 50;
+    private static final long STATE = 53;
+    private static final long NORMALIZED_NAME = 56;
+
+    private static final byte UNUSED = 0;
+    private static final byte LIVE = 1;
+    private static final byte DELETED = 2;
+
+    private final Arena arena;
+    private final Path directory;
+    private final StampedLock structure;
+
+    private volatile MemorySegment[] recordChunks;
+    private volatile MemorySegment[] nameChunks;
+    private volatile MemorySegment index;
+    private long indexCapacity;
+    private long indexSize;
+    private volatile long recordCount;
+    private volatile int liveCount;
+    private long namesPosition;
+
+    private OffHeapAccountRepository(Path directory) {
+        this.arena = Arena.ofShared();
+        this.directory = directory;
+        this.structure = new StampedLock();
+        this.recordChunks = new MemorySegment[0];
+        this.nameChunks = new MemorySegment[0];
+        this.indexCapacity = INITIAL_INDEX_CAPACITY;
+        this.index = Arena.ofAuto().allocate(indexCapacity * INDEX_ENTRY_SIZE, Long.BYTES);
+    }
+
+    public static OffHeapAccountRepository inMemory() {
+        return new OffHeapAccountRepository(null);
+    }
+
+    // Maps the book from files in the directory, loading whatever a previous run left there
+    public static OffHeapAccountRepository mapped(Path directory) {
+        OffHeapAccountRepository repository = new OffHeapAccountRepository(directory);
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create " + directory, e);
+        }
+        repository.recover();
+        return repository;
+    }
+
+    @Override
+    public void save(Account account) {
+        long key = account.getAccountNumber().toLong();
+        long slot = lookup(key);
+        if (slot >= 0 && record(slot).get(ValueLayout.JAVA_BYTE, offset(slot) + STATE) == LIVE) {
+            // the caller holds the account lock; only the balance of an existing account changes
+            record(slot).set(ValueLayout.JAVA_LONG, offset(slot) + BALANCE, account.getBalance().getMinorUnits());
+            return;
+        }
+        long stamp = structure.writeLock();
+        try {
+            slot = find(index, indexCapacity, key);
+            if (slot < 0) {
+                slot = recordCount;
+                ensureRecordCapacity(slot + 1);
+                write(slot, account);
+                recordCount = slot + 1;
+                insert(key, slot);
+            } else {
+                write(slot, account);
+            }
+            liveCount++;
+        } finally {
+            structure.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public Optional<Account> findByNumber(AccountNumber accountNumber) {
+        long slot = lookup(accountNumber.toLong());
+        return slot < 0 ? Optional.empty() : Optional.ofNullable(materialize(slot));
+    }
+
+    @Override
+    public List<Account> findAll() {
+        return stream().collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
+    }
+
+    // Walks records in slot order, building each account as it is reached
+    @Override
+    public Stream<Account> stream() {
+        return LongStream.range(0, recordCount).mapToObj(this::materialize).filter(account -> account != null);
+    }
+
+    @Override
+    public AccountPage findPage(AccountNumber after, int pageSize) {
+        AccountPage.checkPageSize(pageSize);
+        SlotHeap page = new SlotHeap(pageSize + 1, this::compareNumbers);
+        long records = recordCount;
+        for (long slot = 0; slot < records; slot++) {
+            if (isLive(slot) && (after == null || number(slot) > after.toLong())) {
+                page.offer(slot);
+            }
+        }
+        return AccountPage.of(build(page), pageSize);
+    }
+
+    @Override
+    public List<Account> findByHolderName(String holderName, int limit) {
+        HolderNameIndex.checkLimit(limit);
+        MemorySegment name = MemorySegment.ofArray(
+                HolderNameIndex.normalize(holderName).getBytes(StandardCharsets.UTF_8));
+        SlotHeap matches = new SlotHeap(limit, this::compareNumbers);
+        long records = recordCount;
+        for (long slot = 0; slot < records; slot++) {
+            if (isLive(slot) && nameLength(normalizedName(slot)) == name.byteSize() && startsWith(slot, name)) {
+                matches.offer(slot);
+            }
+        }
+        return build(matches);
+    }
+
+    @Override
+    public List<Account> findByHolderNamePrefix(String prefix, int limit) {
+        HolderNameIndex.checkLimit(limit);
+        MemorySegment from = MemorySegment.ofArray(
+                HolderNameIndex.normalizePrefix(prefix).getBytes(StandardCharsets.UTF_8));
+        SlotHeap matches = new SlotHeap(limit, this::compareNormalizedNames);
+        long records = recordCount;
+        for (long slot = 0; slot < records; slot++) {
+            if (isLive(slot) && startsWith(slot, from)) {
+                matches.offer(slot);
+            }
+        }
+        return build(matches);
+    }
+
+    @Override
+    public void delete(AccountNumber accountNumber) {
+        long stamp = structure.writeLock();
+        try {
+            long slot = find(index, indexCapacity, accountNumber.toLong());
+            if (slot >= 0 && record(slot).get(ValueLayout.JAVA_BYTE, offset(slot) + STATE) == LIVE) {
+                record(slot).set(ValueLayout.JAVA_BYTE, offset(slot) + STATE, DELETED);
+                liveCount--;
+            }
+        } finally {
+            structure.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public int count() {
+        return liveCount;
+    }
+
+    // Off-heap bytes held by records, names and the index
+    public long offHeapBytes() {
+        return recordChunks.length * RECORDS_PER_CHUNK * RECORD_SIZE
+                + nameChunks.length * NAMES_CHUNK_SIZE
+                + indexCapacity * INDEX_ENTRY_SIZE;
+    }
+
+    public void force() {
+        if (directory == null) {
+            return;
+        }
+        for (MemorySegment chunk : recordChunks) {
+            chunk.force();
+        }
+        for (MemorySegment chunk : nameChunks) {
+            chunk.force();
+        }
+    }
+
+    @Override
+    public void close() {
+        long stamp = structure.writeLock();
+        try {
+            force();
+            arena.close();
+        } finally {
+            structure.unlockWrite(stamp);
+        }
+    }
+
+    private long lookup(long key) {
+        long stamp = structure.tryOptimisticRead();
+        if (stamp != 0L) {
+            long slot = find(index, indexCapacity, key);
+            if (structure.validate(stamp)) {
+                return slot;
+            }
+        }
+        stamp = structure.readLock();
+        try {
+            return find(index, indexCapacity, key);
+        } finally {
+            structure.unlockRead(stamp);
+        }
+    }
+
+    // Keys are stored plus one so that zero marks an empty entry; probing is bounded for torn reads
+    private static long find(MemorySegment table, long capacity, long key) {
+        if (table.byteSize() != capacity * INDEX_ENTRY_SIZE) {
+            return -1;
+        }
+        long mask = capacity - 1;
+        long stored = key + 1;
+        for (long i = hash(key) & mask, probes = 0; probes <= mask; i = (i + 1) & mask, probes++) {
+            long entry = table.get(ValueLayout.JAVA_LONG, i * INDEX_ENTRY_SIZE);
+            if (entry == 0) {
+                return -1;
+            }
+            if (entry == stored) {
+                return table.get(ValueLayout.JAVA_LONG, i * INDEX_ENTRY_SIZE + Long.BYTES);
+            }
+        }
+        return -1;
+    }
+
+    private void insert(long key, long slot) {
+        if ((indexSize + 1) * 2 > indexCapacity) {
+            long capacity = indexCapacity * 2;
+            MemorySegment grown = Arena.ofAuto().allocate(capacity * INDEX_ENTRY_SIZE, Long.BYTES);
+            for (long i = 0; i < indexCapacity; i++) {
+                long entry = index.get(ValueLayout.JAVA_LONG, i * INDEX_ENTRY_SIZE);
+                if (entry != 0) {
+                    place(grown, capacity, entry - 1, index.get(ValueLayout.JAVA_LONG, i * INDEX_ENTRY_SIZE + Long.BYTES));
+                }
+            }
+            index = grown;
+            indexCapacity = capacity;
+        }
+        place(index, indexCapacity, key, slot);
+        indexSize++;
+    }
+
+    private static void place(MemorySegment table, long capacity, long key, long slot) {
+        long mask = capacity - 1;
+        long i = hash(key) & mask;
+        while (table.get(ValueLayout.JAVA_LONG, i * INDEX_ENTRY_SIZE) != 0) {
+            i = (i + 1) & mask;
+        }
+        table.set(ValueLayout.JAVA_LONG, i * INDEX_ENTRY_SIZE + Long.BYTES, slot);
+        table.set(ValueLayout.JAVA_LONG, i * INDEX_ENTRY_SIZE, key + 1);
+    }
+
+    private static long hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+
+    private boolean isLive(long slot) {
+        return record(slot).get(ValueLayout.JAVA_BYTE, offset(slot) + STATE) == LIVE;
+    }
+
+    private long number(long slot) {
+        return record(slot).get(ValueLayout.JAVA_LONG, offset(slot) + NUMBER);
+    }
+
+    private long normalizedName(long slot) {
+        return record(slot).get(ValueLayout.JAVA_LONG, offset(slot) + NORMALIZED_NAME);
+    }
+
+    private int compareNumbers(long left, long right) {
+        return Long.compare(number(left), number(right));
+    }
+
+    // Unsigned byte order, then number. A plain loop: both names usually sit in the same chunk, and
+    // MemorySegment.mismatch on one segment instance reports equal ranges on some JDKs
+    private int compareNormalizedNames(long left, long right) {
+        long leftName = normalizedName(left);
+        long rightName = normalizedName(right);
+        MemorySegment leftChunk = nameChunk(leftName);
+        MemorySegment rightChunk = nameChunk(rightName);
+        int length = Math.min(nameLength(leftName), nameLength(rightName));
+        for (int i = 0; i < length; i++) {
+            int leftByte = Byte.toUnsignedInt(leftChunk.get(ValueLayout.JAVA_BYTE, nameStart(leftName) + i));
+            int rightByte = Byte.toUnsignedInt(rightChunk.get(ValueLayout.JAVA_BYTE, nameStart(rightName) + i));
+            if (leftByte != rightByte) {
+                return Integer.compare(leftByte, rightByte);
+            }
+        }
+        int lengths = Integer.compare(nameLength(leftName), nameLength(rightName));
+        return lengths != 0 ? lengths : compareNumbers(left, right);
+    }
+
+    private boolean startsWith(long slot, MemorySegment prefix) {
+        long name = normalizedName(slot);
+        return nameLength(name) >= prefix.byteSize()
+                && MemorySegment.mismatch(nameChunk(name), nameStart(name), nameStart(name) + prefix.byteSize(),
+                        prefix, 0, prefix.byteSize()) < 0;
+    }
+
+    // Builds the heap's accounts in order, skipping any deleted since the scan
+    private List<Account> build(SlotHeap heap) {
+        long[] slots = heap.sorted();
+        List<Account> accounts = new ArrayList<>(slots.length);
+        for (long slot : slots) {
+            Account account = materialize(slot);
+            if (account != null) {
+                accounts.add(account);
+            }
+        }
+        return accounts;
+    }
+
+    private MemorySegment record(long slot) {
+        return recordChunks[(int) (slot >>> RECORDS_PER_CHUNK_BITS)];
+    }
+
+    private static long offset(long slot) {
+        return (slot & (RECORDS_PER_CHUNK - 1)) * RECORD_SIZE;
+    }
+
+    private void write(long slot, Account account) {
+        MemorySegment chunk = record(slot);
+        long base = offset(slot);
+        Money balance = account.getBalance();
+        chunk.set(ValueLayout.JAVA_LONG, base + NUMBER, account.getAccountNumber().toLong());
+        chunk.set(ValueLayout.JAVA_LONG, base + BALANCE, balance.getMinorUnits());
+        chunk.set(ValueLayout.JAVA_LONG, base + CREATED, account.getCreatedEpochMillis());
+        chunk.set(ValueLayout.JAVA_LONG, base + NAME, appendName(account.getAccountHolderName()));
+        chunk.set(ValueLayout.JAVA_LONG, base + NORMALIZED_NAME,
+                appendName(HolderNameIndex.normalize(account.getAccountHolderName())));
+        chunk.set(ValueLayout.JAVA_BYTE, base + TYPE, (byte) account.getAccountType().ordinal());
+        String code = balance.getCurrency().getCurrencyCode();
+        for (int i = 0; i < 3; i++) {
+            chunk.set(ValueLayout.JAVA_BYTE, base + CURRENCY + i, (byte) code.charAt(i));
+        }
+        if (account instanceof SavingsAccount savings) {
+            chunk.set(ValueLayout.JAVA_LONG, base + LIMIT, savings.getMinimumBalance().getMinorUnits());
+            chunk.set(ValueLayout.JAVA_LONG, base + RATE, savings.getInterestRate().unscaledValue().longValueExact());
+            chunk.set(ValueLayout.JAVA_BYTE, base + RATE_SCALE, (byte) savings.getInterestRate().scale());
+        } else if (account instanceof CheckingAccount checking) {
+            chunk.set(ValueLayout.JAVA_LONG, base + LIMIT, checking.getOverdraftLimit().getMinorUnits());
+        }
+        chunk.set(ValueLayout.JAVA_BYTE, base + STATE, LIVE);
+    }
+
+    private Account materialize(long slot) {
+        MemorySegment chunk = record(slot);
+        long base = offset(slot);
+        if (chunk.get(ValueLayout.JAVA_BYTE, base + STATE) != LIVE) {
+            return null;
+        }
+        char[] code = new char[3];
+        for (int i = 0; i < 3; i++) {
+            code[i] = (char) chunk.get(ValueLayout.JAVA_BYTE, base + CURRENCY + i);
+        }
+        Currency currency = Currency.getInstance(new String(code));
+        AccountNumber number = AccountNumber.fromLong(chunk.get(ValueLayout.JAVA_LONG, base + NUMBER));
+        String holder = readName(chunk.get(ValueLayout.JAVA_LONG, base + NAME));
+        Money balance = Money.ofMinor(chunk.get(ValueLayout.JAVA_LONG, base + BALANCE), currency);
+        Money limit = Money.ofMinor(chunk.get(ValueLayout.JAVA_LONG, base + LIMIT), currency);
+        LocalDateTime created = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(chunk.get(ValueLayout.JAVA_LONG, base + CREATED)), ZoneOffset.UTC);
+        return switch (AccountType.values()[chunk.get(ValueLayout.JAVA_BYTE, base + TYPE)]) {
+            case SAVINGS -> SavingsAccount.restore(number, holder, balance,
+                    BigDecimal.valueOf(chunk.get(ValueLayout.JAVA_LONG, base + RATE), chunk.get(ValueLayout.JAVA_BYTE, base + RATE_SCALE)),
+                    limit, created);
+            case CHECKING -> CheckingAccount.restore(number, holder, balance, limit, created);
+        };
+    }
+
+    // Name references pack chunk (upper bits), offset within the chunk and a 16-bit length
+    private long appendName(String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("Account holder name too long");
+        }
+        long chunkIndex = namesPosition / NAMES_CHUNK_SIZE;
+        long within = namesPosition % NAMES_CHUNK_SIZE;
+        if (within + bytes.length > NAMES_CHUNK_SIZE) {
+            chunkIndex++;
+            within = 0;
+        }
+        ensureNameChunks((int) chunkIndex + 1);
+        MemorySegment.copy(bytes, 0, nameChunks[(int) chunkIndex], ValueLayout.JAVA_BYTE, within, bytes.length);
+        namesPosition = chunkIndex * NAMES_CHUNK_SIZE + within + bytes.length;
+        return (chunkIndex << 40) | (within << 16) | bytes.length;
+    }
+
+    private String readName(long reference) {
+        byte[] bytes = new byte[nameLength(reference)];
+        MemorySegment.copy(nameChunk(reference), ValueLayout.JAVA_BYTE, nameStart(reference), bytes, 0, bytes.length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private MemorySegment nameChunk(long reference) {
+        return nameChunks[(int) (reference >>> 40)];
+    }
+
+    private static long nameStart(long reference) {
+        return (reference >>> 16) & 0xFFFFFF;
+    }
+
+    private static int nameLength(long reference) {
+        return (int) (reference & 0xFFFF);
+    }
+
+    private static long nameEnd(long reference) {
+        return (reference >>> 40) * NAMES_CHUNK_SIZE + nameStart(reference) + nameLength(reference);
+    }
+
+    private void ensureRecordCapacity(long records) {
+        int needed = (int) ((records + RECORDS_PER_CHUNK - 1) >>> RECORDS_PER_CHUNK_BITS);
+        if (needed > recordChunks.length) {
+            MemorySegment[] grown = Arrays.copyOf(recordChunks, needed);
+            for (int i = recordChunks.length; i < needed; i++) {
+                grown[i] = allocate("records", i, RECORDS_PER_CHUNK * RECORD_SIZE);
+            }
+            recordChunks = grown;
+        }
+    }
+
+    private void ensureNameChunks(int needed) {
+        if (needed > nameChunks.length) {
+            MemorySegment[] grown = Arrays.copyOf(nameChunks, needed);
+            for (int i = nameChunks.length; i < needed; i++) {
+                grown[i] = allocate("names", i, NAMES_CHUNK_SIZE);
+            }
+            nameChunks = grown;
+        }
+    }
+
+    private MemorySegment allocate(String kind, int chunk, long size) {
+        if (directory == null) {
+            return arena.allocate(size, RECORD_SIZE);
+        }
+        Path file = chunkFile(kind, chunk);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size, arena);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map " + file, e);
+        }
+    }
+
+    private Path chunkFile(String kind, int chunk) {
+        return directory.resolve(String.format("%s-%05d.dat", kind, chunk));
+    }
+
+    // Maps existing chunk files and rebuilds the index; records are appended in slot order, so the
+    // first unused record marks the end of the book
+    private void recover() {
+        int names = 0;
+        while (Files.exists(chunkFile("names", names))) {
+            names++;
+        }
+        ensureNameChunks(names);
+        int records = 0;
+        while (Files.exists(chunkFile("records", records))) {
+            records++;
+        }
+        ensureRecordCapacity(records * RECORDS_PER_CHUNK);
+        long slot = 0;
+        long limit = records * RECORDS_PER_CHUNK;
+        while (slot < limit) {
+            MemorySegment chunk = record(slot);
+            long base = offset(slot);
+            byte state = chunk.get(ValueLayout.JAVA_BYTE, base + STATE);
+            if (state == UNUSED) {
+                break;
+            }
+            insert(chunk.get(ValueLayout.JAVA_LONG, base + NUMBER), slot);
+            namesPosition = Math.max(namesPosition, nameEnd(chunk.get(ValueLayout.JAVA_LONG, base + NAME)));
+            namesPosition = Math.max(namesPosition, nameEnd(chunk.get(ValueLayout.JAVA_LONG, base + NORMALIZED_NAME)));
+            if (state == LIVE) {
+                liveCount++;
+            }
+            slot++;
+        }
+        recordCount = slot;
+        // books written before names were stored normalized get them once, after every name is accounted for
+        for (slot = 0; slot < recordCount; slot++) {
+            if (normalizedName(slot) == 0) {
+                String name = readName(record(slot).get(ValueLayout.JAVA_LONG, offset(slot) + NAME));
+                record(slot).set(ValueLayout.JAVA_LONG, offset(slot) + NORMALIZED_NAME,
+                        appendName(HolderNameIndex.normalize(name)));
+            }
+        }
+    }
+
+    private interface SlotOrder {
+        int compare(long left, long right);
+    }
+
+    // Max-heap of at most limit record slots under the given order, so a scan keeps the smallest ones
+    private static final class SlotHeap {
+        private final long[] slots;
+        private final SlotOrder order;
+        private int size;
+
+        SlotHeap(int limit, SlotOrder order) {
+            this.slots = new long[limit];
+            this.order = order;
+        }
+
+        void offer(long slot) {
+            if (size < slots.length) {
+                int at = size++;
+                while (at > 0 && order.compare(slot, slots[(at - 1) >>> 1]) > 0) {
+                    slots[at] = slots[(at - 1) >>> 1];
+                    at = (at - 1) >>> 1;
+                }
+                slots[at] = slot;
+            } else if (order.compare(slot, slots[0]) < 0) {
+                siftDown(slot, size);
+            }
+        }
+
+        // Empties the heap, largest last
+        long[] sorted() {
+            long[] result = new long[size];
+            while (size > 0) {
+                long largest = slots[0];
+                siftDown(slots[--size], size);
+                result[size] = largest;
+            }
+            return result;
+        }
+
+        private void siftDown(long slot, int bound) {
+            int at = 0;
+            while (true) {
+                int child = 2 * at + 1;
+                if (child >= bound) {
+                    break;
+                }
+                if (child + 1 < bound && order.compare(slots[child + 1], slots[child]) > 0) {
+                    child++;
+                }
+                if (order.compare(slots[child], slot) <= 0) {
+                    break;
+                }
+                slots[at] = slots[child];
+                at = child;
+            }
+            slots[at] = slot;
+        }
+    }
+}
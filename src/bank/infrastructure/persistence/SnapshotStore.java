@@ -0,0 +1,158 @@
+package bank.infrastructure.persistence;
+
+import bank.domain.entities.Account;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+// Point-in-time images of all account state, each tagged with the journal position it covers.
+//
+// File layout: [int magic][long journalPosition][long accountCount] followed by [int length][account]
+// entries in JournalCodec account format. Files are written to a temporary name and atomically renamed,
+// so a snapshot is either complete or absent.
+public class SnapshotStore {
+    private static final int MAGIC = 0x42534E50;
+    private static final int HEADER_SIZE = Integer.BYTES + 2 * Long.BYTES;
+    private static final int BUFFER_SIZE = 1024 * 1024;
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".snap";
+
+    private final Path directory;
+    private final int retained;
+
+    public SnapshotStore(Path directory, int retained) {
+        if (retained < 1) {
+            throw new IllegalArgumentException("At least one snapshot must be retained");
+        }
+        this.directory = directory;
+        this.retained = retained;
+    }
+
+    public Path write(long journalPosition, Iterable<Account> accounts) {
+        Path target = directory.resolve(String.format("%s%020d%s", PREFIX, journalPosition, SUFFIX));
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(directory);
+            long count = 0;
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+                buffer.putInt(MAGIC).putLong(journalPosition).putLong(0L);
+                for (Account account : accounts) {
+                    writeEntry(channel, buffer, account);
+                    count++;
+                }
+                drain(channel, buffer.flip());
+                channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, count), Integer.BYTES + Long.BYTES);
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            prune();
+            return target;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write snapshot " + target, e);
+        }
+    }
+
+    // Loads the newest snapshot into the consumer and returns the journal position it covers
+    public Optional<Long> loadLatest(Consumer<Account> consumer) {
+        List<Path> snapshots = list();
+        if (snapshots.isEmpty()) {
+            return Optional.empty();
+        }
+        Path latest = snapshots.get(snapshots.size() - 1);
+        try (FileChannel channel = FileChannel.open(latest, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).limit(0);
+            fill(channel, buffer, HEADER_SIZE);
+            if (buffer.getInt() != MAGIC) {
+                throw new IllegalStateException("Not a snapshot file: " + latest);
+            }
+            long position = buffer.getLong();
+            long count = buffer.getLong();
+            for (long i = 0; i < count; i++) {
+                fill(channel, buffer, Integer.BYTES);
+                int length = buffer.getInt();
+                fill(channel, buffer, length);
+                ByteBuffer entry = buffer.slice(buffer.position(), length);
+                consumer.accept(JournalCodec.readAccount(entry));
+                buffer.position(buffer.position() + length);
+            }
+            return Optional.of(position);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read snapshot " + latest, e);
+        }
+    }
+
+    private void writeEntry(FileChannel channel, ByteBuffer buffer, Account account) throws IOException {
+        while (true) {
+            int start = buffer.position();
+            try {
+                buffer.putInt(0);
+                JournalCodec.writeAccount(buffer, account, account.getBalance());
+                buffer.putInt(start, buffer.position() - start - Integer.BYTES);
+                return;
+            } catch (BufferOverflowException e) {
+                if (start == 0) {
+                    throw new IllegalStateException("Account state too large for snapshot: " + account.getAccountNumber());
+                }
+                buffer.position(start);
+                drain(channel, buffer.flip());
+                buffer.clear();
+            }
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    // Ensures at least the given number of bytes are readable from the buffer
+    private static void fill(FileChannel channel, ByteBuffer buffer, int required) throws IOException {
+        if (buffer.remaining() >= required) {
+            return;
+        }
+        buffer.compact();
+        while (buffer.position() < required) {
+            if (channel.read(buffer) < 0) {
+                throw new IllegalStateException("Truncated snapshot file");
+            }
+        }
+        buffer.flip();
+    }
+
+    private List<Path> list() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(p -> {
+                        String name = p.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list snapshots in " + directory, e);
+        }
+    }
+
+    private void prune() throws IOException {
+        List<Path> snapshots = list();
+        for (int i = 0; i < snapshots.size() - retained; i++) {
+            Files.deleteIfExists(snapshots.get(i));
+        }
+    }
+}
@@ -1,16 +1,183 @@
 package bank.infrastructure.services;
 
-import java.util.concurrent.atomic.AtomicInteger;
+import bank.domain.entities.AccountType;
+import bank.domain.valueobjects.AccountNumber;
 
-public class SequenceGenerator {
-    private final AtomicInteger savingsSequence = new AtomicInteger(1);
-    private final AtomicInteger checkingSequence = new AtomicInteger(1);
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 
-    public int nextSequence(String accountType) {
-        return switch (accountType.toUpperCase()) {
-            case "SAVINGS" -> savingsSequence.getAndIncrement();
-            case "CHECKING" -> checkingSequence.getAndIncrement();
-            default -> throw new IllegalArgumentException("Unknown account type: " + accountType);
-        };
+// Account sequences per AccountType, handed out from blocks.
+//
+// Each type has a high-water mark: every sequence below it may have been handed out. Callers draw from
+// one of a few striped blocks, picked by thread id, so threads rarely share a block. An empty block is
+// refilled with the next blockSize sequences by raising the mark; with a file, the raised mark is written
+// and forced before any sequence of the block is used, so a restart continues above everything handed
+// out. That is one disk write per block, and a restart leaves the unused rest of each block as a gap.
+// Sequences are unique but only roughly ordered across threads.
+//
+// File layout: [int magic] followed by one long mark per AccountType in ordinal order.
+public class SequenceGenerator implements AutoCloseable {
+    public static final int DEFAULT_BLOCK_SIZE = 1024;
+    private static final int MAGIC = 0x42534551;
+    private static final int FILE_SIZE = Integer.BYTES + AccountType.values().length * Long.BYTES;
+    private static final long FIRST_SEQUENCE = 1L;
+
+    private final FileChannel file;
+    private final int blockSize;
+    private final long[] highWaterMarks;
+    private final Block[][] blocks;
+    private final int stripeMask;
+    private long blocksAllocated;
+
+    public SequenceGenerator() {
+        this(null, DEFAULT_BLOCK_SIZE);
+    }
+
+    // Blocks without a file: sequences restart from 1 (or advancePast) in every run
+    public static SequenceGenerator inMemory(int blockSize) {
+        return new SequenceGenerator(null, blockSize);
+    }
+
+    private SequenceGenerator(FileChannel file, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+        this.file = file;
+        this.blockSize = blockSize;
+        this.highWaterMarks = new long[AccountType.values().length];
+        Arrays.fill(highWaterMarks, FIRST_SEQUENCE);
+        int stripes = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1)) << 1;
+        this.stripeMask = stripes - 1;
+        this.blocks = new Block[highWaterMarks.length][stripes];
+        for (Block[] typeBlocks : blocks) {
+            for (int i = 0; i < stripes; i++) {
+                typeBlocks[i] = new Block();
+            }
+        }
+    }
+
+    public static SequenceGenerator open(Path path) {
+        return open(path, DEFAULT_BLOCK_SIZE);
+    }
+
+    // Continues from the marks stored in the file, creating it if needed
+    public static SequenceGenerator open(Path path, int blockSize) {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open " + path, e);
+        }
+        SequenceGenerator generator = new SequenceGenerator(channel, blockSize);
+        try {
+            if (channel.size() > 0) {
+                ByteBuffer buffer = ByteBuffer.allocate(FILE_SIZE);
+                for (int read = 0; buffer.hasRemaining() && read >= 0; ) {
+                    read = channel.read(buffer, buffer.position());
+                }
+                buffer.flip();
+                if (buffer.remaining() != FILE_SIZE || buffer.getInt() != MAGIC) {
+                    throw new IllegalStateException("Not a sequence file: " + path);
+                }
+                for (int i = 0; i < generator.highWaterMarks.length; i++) {
+                    generator.highWaterMarks[i] = Math.max(FIRST_SEQUENCE, buffer.getLong());
+                }
+            }
+        } catch (IOException e) {
+            generator.close();
+            throw new UncheckedIOException("Cannot read " + path, e);
+        } catch (RuntimeException e) {
+            generator.close();
+            throw e;
+        }
+        return generator;
+    }
+
+    public long next(AccountType type) {
+        Block block = blocks[type.ordinal()][(int) Thread.currentThread().threadId() & stripeMask];
+        synchronized (block) {
+            if (block.next == block.end) {
+                allocate(type, block);
+            }
+            return block.next++;
+        }
+    }
+
+    public AccountNumber nextAccountNumber(AccountType type) {
+        long sequence = next(type);
+        return type == AccountType.SAVINGS ? AccountNumber.savings(sequence) : AccountNumber.checking(sequence);
+    }
+
+    // Moves the type's mark beyond an existing number, e.g. one recovered from persistent storage, and
+    // drops blocks that could still hand it out. The raised mark reaches the file with the next block.
+    public void advancePast(AccountNumber accountNumber) {
+        AccountType type = accountNumber.isSavings() ? AccountType.SAVINGS : AccountType.CHECKING;
+        long sequence = accountNumber.getSequence();
+        synchronized (this) {
+            highWaterMarks[type.ordinal()] = Math.max(highWaterMarks[type.ordinal()], sequence + 1);
+        }
+        for (Block block : blocks[type.ordinal()]) {
+            synchronized (block) {
+                if (block.next <= sequence) {
+                    block.next = block.end;
+                }
+            }
+        }
+    }
+
+    public synchronized long getBlocksAllocated() { return blocksAllocated; }
+
+    @Override
+    public void close() {
+        if (file == null) {
+            return;
+        }
+        try {
+            file.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close sequence file", e);
+        }
+    }
+
+    private synchronized void allocate(AccountType type, Block block) {
+        long start = highWaterMarks[type.ordinal()];
+        long end = Math.min(start + blockSize, AccountNumber.MAX_SEQUENCE + 1);
+        if (start >= end) {
+            throw new IllegalStateException("Account sequences exhausted for " + type);
+        }
+        highWaterMarks[type.ordinal()] = end;
+        if (file != null) {
+            persist();
+        }
+        blocksAllocated++;
+        block.next = start;
+        block.end = end;
+    }
+
+    private void persist() {
+        ByteBuffer buffer = ByteBuffer.allocate(FILE_SIZE).putInt(MAGIC);
+        for (long mark : highWaterMarks) {
+            buffer.putLong(mark);
+        }
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                file.write(buffer, buffer.position());
+            }
+            file.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write sequence file", e);
+        }
+    }
+
+    // Guarded by its own monitor; next == end means empty
+    private static final class Block {
+        private long next;
+        private long end;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,110 @@
+package bank.presentation;
+
+import bank.application.services.AccountService;
+import bank.application.services.DefaultAccountService;
+import bank.application.services.TransferDeduplicator;
+import bank.domain.events.CoarseEventClock;
+import bank.domain.events.EventClock;
+import bank.domain.events.EventContext;
+import bank.infrastructure.concurrency.StripedLockTable;
+import bank.infrastructure.messaging.EventSubscriber;
+import bank.infrastructure.messaging.RingBufferEventOutbox;
+import bank.infrastructure.persistence.AccountRepository;
+import bank.infrastructure.persistence.InMemoryAccountRepository;
+import bank.infrastructure.persistence.JournalAccountRepository;
+import bank.infrastructure.services.SequenceGenerator;
+
+import java.nio.file.Path;
+import java.util.Currency;
+import java.util.Optional;
+
+// Wiring shared by the console and both servers. The book is journaled under the directory named by
+// the bank.journal.dir system property, or kept in memory when it is unset. Subscribers are added
+// before start, which builds the account service and starts delivering its events; close releases
+// everything in reverse order.
+public final class BankBootstrap implements AutoCloseable {
+    public static final String JOURNAL_DIR_PROPERTY = "bank.journal.dir";
+    private static final int OUTBOX_CAPACITY = 4096;
+
+    private final AccountRepository repository;
+    private final SequenceGenerator sequenceGenerator;
+    private final RingBufferEventOutbox outbox;
+    private final Currency currency;
+    private CoarseEventClock eventClock;
+
+    private BankBootstrap(AccountRepository repository, SequenceGenerator sequenceGenerator) {
+        this.repository = repository;
+        this.sequenceGenerator = sequenceGenerator;
+        this.outbox = new RingBufferEventOutbox(OUTBOX_CAPACITY);
+        this.currency = Currency.getInstance("USD");
+    }
+
+    public static BankBootstrap open() {
+        String journalDir = System.getProperty(JOURNAL_DIR_PROPERTY);
+        AccountRepository repository = journalDir == null
+                ? new InMemoryAccountRepository()
+                : JournalAccountRepository.open(Path.of(journalDir));
+        // numbers handed out before a crash stay taken; the scan covers books older than the sequence file
+        SequenceGenerator sequenceGenerator = journalDir == null
+                ? new SequenceGenerator()
+                : SequenceGenerator.open(Path.of(journalDir, "sequences.hwm"));
+        repository.stream().forEach(account -> sequenceGenerator.advancePast(account.getAccountNumber()));
+        return new BankBootstrap(repository, sequenceGenerator);
+    }
+
+    public AccountRepository repository() {
+        return repository;
+    }
+
+    public Optional<JournalAccountRepository> journal() {
+        return repository instanceof JournalAccountRepository journal ? Optional.of(journal) : Optional.empty();
+    }
+
+    public Currency currency() {
+        return currency;
+    }
+
+    // For servers, where every request stamps events: reading the clock is worth a ticker thread
+    public void useCoarseClock() {
+        if (eventClock == null) {
+            eventClock = new CoarseEventClock();
+            EventContext.configureClock(eventClock);
+        }
+    }
+
+    public void subscribe(String name, EventSubscriber subscriber) {
+        outbox.subscribe(name, subscriber);
+    }
+
+    // Clients retry on timeouts, so servers deduplicate transfers by reference; the window survives restarts
+    public TransferDeduplicator transferDeduplicator() {
+        return journal()
+                .map(journal -> TransferDeduplicator.rebuild(journal, TransferDeduplicator.DEFAULT_MAXIMUM_ENTRIES,
+                        TransferDeduplicator.DEFAULT_WINDOW))
+                .orElseGet(() -> new TransferDeduplicator(TransferDeduplicator.DEFAULT_MAXIMUM_ENTRIES,
+                        TransferDeduplicator.DEFAULT_WINDOW));
+    }
+
+    public AccountService start(TransferDeduplicator deduplicator) {
+        outbox.start();
+        return new DefaultAccountService(repository, sequenceGenerator, currency, new StripedLockTable(),
+                outbox, deduplicator);
+    }
+
+    @Override
+    public void close() {
+        outbox.close();
+        sequenceGenerator.close();
+        if (eventClock != null) {
+            EventContext.configureClock(EventClock.SYSTEM);
+            eventClock.close();
+        }
+        if (repository instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                System.err.println("Error closing repository: " + e.getMessage());
+            }
+        }
+    }
+}
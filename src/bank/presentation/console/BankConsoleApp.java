@@ -1,6 +1,9 @@
 package bank.presentation.console;
 
+import bank.application.history.TransactionHistory;
 import bank.application.services.AccountService;
+import bank.application.services.TransferDeduplicator;
+import bank.application.statistics.BankStatistics;
 import bank.domain.entities.Account;
 import bank.domain.results.OperationResult;
 import bank.domain.results.DepositSuccess;
@@ -11,19 +14,41 @@ import bank.domain.results.InsufficientFunds;
 import bank.domain.results.ViolatesMinimumBalance;
 import bank.domain.valueobjects.AccountNumber;
 import bank.domain.valueobjects.Money;
+import bank.presentation.BankBootstrap;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
 import java.util.Currency;
+import java.util.List;
 import java.util.Scanner;
 
 public class BankConsoleApp {
+    private static final int ACCOUNTS_PAGE_SIZE = 20;
+    private static final int STATEMENT_SIZE = 50;
+
     private final AccountService accountService;
     private final ConsoleInputHandler inputHandler;
     private final Currency defaultCurrency;
+    private final BankStatistics statistics;
+    private final TransactionHistory history;
     private boolean running;
 
     public BankConsoleApp(AccountService accountService, Currency defaultCurrency) {
+        this(accountService, defaultCurrency, null);
+    }
+
+    public BankConsoleApp(AccountService accountService, Currency defaultCurrency, BankStatistics statistics) {
+        this(accountService, defaultCurrency, statistics, null);
+    }
+
+    public BankConsoleApp(AccountService accountService, Currency defaultCurrency, BankStatistics statistics,
+                          TransactionHistory history) {
         this.accountService = accountService;
         this.defaultCurrency = defaultCurrency;
+        this.statistics = statistics;
+        this.history = history;
         this.inputHandler = new ConsoleInputHandler(new Scanner(System.in));
         this.running = true;
     }
@@ -87,17 +112,50 @@ public class BankConsoleApp {
 
         private void accessAccount() {
             System.out.println("\n--- Access Account ---");
-            String accountNumber = inputHandler.readString("Enter account number: ");
+            String query = inputHandler.readString("Enter account number or holder name: ");
             
+            AccountNumber accNumber;
             try {
-                AccountNumber accNumber = AccountNumber.of(accountNumber);
-                accountService.findAccount(accNumber)
-                        .ifPresentOrElse(
-                            this::showAccountMenu,
-                            () -> System.out.println("❌ Account not found: " + accountNumber)
-                        );
-            } catch (Exception e) {
-                System.out.println("❌ Invalid account number: " + e.getMessage());
+                accNumber = AccountNumber.of(query);
+            } catch (IllegalArgumentException e) {
+                searchByHolderName(query);
+                return;
+            }
+            accountService.findAccount(accNumber)
+                    .ifPresentOrElse(
+                        this::showAccountMenu,
+                        () -> System.out.println("❌ Account not found: " + query)
+                    );
+        }
+
+        // Anything that is not an account number is taken as the start of a holder name
+        private void searchByHolderName(String prefix) {
+            List<Account> matches;
+            try {
+                matches = accountService.findAccountsByHolderNamePrefix(prefix, ACCOUNTS_PAGE_SIZE);
+            } catch (IllegalArgumentException e) {
+                System.out.println("❌ Invalid search: " + e.getMessage());
+                return;
+            }
+            if (matches.isEmpty()) {
+                System.out.println("❌ No accounts found for holder: " + prefix);
+                return;
+            }
+            if (matches.size() == 1) {
+                showAccountMenu(matches.get(0));
+                return;
+            }
+            for (int i = 0; i < matches.size(); i++) {
+                Account account = matches.get(i);
+                System.out.printf("%2d. %s | %-8s | %-20s | %s%n", i + 1, account.getAccountNumber(),
+                    account.getAccountType(), account.getAccountHolderName(), account.getBalance());
+            }
+            if (matches.size() == ACCOUNTS_PAGE_SIZE) {
+                System.out.println("Only the first " + ACCOUNTS_PAGE_SIZE + " matches are shown; type more of the name to narrow them.");
+            }
+            int choice = inputHandler.readInt("Select account (0 to cancel): ", c -> c >= 0 && c <= matches.size());
+            if (choice > 0) {
+                showAccountMenu(matches.get(choice - 1));
             }
         }
 
@@ -124,6 +182,7 @@ public class BankConsoleApp {
             options.put(2, new MenuOption("Withdraw Funds", this::withdraw));
             options.put(3, new MenuOption("View Account Details", this::viewDetails));
             options.put(4, new MenuOption("View Available Balance", this::viewAvailableBalance));
+            options.put(5, new MenuOption("View Statement", this::viewStatement));
         }
 
         @Override
@@ -163,6 +222,28 @@ public class BankConsoleApp {
             System.out.printf("Available Balance: %s%n", account.getAvailableBalance());
         }
 
+        private void viewStatement() {
+            if (history == null) {
+                System.out.println("❌ Statements are not enabled");
+                return;
+            }
+            List<TransactionHistory.Movement> movements = history.latest(account.getAccountNumber(), STATEMENT_SIZE);
+            System.out.println("\n--- Statement (latest " + STATEMENT_SIZE + " movements) ---");
+            if (movements.isEmpty()) {
+                System.out.println("No movements recorded.");
+                return;
+            }
+            for (TransactionHistory.Movement movement : movements) {
+                boolean credit = movement.kind() == TransactionHistory.Kind.DEPOSIT
+                        || movement.kind() == TransactionHistory.Kind.TRANSFER_IN;
+                System.out.printf("%s | %-12s | %s%-12s | %-12s | %s%n",
+                    LocalDateTime.ofInstant(Instant.ofEpochMilli(movement.occurredAtMillis()), ZoneId.systemDefault())
+                        .truncatedTo(ChronoUnit.SECONDS),
+                    movement.kind(), credit ? "+" : "-", movement.amount(), movement.balanceAfter(),
+                    movement.counterparty() == null ? "" : movement.counterparty());
+            }
+        }
+
         private void handleOperationResult(OperationResult result, String operation) {
             if (result instanceof DepositSuccess success) {
                 System.out.printf("✅ %s successful! New Balance: %s%n", 
@@ -206,27 +287,76 @@ public class BankConsoleApp {
         }
 
         private void viewAllAccounts() {
-            System.out.println("Feature: View All Accounts - To be implemented");
+            System.out.println("\n--- All Accounts ---");
+            AccountNumber after = null;
+            while (true) {
+                var page = accountService.listAccounts(after, ACCOUNTS_PAGE_SIZE);
+                if (after == null && page.accounts().isEmpty()) {
+                    System.out.println("No accounts found.");
+                    return;
+                }
+                for (Account account : page.accounts()) {
+                    System.out.printf("%s | %-8s | %-20s | %s%n", account.getAccountNumber(),
+                        account.getAccountType(), account.getAccountHolderName(), account.getBalance());
+                }
+                if (!page.hasNext()) {
+                    return;
+                }
+                String more = inputHandler.readString("Show more? (y/n): ");
+                if (!more.equalsIgnoreCase("y")) {
+                    return;
+                }
+                after = page.next().get();
+            }
         }
 
         private void applyInterest() {
-            System.out.println("Feature: Apply Interest - To be implemented");
+            System.out.println("\n--- Apply Interest to Savings ---");
+            var summary = accountService.applyInterestToAllSavings();
+            System.out.println("✅ Interest applied!");
+            System.out.println("Accounts Processed: " + summary.accountsProcessed());
+            summary.interestByCurrency().values().forEach(interest -> System.out.println("Total Interest: " + interest));
+            System.out.printf("Elapsed: %d ms%n", summary.elapsed().toMillis());
         }
 
         private void showStatistics() {
-            System.out.println("Feature: Bank Statistics - To be implemented");
+            if (statistics == null) {
+                System.out.println("❌ Statistics are not enabled");
+                return;
+            }
+            BankStatistics.Snapshot snapshot = statistics.snapshot();
+            System.out.println("\n--- Bank Statistics ---");
+            System.out.println("Total Accounts: " + snapshot.totalAccounts());
+            snapshot.accountsByType().forEach((type, count) ->
+                System.out.println("  " + type.getDescription() + ": " + count));
+            System.out.println("Deposits: " + snapshot.depositCount());
+            System.out.println("Withdrawals: " + snapshot.withdrawalCount());
+            System.out.println("Transfers: " + snapshot.transferCount());
+            snapshot.currencies().forEach((currency, totals) -> {
+                System.out.println("\n" + currency.getCurrencyCode() + " (" + totals.accounts() + " accounts)");
+                System.out.println("  Total Balance: " + totals.totalBalance());
+                System.out.println("  Minimum Balance: " + totals.minimumBalance());
+                System.out.println("  Maximum Balance: " + totals.maximumBalance());
+                System.out.println("  Mean Balance: " + totals.meanBalance());
+                System.out.println("  Total Deposited: " + totals.totalDeposited());
+                System.out.println("  Total Withdrawn: " + totals.totalWithdrawn());
+                System.out.println("  Total Transferred: " + totals.totalTransferred());
+            });
         }
     }
 
     public static void main(String[] args) {
-        // Dependency injection setup
-        var repository = new bank.infrastructure.persistence.InMemoryAccountRepository();
-        var sequenceGenerator = new bank.infrastructure.services.SequenceGenerator();
-        var accountService = new bank.application.services.DefaultAccountService(
-            repository, sequenceGenerator, Currency.getInstance("USD")
-        );
-        
-        BankConsoleApp app = new BankConsoleApp(accountService, Currency.getInstance("USD"));
-        app.start();
+        try (BankBootstrap bank = BankBootstrap.open()) {
+            var statistics = new BankStatistics();
+            statistics.seed(bank.repository().stream()::iterator);
+            bank.subscribe("statistics", statistics);
+            // movements from earlier runs are read back from the journal before new ones arrive
+            var history = bank.journal().map(TransactionHistory::rebuild).orElseGet(TransactionHistory::new);
+            bank.subscribe("history", history);
+            AccountService accountService = bank.start(TransferDeduplicator.NONE);
+
+            BankConsoleApp app = new BankConsoleApp(accountService, bank.currency(), statistics, history);
+            app.start();
+        }
     }
 }
\ No newline at end of file
@@ -10,12 +10,15 @@ public abstract class ConsoleMenu {
     protected ConsoleMenu(ConsoleInputHandler inputHandler) {
         this.inputHandler = inputHandler;
         this.options = new HashMap<>();
-        initializeOptions();
     }
 
     protected abstract void initializeOptions();
 
     public void display() {
+        // filled on first display, once the subclass is fully constructed
+        if (options.isEmpty()) {
+            initializeOptions();
+        }
         while (true) {
             displayHeader();
             displayOptions();
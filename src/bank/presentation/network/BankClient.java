@@ -0,0 +1,254 @@
+package bank.presentation.network;
+
+import bank.application.services.InterestRunSummary;
+import bank.domain.entities.AccountType;
+import bank.domain.results.DepositResult;
+import bank.domain.results.OperationResult;
+import bank.domain.results.TransferResult;
+import bank.domain.results.WithdrawalResult;
+import bank.domain.valueobjects.AccountNumber;
+import bank.domain.valueobjects.Money;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Currency;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Client for BankServer. Calls return futures and may be issued without waiting for earlier ones: a
+// request is written and its future queued under one lock, so the queue matches the wire order and a
+// virtual reader thread completes futures as the in-order responses arrive. Business failures come back
+// as the usual result objects; malformed requests and server errors fail the future with an
+// IllegalStateException.
+public class BankClient implements AutoCloseable {
+    private static final int STREAM_BUFFER_SIZE = 2048;
+
+    private final Currency currency;
+    private final Socket socket;
+    private final OutputStream out;
+    private final DataInputStream in;
+    private final ReentrantLock writeLock;
+    private final ByteBuffer request;
+    private final Queue<Pending<?>> pending;
+    private final Thread reader;
+    private int nextRequestId;
+    private volatile boolean closed;
+
+    private BankClient(Socket socket, Currency currency) throws IOException {
+        this.currency = currency;
+        this.socket = socket;
+        this.out = socket.getOutputStream();
+        this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), STREAM_BUFFER_SIZE));
+        this.writeLock = new ReentrantLock();
+        this.request = ByteBuffer.allocate(Integer.BYTES + BankProtocol.MAX_FRAME_SIZE);
+        this.pending = new ConcurrentLinkedQueue<>();
+        this.reader = Thread.ofVirtual().name("bank-client-reader").unstarted(this::readLoop);
+    }
+
+    public static BankClient connect(InetSocketAddress address, Currency currency) throws IOException {
+        Socket socket = new Socket();
+        try {
+            socket.setTcpNoDelay(true);
+            socket.connect(address);
+            BankClient client = new BankClient(socket, currency);
+            client.reader.start();
+            return client;
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+    }
+
+    public CompletableFuture<AccountNumber> createAccount(String holderName, AccountType type, Money initialDeposit) {
+        return send(BankProtocol.CREATE, body -> {
+            body.put((byte) type.ordinal());
+            body.putLong(minorUnits(initialDeposit));
+            BankProtocol.writeString(body, holderName);
+        }, (status, response) -> {
+            expectOk(status, response);
+            return AccountNumber.fromLong(response.getLong());
+        });
+    }
+
+    public CompletableFuture<Optional<AccountView>> findAccount(AccountNumber accountNumber) {
+        return send(BankProtocol.FIND, body -> body.putLong(accountNumber.toLong()), (status, response) -> {
+            if (status == BankProtocol.NOT_FOUND) {
+                return Optional.empty();
+            }
+            expectOk(status, response);
+            AccountType type = AccountType.values()[response.get()];
+            Money balance = Money.ofMinor(response.getLong(), currency);
+            return Optional.of(new AccountView(accountNumber, type, BankProtocol.readString(response), balance));
+        });
+    }
+
+    public CompletableFuture<OperationResult> deposit(AccountNumber accountNumber, Money amount) {
+        return send(BankProtocol.DEPOSIT, body -> body.putLong(accountNumber.toLong()).putLong(minorUnits(amount)),
+                (status, response) -> status == BankProtocol.REJECTED
+                        ? DepositResult.failed(BankProtocol.readString(response))
+                        : DepositResult.success(balance(status, response)));
+    }
+
+    public CompletableFuture<OperationResult> withdraw(AccountNumber accountNumber, Money amount) {
+        return send(BankProtocol.WITHDRAW, body -> body.putLong(accountNumber.toLong()).putLong(minorUnits(amount)),
+                (status, response) -> status == BankProtocol.REJECTED
+                        ? WithdrawalResult.failed(BankProtocol.readString(response))
+                        : WithdrawalResult.success(balance(status, response)));
+    }
+
+    public CompletableFuture<OperationResult> transfer(AccountNumber source, AccountNumber destination,
+                                                       Money amount, String reference) {
+        return send(BankProtocol.TRANSFER, body -> {
+            body.putLong(source.toLong()).putLong(destination.toLong()).putLong(minorUnits(amount));
+            BankProtocol.writeString(body, reference);
+        }, (status, response) -> {
+            if (status == BankProtocol.REJECTED) {
+                return TransferResult.failed(BankProtocol.readString(response));
+            }
+            Money sourceBalance = balance(status, response);
+            return TransferResult.success(sourceBalance, Money.ofMinor(response.getLong(), currency));
+        });
+    }
+
+    // The interest credited, zero when the account earns none; empty when there is no such account
+    public CompletableFuture<Optional<Money>> applyInterest(AccountNumber accountNumber) {
+        return send(BankProtocol.APPLY_INTEREST, body -> body.putLong(accountNumber.toLong()), (status, response) -> {
+            if (status == BankProtocol.NOT_FOUND) {
+                return Optional.empty();
+            }
+            expectOk(status, response);
+            response.getLong();
+            return Optional.of(Money.ofMinor(response.getLong(), currency));
+        });
+    }
+
+    // Elapsed time is the round trip as seen by the client
+    public CompletableFuture<InterestRunSummary> applyInterestToAllSavings() {
+        long started = System.nanoTime();
+        return send(BankProtocol.APPLY_INTEREST, body -> body.putLong(BankProtocol.ALL_SAVINGS), (status, response) -> {
+            expectOk(status, response);
+            long accounts = response.getLong();
+            return new InterestRunSummary(accounts, Map.of(currency, Money.ofMinor(response.getLong(), currency)),
+                    Duration.ofNanos(System.nanoTime() - started));
+        });
+    }
+
+    public int getPendingCount() { return pending.size(); }
+
+    private <T> CompletableFuture<T> send(byte opcode, Encoder encoder, Decoder<T> decoder) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        writeLock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Client is closed");
+            }
+            int requestId = nextRequestId++;
+            request.clear();
+            request.putInt(0).putInt(requestId).put(opcode);
+            encoder.encode(request);
+            request.putInt(0, request.position() - Integer.BYTES);
+            pending.add(new Pending<>(requestId, decoder, future));
+            out.write(request.array(), 0, request.position());
+        } catch (IOException e) {
+            failAll(e);
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        } finally {
+            writeLock.unlock();
+        }
+        return future;
+    }
+
+    private void readLoop() {
+        ByteBuffer response = ByteBuffer.allocate(BankProtocol.MAX_FRAME_SIZE);
+        try {
+            while (true) {
+                int length = in.readInt();
+                if (length < Integer.BYTES + 1 || length > BankProtocol.MAX_FRAME_SIZE) {
+                    throw new IOException("Malformed response frame length: " + length);
+                }
+                in.readFully(response.array(), 0, length);
+                response.clear().limit(length);
+                int requestId = response.getInt();
+                byte status = response.get();
+                Pending<?> next = pending.poll();
+                if (next == null || next.requestId != requestId) {
+                    throw new IOException("Response " + requestId + " does not match the oldest request");
+                }
+                next.complete(status, response);
+            }
+        } catch (IOException e) {
+            failAll(e);
+        }
+    }
+
+    private void failAll(IOException cause) {
+        closed = true;
+        IllegalStateException failure = new IllegalStateException("Connection closed: " + cause.getMessage(), cause);
+        Pending<?> next;
+        while ((next = pending.poll()) != null) {
+            next.future.completeExceptionally(failure);
+        }
+    }
+
+    private Money balance(byte status, ByteBuffer response) {
+        expectOk(status, response);
+        return Money.ofMinor(response.getLong(), currency);
+    }
+
+    private long minorUnits(Money amount) {
+        if (!amount.getCurrency().equals(currency)) {
+            throw new IllegalArgumentException("Client uses " + currency + ", got " + amount.getCurrency());
+        }
+        return amount.getMinorUnits();
+    }
+
+    private static void expectOk(byte status, ByteBuffer response) {
+        if (status != BankProtocol.OK) {
+            String reason = response.remaining() >= Short.BYTES ? BankProtocol.readString(response) : "";
+            throw new IllegalStateException("Request failed with status " + status + ": " + reason);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        socket.close();
+        try {
+            reader.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public record AccountView(AccountNumber accountNumber, AccountType accountType, String holderName, Money balance) {
+    }
+
+    private interface Encoder {
+        void encode(ByteBuffer body);
+    }
+
+    private interface Decoder<T> {
+        T decode(byte status, ByteBuffer response);
+    }
+
+    private record Pending<T>(int requestId, Decoder<T> decoder, CompletableFuture<T> future) {
+        private void complete(byte status, ByteBuffer response) {
+            try {
+                future.complete(decoder.decode(status, response));
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package bank.presentation.network;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// Binary request/response format shared by the servers and BankClient.
+//
+// Every message is a frame: [int length][body], length counting the body only.
+//   request body:  [int requestId][byte opcode][payload]
+//   response body: [int requestId][byte status][payload]
+// Responses on a connection come back in request order, so clients may pipeline. Amounts are long
+// minor units of the server's currency, account numbers their packed long form and strings
+// [short length][UTF-8 bytes].
+//
+//   CREATE          [byte accountType][long initialDeposit][string holder] -> [long accountNumber]
+//   FIND            [long accountNumber]                         -> [byte accountType][long balance][string holder]
+//   DEPOSIT         [long accountNumber][long amount]            -> [long newBalance]
+//   WITHDRAW        [long accountNumber][long amount]            -> [long newBalance]
+//   TRANSFER        [long source][long destination][long amount][string reference]
+//                                                                -> [long sourceBalance][long destinationBalance]
+//   APPLY_INTEREST  [long accountNumber], or ALL_SAVINGS         -> [long accountsProcessed][long totalInterest]
+//                   for one account the count is 1 when it was credited, and NOT_FOUND when it does not exist
+// A REJECTED, BAD_REQUEST or ERROR response carries [string reason] instead. A request body too short
+// for an id and an opcode gets BAD_REQUEST, under request id 0 if even the id is missing.
+public final class BankProtocol {
+    public static final int MAX_FRAME_SIZE = 1024;
+    public static final int MIN_REQUEST_SIZE = Integer.BYTES + 1;
+
+    public static final byte CREATE = 1;
+    public static final byte FIND = 2;
+    public static final byte DEPOSIT = 3;
+    public static final byte WITHDRAW = 4;
+    public static final byte TRANSFER = 5;
+    public static final byte APPLY_INTEREST = 6;
+
+    public static final byte OK = 0;
+    public static final byte NOT_FOUND = 1;
+    public static final byte REJECTED = 2;
+    public static final byte BAD_REQUEST = 3;
+    public static final byte ERROR = 4;
+
+    public static final long ALL_SAVINGS = -1L;
+
+    private BankProtocol() {
+    }
+
+    public static void writeString(ByteBuffer out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("String too long for protocol: " + bytes.length + " bytes");
+        }
+        out.putShort((short) bytes.length);
+        out.put(bytes);
+    }
+
+    public static String readString(ByteBuffer in) {
+        int length = in.getShort();
+        if (length < 0 || length > in.remaining()) {
+            throw new IllegalArgumentException("Malformed string length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,258 @@
+package bank.presentation.network;
+
+import bank.application.commands.CreateAccountCommand;
+import bank.application.commands.TransferFundsCommand;
+import bank.application.commands.WithdrawFundsCommand;
+import bank.application.services.AccountService;
+import bank.application.services.InterestRunSummary;
+import bank.domain.entities.Account;
+import bank.domain.entities.AccountType;
+import bank.domain.results.DepositFailed;
+import bank.domain.results.DepositSuccess;
+import bank.domain.results.InsufficientFunds;
+import bank.domain.results.OperationResult;
+import bank.domain.results.TransferFailed;
+import bank.domain.results.TransferSuccess;
+import bank.domain.results.ViolatesMinimumBalance;
+import bank.domain.results.WithdrawalFailed;
+import bank.domain.results.WithdrawalSuccess;
+import bank.domain.valueobjects.AccountNumber;
+import bank.domain.valueobjects.Money;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+// Decodes one request body, runs it against the AccountService and encodes the response frame.
+// Transport-agnostic: the socket servers only move frames in and out of buffers.
+public class BankRequestHandler {
+    // request id, status and the string's length prefix leave this much of a frame for the reason
+    private static final int MAX_REASON_BYTES = BankProtocol.MAX_FRAME_SIZE - Integer.BYTES - 1 - Short.BYTES;
+
+    private final AccountService accountService;
+    private final Currency currency;
+
+    public BankRequestHandler(AccountService accountService, Currency currency) {
+        this.accountService = accountService;
+        this.currency = currency;
+    }
+
+    // request holds one frame body; the complete response frame is appended to out
+    public void handle(ByteBuffer request, ByteBuffer out) {
+        int start = out.position();
+        if (request.remaining() < BankProtocol.MIN_REQUEST_SIZE) {
+            int requestId = request.remaining() >= Integer.BYTES ? request.getInt() : 0;
+            fail(out, begin(out, requestId), BankProtocol.BAD_REQUEST, "Request frame too short");
+            end(out, start);
+            return;
+        }
+        int requestId = request.getInt();
+        int statusPosition = begin(out, requestId);
+        try {
+            dispatch(request, out, statusPosition);
+        } catch (IllegalArgumentException | BufferUnderflowException | BufferOverflowException e) {
+            fail(out, statusPosition, BankProtocol.BAD_REQUEST, String.valueOf(e.getMessage()));
+        } catch (RuntimeException e) {
+            fail(out, statusPosition, BankProtocol.ERROR, String.valueOf(e.getMessage()));
+        }
+        end(out, start);
+    }
+
+    // Handles requests in order, appending one response frame each. A run of consecutive withdrawals or
+    // transfers goes to the service as one batch call; splitting only at opcode changes keeps every
+    // request's effect ordered after the requests before it.
+    public void handleBatch(List<ByteBuffer> requests, ByteBuffer out) {
+        int from = 0;
+        while (from < requests.size()) {
+            byte opcode = opcodeOf(requests.get(from));
+            int to = from + 1;
+            if (opcode == BankProtocol.WITHDRAW || opcode == BankProtocol.TRANSFER) {
+                while (to < requests.size() && opcodeOf(requests.get(to)) == opcode) {
+                    to++;
+                }
+            }
+            if (to - from == 1) {
+                handle(requests.get(from), out);
+            } else if (opcode == BankProtocol.WITHDRAW) {
+                handleRun(requests.subList(from, to), out, this::decodeWithdrawal, accountService::withdraw);
+            } else {
+                handleRun(requests.subList(from, to), out, this::decodeTransfer, accountService::transferFunds);
+            }
+            from = to;
+        }
+    }
+
+    private <C> void handleRun(List<ByteBuffer> run, ByteBuffer out, Function<ByteBuffer, C> decoder,
+                               Function<List<C>, OperationResult[]> batch) {
+        int[] requestIds = new int[run.size()];
+        String[] malformed = new String[run.size()];
+        List<C> commands = new ArrayList<>(run.size());
+        for (int i = 0; i < requestIds.length; i++) {
+            ByteBuffer request = run.get(i);
+            requestIds[i] = request.getInt();
+            request.get();
+            try {
+                commands.add(decoder.apply(request));
+            } catch (IllegalArgumentException | BufferUnderflowException e) {
+                malformed[i] = String.valueOf(e.getMessage());
+            }
+        }
+        OperationResult[] results = null;
+        String error = null;
+        try {
+            results = batch.apply(commands);
+        } catch (RuntimeException e) {
+            error = String.valueOf(e.getMessage());
+        }
+        for (int i = 0, next = 0; i < requestIds.length; i++) {
+            int start = out.position();
+            int statusPosition = begin(out, requestIds[i]);
+            if (malformed[i] != null) {
+                fail(out, statusPosition, BankProtocol.BAD_REQUEST, malformed[i]);
+            } else if (error != null) {
+                fail(out, statusPosition, BankProtocol.ERROR, error);
+            } else {
+                writeResult(out, statusPosition, results[next++]);
+            }
+            end(out, start);
+        }
+    }
+
+    private void dispatch(ByteBuffer request, ByteBuffer out, int statusPosition) {
+        byte opcode = request.get();
+        switch (opcode) {
+            case BankProtocol.CREATE -> {
+                AccountType type = accountType(request.get());
+                Money initialDeposit = Money.ofMinor(request.getLong(), currency);
+                String holder = BankProtocol.readString(request);
+                Account account = accountService.createAccount(new CreateAccountCommand(holder, initialDeposit, type.name()));
+                out.putLong(account.getAccountNumber().toLong());
+            }
+            case BankProtocol.FIND -> {
+                Optional<Account> found = accountService.findAccount(AccountNumber.fromLong(request.getLong()));
+                if (found.isEmpty()) {
+                    out.put(statusPosition, BankProtocol.NOT_FOUND);
+                    return;
+                }
+                Account account = found.get();
+                out.put((byte) account.getAccountType().ordinal());
+                out.putLong(account.getBalance().getMinorUnits());
+                BankProtocol.writeString(out, account.getAccountHolderName());
+            }
+            case BankProtocol.DEPOSIT -> {
+                AccountNumber number = AccountNumber.fromLong(request.getLong());
+                writeResult(out, statusPosition, accountService.deposit(number, Money.ofMinor(request.getLong(), currency)));
+            }
+            case BankProtocol.WITHDRAW -> {
+                AccountNumber number = AccountNumber.fromLong(request.getLong());
+                writeResult(out, statusPosition, accountService.withdraw(number, Money.ofMinor(request.getLong(), currency)));
+            }
+            // the batch form reports failures as results and returns both new balances
+            case BankProtocol.TRANSFER ->
+                writeResult(out, statusPosition, accountService.transferFunds(List.of(decodeTransfer(request)))[0]);
+            case BankProtocol.APPLY_INTEREST -> {
+                long target = request.getLong();
+                if (target == BankProtocol.ALL_SAVINGS) {
+                    InterestRunSummary summary = accountService.applyInterestToAllSavings();
+                    out.putLong(summary.accountsProcessed());
+                    out.putLong(summary.interestIn(currency).getMinorUnits());
+                } else {
+                    Optional<Money> interest = accountService.applyInterest(AccountNumber.fromLong(target));
+                    if (interest.isEmpty()) {
+                        out.put(statusPosition, BankProtocol.NOT_FOUND);
+                        return;
+                    }
+                    out.putLong(interest.get().isPositive() ? 1L : 0L);
+                    out.putLong(interest.get().getMinorUnits());
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown opcode: " + opcode);
+        }
+    }
+
+    private WithdrawFundsCommand decodeWithdrawal(ByteBuffer request) {
+        return new WithdrawFundsCommand(AccountNumber.fromLong(request.getLong()), Money.ofMinor(request.getLong(), currency));
+    }
+
+    private TransferFundsCommand decodeTransfer(ByteBuffer request) {
+        return new TransferFundsCommand(
+                AccountNumber.fromLong(request.getLong()),
+                AccountNumber.fromLong(request.getLong()),
+                Money.ofMinor(request.getLong(), currency),
+                BankProtocol.readString(request));
+    }
+
+    private static byte opcodeOf(ByteBuffer request) {
+        int at = request.position() + Integer.BYTES;
+        return at < request.limit() ? request.get(at) : 0;
+    }
+
+    // Writes the frame header with a placeholder length and OK status; returns the status position
+    private static int begin(ByteBuffer out, int requestId) {
+        out.putInt(0).putInt(requestId);
+        int statusPosition = out.position();
+        out.put(BankProtocol.OK);
+        return statusPosition;
+    }
+
+    private static void end(ByteBuffer out, int start) {
+        out.putInt(start, out.position() - start - Integer.BYTES);
+    }
+
+    private static AccountType accountType(byte ordinal) {
+        AccountType[] types = AccountType.values();
+        if (ordinal < 0 || ordinal >= types.length) {
+            throw new IllegalArgumentException("Unknown account type: " + ordinal);
+        }
+        return types[ordinal];
+    }
+
+    private static void writeResult(ByteBuffer out, int statusPosition, OperationResult result) {
+        if (result instanceof DepositSuccess success) {
+            out.putLong(success.getNewBalance().getMinorUnits());
+        } else if (result instanceof WithdrawalSuccess success) {
+            out.putLong(success.getNewBalance().getMinorUnits());
+        } else if (result instanceof TransferSuccess success) {
+            out.putLong(success.getSourceBalance().getMinorUnits());
+            out.putLong(success.getDestinationBalance().getMinorUnits());
+        } else {
+            fail(out, statusPosition, BankProtocol.REJECTED, reasonOf(result));
+        }
+    }
+
+    private static String reasonOf(OperationResult result) {
+        if (result instanceof DepositFailed failed) {
+            return failed.getReason();
+        } else if (result instanceof WithdrawalFailed failed) {
+            return failed.getReason();
+        } else if (result instanceof TransferFailed failed) {
+            return failed.getReason();
+        } else if (result instanceof InsufficientFunds insufficient) {
+            return "Insufficient funds. Available: " + insufficient.getAvailable();
+        } else if (result instanceof ViolatesMinimumBalance violates) {
+            return "Would violate minimum balance " + violates.getMinimum();
+        }
+        return "Operation failed";
+    }
+
+    // The reason is cut to what fits in one frame: the servers size their response buffers on the
+    // assumption that no response exceeds MAX_FRAME_SIZE, and reasons may echo client input
+    private static void fail(ByteBuffer out, int statusPosition, byte status, String reason) {
+        out.position(statusPosition);
+        out.put(status);
+        byte[] bytes = reason.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(bytes.length, MAX_REASON_BYTES);
+        // never cut inside a multi-byte character
+        while (length < bytes.length && (bytes[length] & 0xC0) == 0x80) {
+            length--;
+        }
+        out.putShort((short) length);
+        out.put(bytes, 0, length);
+    }
+}
@@ -0,0 +1,154 @@
+package bank.presentation.network;
+
+import bank.application.services.AccountService;
+import bank.presentation.BankBootstrap;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.ByteBuffer;
+import java.util.Currency;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+// Blocking TCP front end: one virtual thread per connection, bound to the loopback interface.
+//
+// A connection thread reads a frame, handles it and writes the response into a small buffered stream.
+// It only flushes once no further request bytes are already buffered, so a client that pipelines gets
+// a batch of responses per write while a client that waits for each answer is flushed immediately.
+public class BankServer implements AutoCloseable {
+    private static final int ACCEPT_BACKLOG = 16_384;
+    private static final int STREAM_BUFFER_SIZE = 2048;
+
+    private final BankRequestHandler handler;
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections;
+    private final Set<Socket> open;
+    private final Thread acceptor;
+    private final LongAdder accepted;
+    private final LongAdder requests;
+    private volatile boolean closed;
+
+    private BankServer(BankRequestHandler handler, ServerSocket serverSocket) {
+        this.handler = handler;
+        this.serverSocket = serverSocket;
+        this.connections = Executors.newVirtualThreadPerTaskExecutor();
+        this.open = ConcurrentHashMap.newKeySet();
+        this.accepted = new LongAdder();
+        this.requests = new LongAdder();
+        this.acceptor = Thread.ofPlatform().name("bank-server-accept").daemon().unstarted(this::acceptLoop);
+    }
+
+    // Port 0 picks a free port; see port()
+    public static BankServer start(AccountService accountService, Currency currency, int port) throws IOException {
+        ServerSocket serverSocket = new ServerSocket();
+        serverSocket.setReuseAddress(true);
+        serverSocket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), ACCEPT_BACKLOG);
+        BankServer server = new BankServer(new BankRequestHandler(accountService, currency), serverSocket);
+        server.acceptor.start();
+        return server;
+    }
+
+    public int port() { return serverSocket.getLocalPort(); }
+    public long getAcceptedConnections() { return accepted.sum(); }
+    public int getOpenConnections() { return open.size(); }
+    public long getRequestCount() { return requests.sum(); }
+
+    private void acceptLoop() {
+        while (!closed) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                accepted.increment();
+                open.add(socket);
+                connections.execute(() -> serve(socket));
+            } catch (IOException e) {
+                if (!closed) {
+                    System.err.println("Accept failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        ByteBuffer request = ByteBuffer.allocate(BankProtocol.MAX_FRAME_SIZE);
+        ByteBuffer response = ByteBuffer.allocate(Integer.BYTES + BankProtocol.MAX_FRAME_SIZE);
+        try (socket;
+             DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), STREAM_BUFFER_SIZE));
+             OutputStream out = new BufferedOutputStream(socket.getOutputStream(), STREAM_BUFFER_SIZE)) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    return;
+                }
+                if (length < 0 || length > BankProtocol.MAX_FRAME_SIZE) {
+                    // the stream can no longer be framed; drop the connection
+                    return;
+                }
+                in.readFully(request.array(), 0, length);
+                request.clear().limit(length);
+                response.clear();
+                handler.handle(request, response);
+                requests.increment();
+                out.write(response.array(), 0, response.position());
+                if (in.available() == 0) {
+                    out.flush();
+                }
+            }
+        } catch (SocketException | EOFException e) {
+            // peer went away
+        } catch (IOException e) {
+            if (!closed) {
+                System.err.println("Connection failed: " + e.getMessage());
+            }
+        } finally {
+            open.remove(socket);
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            // already closed
+        }
+        for (Socket socket : open) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // already closed
+            }
+        }
+        connections.close();
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 7070;
+        BankBootstrap bank = BankBootstrap.open();
+        bank.useCoarseClock();
+        AccountService accountService = bank.start(bank.transferDeduplicator());
+
+        BankServer server = start(accountService, bank.currency(), port);
+        System.out.println("Bank server listening on " + server.serverSocket.getLocalSocketAddress());
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            bank.close();
+        }));
+        server.acceptor.join();
+    }
+}
@@ -0,0 +1,317 @@
+package bank.presentation.network;
+
+import bank.application.services.AccountService;
+import bank.presentation.BankBootstrap;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+// Event-loop TCP front end, an alternative to BankServer for high request rates from few connections.
+//
+// Each loop thread owns a Selector and the connections handed to it; the first loop also accepts.
+// A connection reads into its own direct buffer and every complete frame in it is handed to
+// BankRequestHandler.handleBatch as a slice of that buffer, so request bytes are never copied.
+// Responses are encoded into the loop's direct response chunks, a chunk per CHUNK_REQUESTS requests,
+// and all chunks for one read go out in a single gathering write. Output the socket will not take is
+// copied aside and the connection stops reading until it has drained.
+public class NioBankServer implements AutoCloseable {
+    private static final int ACCEPT_BACKLOG = 16_384;
+    private static final int READ_BUFFER_SIZE = 8192;
+    private static final int CHUNK_REQUESTS = 128;
+    private static final int CHUNK_SIZE = CHUNK_REQUESTS * (Integer.BYTES + BankProtocol.MAX_FRAME_SIZE);
+
+    private final BankRequestHandler handler;
+    private final ServerSocketChannel serverChannel;
+    private final EventLoop[] loops;
+    private final LongAdder accepted;
+    private final LongAdder requests;
+    private final LongAdder batches;
+    private final LongAdder connectionFailures;
+    private volatile boolean closed;
+    private int nextLoop;
+
+    private NioBankServer(BankRequestHandler handler, ServerSocketChannel serverChannel, int eventLoops) throws IOException {
+        this.handler = handler;
+        this.serverChannel = serverChannel;
+        this.accepted = new LongAdder();
+        this.requests = new LongAdder();
+        this.batches = new LongAdder();
+        this.connectionFailures = new LongAdder();
+        this.loops = new EventLoop[eventLoops];
+        for (int i = 0; i < eventLoops; i++) {
+            loops[i] = new EventLoop(i);
+        }
+    }
+
+    // Port 0 picks a free port; see port()
+    public static NioBankServer start(AccountService accountService, Currency currency, int port, int eventLoops)
+            throws IOException {
+        if (eventLoops < 1) {
+            throw new IllegalArgumentException("At least one event loop is required");
+        }
+        ServerSocketChannel serverChannel = ServerSocketChannel.open();
+        serverChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+        serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), ACCEPT_BACKLOG);
+        serverChannel.configureBlocking(false);
+        NioBankServer server = new NioBankServer(new BankRequestHandler(accountService, currency), serverChannel, eventLoops);
+        serverChannel.register(server.loops[0].selector, SelectionKey.OP_ACCEPT);
+        for (EventLoop loop : server.loops) {
+            loop.thread.start();
+        }
+        return server;
+    }
+
+    public int port() { return serverChannel.socket().getLocalPort(); }
+    public long getAcceptedConnections() { return accepted.sum(); }
+    public long getRequestCount() { return requests.sum(); }
+    public long getBatchCount() { return batches.sum(); }
+    // Connections dropped because handling their input threw
+    public long getConnectionFailures() { return connectionFailures.sum(); }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (EventLoop loop : loops) {
+            loop.selector.wakeup();
+        }
+        for (EventLoop loop : loops) {
+            try {
+                loop.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            serverChannel.close();
+        } catch (IOException e) {
+            // already closed
+        }
+    }
+
+    private static final class Connection {
+        private final SocketChannel channel;
+        private final ByteBuffer in = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+        // responses the socket did not take yet, in read mode; null when drained
+        private ByteBuffer unsent;
+        private SelectionKey key;
+
+        private Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+    }
+
+    private final class EventLoop implements Runnable {
+        private final Selector selector;
+        private final Thread thread;
+        private final Queue<SocketChannel> handoff = new ConcurrentLinkedQueue<>();
+        private final List<ByteBuffer> chunks = new ArrayList<>();
+        private final List<ByteBuffer> batch = new ArrayList<>(CHUNK_REQUESTS);
+
+        private EventLoop(int index) throws IOException {
+            this.selector = Selector.open();
+            this.thread = Thread.ofPlatform().name("bank-nio-loop-" + index).daemon().unstarted(this);
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!closed) {
+                    selector.select();
+                    registerHandedOff();
+                    for (SelectionKey key : selector.selectedKeys()) {
+                        if (!key.isValid()) {
+                            continue;
+                        }
+                        if (key.isAcceptable()) {
+                            accept();
+                            continue;
+                        }
+                        Connection connection = (Connection) key.attachment();
+                        try {
+                            if (key.isWritable()) {
+                                drain(connection);
+                            } else if (key.isReadable()) {
+                                read(connection);
+                            }
+                        } catch (IOException e) {
+                            close(connection);
+                        } catch (RuntimeException e) {
+                            // a bug reached through one connection must not take the loop and its
+                            // other connections down with it
+                            connectionFailures.increment();
+                            batch.clear();
+                            close(connection);
+                        }
+                    }
+                    selector.selectedKeys().clear();
+                }
+            } catch (IOException | ClosedSelectorException e) {
+                if (!closed) {
+                    System.err.println("Event loop failed: " + e.getMessage());
+                }
+            } finally {
+                for (SelectionKey key : selector.keys()) {
+                    if (key.attachment() instanceof Connection connection) {
+                        close(connection);
+                    }
+                }
+                try {
+                    selector.close();
+                } catch (IOException e) {
+                    // already closed
+                }
+            }
+        }
+
+        private void accept() throws IOException {
+            SocketChannel channel;
+            while ((channel = serverChannel.accept()) != null) {
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                accepted.increment();
+                EventLoop target = loops[nextLoop++ % loops.length];
+                if (target == this) {
+                    register(channel);
+                } else {
+                    target.handoff.add(channel);
+                    target.selector.wakeup();
+                }
+            }
+        }
+
+        private void registerHandedOff() throws IOException {
+            SocketChannel channel;
+            while ((channel = handoff.poll()) != null) {
+                register(channel);
+            }
+        }
+
+        private void register(SocketChannel channel) throws IOException {
+            Connection connection = new Connection(channel);
+            connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+        }
+
+        private void read(Connection connection) throws IOException {
+            if (connection.channel.read(connection.in) < 0) {
+                close(connection);
+                return;
+            }
+            process(connection);
+        }
+
+        // Handles every complete frame in the read buffer and writes the responses
+        private void process(Connection connection) throws IOException {
+            ByteBuffer in = connection.in.flip();
+            int used = 0;
+            while (in.remaining() >= Integer.BYTES) {
+                int length = in.getInt(in.position());
+                if (length < 0 || length > BankProtocol.MAX_FRAME_SIZE) {
+                    // the stream can no longer be framed; drop the connection and the frames it still
+                    // has queued, which would otherwise run with the next connection's batch
+                    batch.clear();
+                    close(connection);
+                    return;
+                }
+                if (in.remaining() < Integer.BYTES + length) {
+                    break;
+                }
+                batch.add(in.slice(in.position() + Integer.BYTES, length));
+                in.position(in.position() + Integer.BYTES + length);
+                if (batch.size() == CHUNK_REQUESTS) {
+                    respond(chunk(used++));
+                }
+            }
+            if (!batch.isEmpty()) {
+                respond(chunk(used++));
+            }
+            in.compact();
+            if (used > 0) {
+                write(connection, used);
+            }
+        }
+
+        private void respond(ByteBuffer chunk) {
+            handler.handleBatch(batch, chunk);
+            requests.add(batch.size());
+            batches.increment();
+            batch.clear();
+            chunk.flip();
+        }
+
+        private ByteBuffer chunk(int index) {
+            if (index == chunks.size()) {
+                chunks.add(ByteBuffer.allocateDirect(CHUNK_SIZE));
+            }
+            return chunks.get(index).clear();
+        }
+
+        private void write(Connection connection, int used) throws IOException {
+            ByteBuffer[] pending = chunks.subList(0, used).toArray(new ByteBuffer[0]);
+            connection.channel.write(pending);
+            if (pending[used - 1].hasRemaining()) {
+                // chunks are reused by the next read, so keep a copy of what is left
+                int left = 0;
+                for (ByteBuffer chunk : pending) {
+                    left += chunk.remaining();
+                }
+                ByteBuffer unsent = ByteBuffer.allocate(left);
+                for (ByteBuffer chunk : pending) {
+                    unsent.put(chunk);
+                }
+                connection.unsent = unsent.flip();
+                connection.key.interestOps(SelectionKey.OP_WRITE);
+            }
+        }
+
+        private void drain(Connection connection) throws IOException {
+            connection.channel.write(connection.unsent);
+            if (connection.unsent.hasRemaining()) {
+                return;
+            }
+            connection.unsent = null;
+            connection.key.interestOps(SelectionKey.OP_READ);
+            // frames that arrived while the connection was blocked are still in the read buffer
+            process(connection);
+        }
+
+        private void close(Connection connection) {
+            connection.key.cancel();
+            try {
+                connection.channel.close();
+            } catch (IOException e) {
+                // already closed
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 7071;
+        int eventLoops = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        BankBootstrap bank = BankBootstrap.open();
+        bank.useCoarseClock();
+        AccountService accountService = bank.start(bank.transferDeduplicator());
+
+        NioBankServer server = start(accountService, bank.currency(), port, eventLoops);
+        System.out.println("Bank NIO server listening on " + server.serverChannel.getLocalAddress()
+                + " with " + eventLoops + " event loop(s)");
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            bank.close();
+        }));
+        server.loops[0].thread.join();
+    }
+}
@@ -0,0 +1,36 @@
+package bank.tools.workload;
+
+import java.util.SplittableRandom;
+
+// A hot set made of the first hotFraction of the keys receives hotOperationFraction of the operations.
+// Keys are uniform within the hot set and within the rest.
+final class HotSpotDistribution implements KeyDistribution {
+    private final int size;
+    private final int hotKeys;
+    private final double hotFraction;
+    private final double hotOperationFraction;
+
+    HotSpotDistribution(int size, double hotFraction, double hotOperationFraction) {
+        if (hotFraction <= 0 || hotFraction >= 1 || hotOperationFraction < 0 || hotOperationFraction > 1) {
+            throw new IllegalArgumentException("Hot-spot fractions out of range: " + hotFraction + ", " + hotOperationFraction);
+        }
+        this.size = size;
+        this.hotKeys = Math.max(1, Math.min(size - 1, (int) (size * hotFraction)));
+        this.hotFraction = hotFraction;
+        this.hotOperationFraction = hotOperationFraction;
+    }
+
+    @Override
+    public int next(SplittableRandom random) {
+        if (random.nextDouble() < hotOperationFraction) {
+            return random.nextInt(hotKeys);
+        }
+        return hotKeys + random.nextInt(size - hotKeys);
+    }
+
+    @Override
+    public String describe() {
+        return "hotspot(" + Math.round(hotOperationFraction * 100) + "% of operations on "
+                + hotFraction * 100 + "% of accounts)";
+    }
+}
@@ -0,0 +1,35 @@
+package bank.tools.workload;
+
+import java.util.SplittableRandom;
+
+// Chooses which of the first size accounts an operation touches, as an index into the opened accounts.
+// Index 0 is the most popular for the skewed distributions; WorkloadDriver scatters indexes over the
+// accounts with a fixed permutation so popular accounts are not simply the oldest ones.
+interface KeyDistribution {
+    int next(SplittableRandom random);
+
+    String describe();
+
+    // uniform | zipf[:theta] | hotspot[:hotFraction:hotOperationFraction]
+    static KeyDistribution parse(String spec, int size) {
+        String[] parts = spec.split(":");
+        switch (parts[0]) {
+            case "uniform":
+                return new KeyDistribution() {
+                    @Override
+                    public int next(SplittableRandom random) { return random.nextInt(size); }
+
+                    @Override
+                    public String describe() { return "uniform"; }
+                };
+            case "zipf":
+                return new ZipfDistribution(size, parts.length > 1 ? Double.parseDouble(parts[1]) : 0.99);
+            case "hotspot":
+                return new HotSpotDistribution(size,
+                        parts.length > 1 ? Double.parseDouble(parts[1]) : 0.01,
+                        parts.length > 2 ? Double.parseDouble(parts[2]) : 0.9);
+            default:
+                throw new IllegalArgumentException("Unknown distribution: " + spec);
+        }
+    }
+}
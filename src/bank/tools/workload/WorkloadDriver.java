@@ -0,0 +1,307 @@
+package bank.tools.workload;
+
+import bank.application.commands.CreateAccountCommand;
+import bank.application.commands.TransferFundsCommand;
+import bank.application.services.AccountService;
+import bank.application.services.DefaultAccountService;
+import bank.application.services.InterestRunSummary;
+import bank.application.services.OptimisticAccountService;
+import bank.application.services.ShardedAccountService;
+import bank.domain.entities.Account;
+import bank.domain.results.DepositSuccess;
+import bank.domain.results.OperationResult;
+import bank.domain.results.TransferSuccess;
+import bank.domain.results.WithdrawalSuccess;
+import bank.domain.valueobjects.AccountNumber;
+import bank.domain.valueobjects.Money;
+import bank.infrastructure.metrics.LatencyHistogram;
+import bank.infrastructure.persistence.AccountRepository;
+import bank.infrastructure.persistence.CachingAccountRepository;
+import bank.infrastructure.persistence.InMemoryAccountRepository;
+import bank.infrastructure.persistence.JournalAccountRepository;
+import bank.infrastructure.persistence.OffHeapAccountRepository;
+import bank.infrastructure.services.SequenceGenerator;
+import bank.tools.workload.WorkloadMix.Operation;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Synthetic load against the account service over any repository, for reproducing production patterns
+// locally. Opens workload.accounts accounts, then runs workload.operations operations on each of
+// workload.threads threads, choosing accounts with the configured distribution, and finally checks that
+// the book's total moved by exactly the successful deposits, withdrawals and interest.
+//
+//   -Dworkload.accounts=100000       accounts to open (half savings by default, workload.savingsShare)
+//   -Dworkload.threads=<cores>       worker threads
+//   -Dworkload.operations=200000     operations per thread
+//   -Dworkload.distribution=zipf     uniform | zipf[:theta] | hotspot[:hotFraction:hotOperationFraction]
+//   -Dworkload.mix=deposit=40000,withdraw=40000,transfer=19999,interest=1
+//                                    relative weights; interest is a full applyInterestToAllSavings run
+//   -Dworkload.repository=memory     memory | journal | offheap | mapped (journal and mapped need workload.dir)
+//   -Dworkload.cache=0               accounts kept by a CachingAccountRepository in front (0 = no cache)
+//   -Dworkload.cacheMode=through      through | behind (write-behind flushes every 100 ms)
+//   -Dworkload.shards=0              run on a ShardedAccountService with that many shards (0 = lock-based)
+//   -Dworkload.optimistic=false      run on an OptimisticAccountService instead (memory repository only)
+//   -Dworkload.maxAmount=50000       largest operation amount in minor units, amounts are uniform from 1
+//   -Dworkload.initialBalance=100000 opening deposit in minor units
+//   -Dworkload.seed=42               per-thread operation sequences derive from it
+public final class WorkloadDriver {
+    private static final Currency CURRENCY = Currency.getInstance("USD");
+
+    private final AccountService service;
+    private final WorkloadMix mix;
+    private final KeyDistribution distribution;
+    private final long maxAmount;
+    private final Map<Operation, LatencyHistogram> latency;
+    private final Map<String, LongAdder> failures;
+    private final LongAdder deposited;
+    private final LongAdder withdrawn;
+    private final LongAdder interest;
+    private AccountNumber[] accounts;
+
+    private WorkloadDriver(AccountService service, WorkloadMix mix, KeyDistribution distribution, long maxAmount) {
+        this.service = service;
+        this.mix = mix;
+        this.distribution = distribution;
+        this.maxAmount = maxAmount;
+        this.latency = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            latency.put(operation, new LatencyHistogram());
+        }
+        this.failures = new ConcurrentHashMap<>();
+        this.deposited = new LongAdder();
+        this.withdrawn = new LongAdder();
+        this.interest = new LongAdder();
+    }
+
+    public static void main(String[] args) throws Exception {
+        int accountCount = Integer.getInteger("workload.accounts", 100_000);
+        int threads = Integer.getInteger("workload.threads", Runtime.getRuntime().availableProcessors());
+        int operations = Integer.getInteger("workload.operations", 200_000);
+        String distributionSpec = System.getProperty("workload.distribution", "zipf");
+        WorkloadMix mix = WorkloadMix.parse(System.getProperty("workload.mix", "deposit=40000,withdraw=40000,transfer=19999,interest=1"));
+        String repositoryKind = System.getProperty("workload.repository", "memory");
+        long maxAmount = Long.getLong("workload.maxAmount", 50_000L);
+        long initialBalance = Long.getLong("workload.initialBalance", 100_000L);
+        double savingsShare = Double.parseDouble(System.getProperty("workload.savingsShare", "0.5"));
+        long seed = Long.getLong("workload.seed", 42L);
+        if (accountCount < 2 || threads < 1 || operations < 0 || maxAmount < 1 || initialBalance < 1) {
+            throw new IllegalArgumentException("Need at least two accounts, one thread and positive amounts");
+        }
+
+        AccountRepository repository = openRepository(repositoryKind);
+        int cacheSize = Integer.getInteger("workload.cache", 0);
+        if (cacheSize > 0) {
+            repository = System.getProperty("workload.cacheMode", "through").equals("behind")
+                    ? CachingAccountRepository.writeBehind(repository, cacheSize, Duration.ofMillis(100), 65_536)
+                    : CachingAccountRepository.writeThrough(repository, cacheSize);
+        }
+        SequenceGenerator sequenceGenerator = new SequenceGenerator();
+        repository.stream().forEach(account -> sequenceGenerator.advancePast(account.getAccountNumber()));
+        long baseline = totalBalance(repository);
+        int shards = Integer.getInteger("workload.shards", 0);
+        boolean optimistic = Boolean.getBoolean("workload.optimistic");
+        AccountService service = shards > 0 ? new ShardedAccountService(repository, sequenceGenerator, CURRENCY, shards)
+                : optimistic ? new OptimisticAccountService(repository, sequenceGenerator, CURRENCY)
+                : new DefaultAccountService(repository, sequenceGenerator, CURRENCY);
+        WorkloadDriver driver = new WorkloadDriver(service, mix, KeyDistribution.parse(distributionSpec, accountCount), maxAmount);
+
+        if (cacheSize > 0) {
+            repositoryKind += " (cached, " + cacheSize + " accounts)";
+        }
+        System.out.printf("Workload: %,d accounts in a %s repository, %s, %d threads x %,d operations, %s, mix %s%n",
+                accountCount, repositoryKind, shards > 0 ? shards + " shards" : optimistic ? "optimistic" : "locks",
+                threads, operations,
+                driver.distribution.describe(), mix);
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        try {
+            long started = System.nanoTime();
+            driver.openAccounts(workers, threads, accountCount, Money.ofMinor(initialBalance, CURRENCY), savingsShare, seed);
+            long elapsed = System.nanoTime() - started;
+            System.out.printf("Opened %,d accounts in %,d ms (%,.0f accounts/s)%n", accountCount,
+                    TimeUnit.NANOSECONDS.toMillis(elapsed), accountCount / (elapsed / 1e9));
+
+            started = System.nanoTime();
+            driver.run(workers, threads, operations, seed);
+            elapsed = System.nanoTime() - started;
+            long total = (long) threads * operations;
+            System.out.printf("Ran %,d operations in %,d ms (%,.0f ops/s)%n", total,
+                    TimeUnit.NANOSECONDS.toMillis(elapsed), total / (elapsed / 1e9));
+        } finally {
+            workers.shutdown();
+        }
+        driver.report();
+        if (service instanceof ShardedAccountService sharded) {
+            System.out.println("Shards: " + sharded.metrics());
+            sharded.close();
+        }
+        if (service instanceof OptimisticAccountService optimisticService) {
+            System.out.println("Optimistic: " + optimisticService.metrics());
+        }
+
+        long expected = baseline + accountCount * initialBalance
+                + driver.deposited.sum() - driver.withdrawn.sum() + driver.interest.sum();
+        long actual = totalBalance(repository);
+        boolean conserved = expected == actual;
+        System.out.printf("Money conservation: expected %s, found %s: %s%n", Money.ofMinor(expected, CURRENCY),
+                Money.ofMinor(actual, CURRENCY), conserved ? "OK" : "MISMATCH");
+
+        if (repository instanceof CachingAccountRepository caching) {
+            System.out.println("Cache: " + caching.metrics());
+        }
+        if (repository instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+        if (!conserved) {
+            System.exit(1);
+        }
+    }
+
+    private static AccountRepository openRepository(String kind) {
+        switch (kind) {
+            case "memory":
+                return new InMemoryAccountRepository();
+            case "offheap":
+                return OffHeapAccountRepository.inMemory();
+            case "journal":
+                return JournalAccountRepository.open(directory(kind));
+            case "mapped":
+                return OffHeapAccountRepository.mapped(directory(kind));
+            default:
+                throw new IllegalArgumentException("Unknown repository: " + kind);
+        }
+    }
+
+    private static Path directory(String kind) {
+        String directory = System.getProperty("workload.dir");
+        if (directory == null) {
+            throw new IllegalArgumentException("The " + kind + " repository needs -Dworkload.dir");
+        }
+        return Path.of(directory);
+    }
+
+    private static long totalBalance(AccountRepository repository) {
+        return repository.stream().mapToLong(account -> account.getBalance().getMinorUnits()).sum();
+    }
+
+    // Each thread opens a contiguous share; the numbers are then shuffled so that popular indexes
+    // land on accounts all over the book
+    private void openAccounts(ExecutorService workers, int threads, int count, Money initialDeposit,
+                              double savingsShare, long seed) throws Exception {
+        AccountNumber[] opened = new AccountNumber[count];
+        List<Future<?>> shares = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            int from = (int) ((long) count * t / threads);
+            int to = (int) ((long) count * (t + 1) / threads);
+            SplittableRandom random = new SplittableRandom(seed + t);
+            shares.add(workers.submit(() -> {
+                for (int i = from; i < to; i++) {
+                    String type = random.nextDouble() < savingsShare ? "SAVINGS" : "CHECKING";
+                    Account account = service.createAccount(new CreateAccountCommand("Holder " + i, initialDeposit, type));
+                    opened[i] = account.getAccountNumber();
+                }
+            }));
+        }
+        for (Future<?> share : shares) {
+            share.get();
+        }
+        SplittableRandom shuffle = new SplittableRandom(seed);
+        for (int i = count - 1; i > 0; i--) {
+            int j = shuffle.nextInt(i + 1);
+            AccountNumber swap = opened[i];
+            opened[i] = opened[j];
+            opened[j] = swap;
+        }
+        this.accounts = opened;
+    }
+
+    private void run(ExecutorService workers, int threads, int operations, long seed) throws Exception {
+        List<Future<?>> runs = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            SplittableRandom random = new SplittableRandom(seed * 31 + t);
+            runs.add(workers.submit(() -> {
+                for (int i = 0; i < operations; i++) {
+                    execute(mix.pick(random), random);
+                }
+            }));
+        }
+        for (Future<?> run : runs) {
+            run.get();
+        }
+    }
+
+    private void execute(Operation operation, SplittableRandom random) {
+        AccountNumber account = accounts[distribution.next(random)];
+        Money amount = Money.ofMinor(1 + random.nextLong(maxAmount), CURRENCY);
+        long started = System.nanoTime();
+        try {
+            switch (operation) {
+                case DEPOSIT -> {
+                    OperationResult result = service.deposit(account, amount);
+                    if (result instanceof DepositSuccess) {
+                        deposited.add(amount.getMinorUnits());
+                    } else {
+                        fail(operation, result);
+                    }
+                }
+                case WITHDRAW -> {
+                    OperationResult result = service.withdraw(account, amount);
+                    if (result instanceof WithdrawalSuccess) {
+                        withdrawn.add(amount.getMinorUnits());
+                    } else {
+                        fail(operation, result);
+                    }
+                }
+                case TRANSFER -> {
+                    AccountNumber destination = accounts[distribution.next(random)];
+                    while (destination.equals(account)) {
+                        destination = accounts[random.nextInt(accounts.length)];
+                    }
+                    // the batch form reports failures as results instead of throwing
+                    OperationResult result = service.transferFunds(List.of(
+                            new TransferFundsCommand(account, destination, amount, "workload")))[0];
+                    if (!(result instanceof TransferSuccess)) {
+                        fail(operation, result);
+                    }
+                }
+                case INTEREST -> {
+                    InterestRunSummary summary = service.applyInterestToAllSavings();
+                    interest.add(summary.interestIn(CURRENCY).getMinorUnits());
+                }
+            }
+        } catch (RuntimeException e) {
+            failures.computeIfAbsent(operation + " threw " + e.getClass().getSimpleName(), key -> new LongAdder()).increment();
+        }
+        latency.get(operation).record(System.nanoTime() - started);
+    }
+
+    private void fail(Operation operation, OperationResult result) {
+        failures.computeIfAbsent(operation + " " + result.getClass().getSimpleName(), key -> new LongAdder()).increment();
+    }
+
+    private void report() {
+        System.out.println("Latency (us):");
+        latency.forEach((operation, histogram) -> {
+            if (histogram.count() > 0) {
+                System.out.printf("  %-9s %s%n", operation, histogram.summary(TimeUnit.MICROSECONDS));
+            }
+        });
+        Map<String, Long> sorted = new TreeMap<>();
+        failures.forEach((kind, count) -> sorted.put(kind, count.sum()));
+        System.out.println(sorted.isEmpty() ? "Failures: none" : "Failures:");
+        sorted.forEach((kind, count) -> System.out.printf("  %-36s %,d%n", kind, count));
+    }
+}
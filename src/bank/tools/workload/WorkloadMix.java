@@ -0,0 +1,56 @@
+package bank.tools.workload;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// Relative weights of the operation kinds, parsed from e.g. "deposit=45,withdraw=45,transfer=9,interest=1"
+final class WorkloadMix {
+    enum Operation { DEPOSIT, WITHDRAW, TRANSFER, INTEREST }
+
+    private final Map<Operation, Integer> weights;
+    private final Operation[] operations;
+    private final int[] cumulative;
+
+    private WorkloadMix(Map<Operation, Integer> weights) {
+        this.weights = weights;
+        this.operations = weights.keySet().toArray(new Operation[0]);
+        this.cumulative = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total = Math.addExact(total, weights.get(operations[i]));
+            cumulative[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("Workload mix needs a positive weight");
+        }
+    }
+
+    static WorkloadMix parse(String spec) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected operation=weight, got: " + part);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight for " + pair[0]);
+            }
+            weights.put(Operation.valueOf(pair[0].trim().toUpperCase()), weight);
+        }
+        return new WorkloadMix(weights);
+    }
+
+    Operation pick(SplittableRandom random) {
+        int roll = random.nextInt(cumulative[cumulative.length - 1]);
+        int i = 0;
+        while (roll >= cumulative[i]) {
+            i++;
+        }
+        return operations[i];
+    }
+
+    @Override
+    public String toString() { return weights.toString(); }
+}
@@ -0,0 +1,54 @@
+package bank.tools.workload;
+
+import java.util.SplittableRandom;
+
+// Zipf-distributed ranks with the constant-time generator of Gray et al., "Quickly Generating
+// Billion-Record Synthetic Databases": rank i is chosen with probability proportional to 1 / (i + 1)^theta.
+// Set-up sums the harmonic series once, O(size); each draw is a pow call.
+final class ZipfDistribution implements KeyDistribution {
+    private final int size;
+    private final double theta;
+    private final double zetaN;
+    private final double alpha;
+    private final double eta;
+    private final double secondThreshold;
+
+    ZipfDistribution(int size, double theta) {
+        if (size < 2) {
+            throw new IllegalArgumentException("Zipf needs at least two keys");
+        }
+        if (theta <= 0 || theta >= 1) {
+            throw new IllegalArgumentException("Zipf theta must be in (0, 1): " + theta);
+        }
+        this.size = size;
+        this.theta = theta;
+        this.zetaN = zeta(size, theta);
+        this.alpha = 1.0 / (1.0 - theta);
+        this.eta = (1.0 - Math.pow(2.0 / size, 1.0 - theta)) / (1.0 - zeta(2, theta) / zetaN);
+        this.secondThreshold = 1.0 + Math.pow(0.5, theta);
+    }
+
+    @Override
+    public int next(SplittableRandom random) {
+        double u = random.nextDouble();
+        double uz = u * zetaN;
+        if (uz < 1.0) {
+            return 0;
+        }
+        if (uz < secondThreshold) {
+            return 1;
+        }
+        return Math.min(size - 1, (int) (size * Math.pow(eta * u - eta + 1.0, alpha)));
+    }
+
+    @Override
+    public String describe() { return "zipf(theta=" + theta + ")"; }
+
+    private static double zeta(int n, double theta) {
+        double sum = 0;
+        for (int i = 1; i <= n; i++) {
+            sum += 1.0 / Math.pow(i, theta);
+        }
+        return sum;
+    }
+}